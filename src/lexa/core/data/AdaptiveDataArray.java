@@ -0,0 +1,49 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * AdaptiveDataArray.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+/**
+ * An array of values for an {@link AdaptiveDataSet}
+ *
+ * @author william
+ * @since 2026-10
+ */
+public class AdaptiveDataArray
+        extends BaseDataArray
+{
+    /**
+     * Create a new {@link AdaptiveDataArray}
+     * The initial array has no values
+     */
+    public AdaptiveDataArray()
+    {
+        super(AdaptiveFactory.factory);
+    }
+
+    /**
+     * Create a new {@link DataArray} cloning the previous.
+     * @param clone an array to clone.
+     */
+    public AdaptiveDataArray(DataArray clone)
+    {
+        super(AdaptiveFactory.factory, clone);
+    }
+
+    /**
+     * Create a new {@link DataArray} from an array of objects
+     * The initial array has an entry for each object passed.
+     * @param objects an array of objects to populate the array.
+     */
+    public AdaptiveDataArray(Object ... objects)
+    {
+        super(AdaptiveFactory.factory, objects);
+    }
+}
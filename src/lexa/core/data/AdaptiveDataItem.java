@@ -0,0 +1,51 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * AdaptiveDataItem.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+/**
+ * A single item in an {@link AdaptiveDataSet}.
+ * @author william
+ * @since 2026-10
+ */
+public class AdaptiveDataItem
+        extends BaseDataItem
+{
+    /**
+     * Create a new item
+     * @param key The key for the item
+     * @param value The value
+     */
+    public AdaptiveDataItem(String key, Object value)
+    {
+        this(key, new AdaptiveDataValue(value));
+    }
+
+    /**
+     * Create a new item
+     * @param key The key for the item
+     * @param value The value
+     */
+    public AdaptiveDataItem(String key, DataValue value)
+    {
+        super(AdaptiveFactory.factory, key, value);
+    }
+
+    /**
+     * Create a new item.
+     * This clones an existing data item.
+     *
+     * @param clone An item to clone.
+     */
+    public AdaptiveDataItem(DataItem clone)
+    {
+        this(clone.getKey(), clone.getValue());
+    }
+}
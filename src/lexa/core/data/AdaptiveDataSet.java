@@ -0,0 +1,342 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * AdaptiveDataSet.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+import java.util.Arrays;
+
+/**
+ * A data set that changes how it finds its keys as it grows and shrinks.
+ * <p>
+ * The items are held in a plain array in the order they were added.  While
+ * the set is small a key is found by scanning the items, which for a handful
+ * of keys is quicker than hashing and needs no more memory than the array.
+ * Once the set grows past {@value #HASH_THRESHOLD} items a {@link KeyIndex} is
+ * built and keys are hashed.  If items are removed until the set is down to
+ * {@value #SCAN_THRESHOLD} the index is dropped and the set goes back to
+ * scanning; the gap between the two stops a set that hovers around one size
+ * from switching on every change.
+ * <p>
+ * Iteration and positional access are in insertion order whichever way the
+ * keys are found.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public class AdaptiveDataSet
+        extends BaseDataSet
+{
+    /** the size above which the keys are hashed */
+    static final int HASH_THRESHOLD = 8;
+    /** the size at or below which the keys are scanned again */
+    static final int SCAN_THRESHOLD = 4;
+    /** the smallest storage allocated */
+    private static final int MIN_CAPACITY = 4;
+    /** the storage for a set with no items */
+    private static final DataItem[] NO_ITEMS = new DataItem[0];
+
+    /** the items, only the first {@link #size} are in use */
+    private DataItem[] items;
+    /** the number of items */
+    private int size;
+    /** hashed index of the keys, {@code null} while the keys are scanned */
+    private KeyIndex index;
+
+    /**
+     * Create a new {@link AdaptiveDataSet} with no entries.
+     */
+    public AdaptiveDataSet()
+    {
+        super(AdaptiveFactory.factory);
+        this.items = AdaptiveDataSet.NO_ITEMS;
+    }
+
+    /**
+     * Create a new {@link AdaptiveDataSet} with no entries and room for a
+     * number of items.
+     * <p>
+     * If the capacity is past the threshold the keys are hashed from the
+     * start.
+     * @param capacity the number of items expected
+     */
+    public AdaptiveDataSet(int capacity)
+    {
+        super(AdaptiveFactory.factory);
+        this.items = capacity > 0 ?
+                new DataItem[capacity] :
+                AdaptiveDataSet.NO_ITEMS;
+        if (capacity > AdaptiveDataSet.HASH_THRESHOLD)
+        {
+            this.index = new KeyIndex(capacity);
+        }
+    }
+
+    /**
+     * Create a new {@link AdaptiveDataSet} containing a cloned list of entries.
+     * @param clone The {@link DataSet} to clone.
+     */
+    public AdaptiveDataSet(DataSet clone)
+    {
+        this(clone == null ? 0 : clone.size());
+        if (clone == null)
+        {
+            return; // nothing to copy
+        }
+        for (DataItem item : clone)
+        {
+            this._put(this.factory().clone(item));
+        }
+    }
+
+    @Override
+    public synchronized boolean contains(String key)
+    {
+        return (this.find(key) != -1);
+    }
+
+    /**
+     * Make room for a number of items, building the index if there will be
+     * enough of them.
+     * @param expected the total number of items expected
+     */
+    private void ensureCapacity(int expected)
+    {
+        if (expected > this.items.length)
+        {
+            this.items = Arrays.copyOf(this.items,
+                    Math.max(expected,
+                            Math.max(AdaptiveDataSet.MIN_CAPACITY,
+                                    this.size + (this.size >> 1))));
+        }
+        if (expected > AdaptiveDataSet.HASH_THRESHOLD)
+        {
+            if (this.index == null)
+            {
+                this.index = new KeyIndex(expected);
+                for (int i = 0; i < this.size; i++)
+                {
+                    this.index.add(this.items[i].getKey(), i);
+                }
+            }
+            else
+            {
+                this.index.ensureCapacity(expected);
+            }
+        }
+    }
+
+    /**
+     * Find the position of an item.
+     * @param key the key for the item
+     * @return the position of the item, or {@code -1} if there is none.
+     */
+    private int find(String key)
+    {
+        if (this.index != null)
+        {
+            return this.index.find(key);
+        }
+        if (key == null)
+        {
+            return -1;
+        }
+        for (int i = 0; i < this.size; i++)
+        {
+            String k = this.items[i].getKey();
+            // keys are canonicalised, so the same key is usually the same string
+            if (k == key || k.equals(key))
+            {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public synchronized DataItem get(String key)
+    {
+        int position = this.find(key);
+        if (position == -1)
+        {
+            return null;
+        }
+        return this.items[position];
+    }
+
+    @Override
+    public synchronized DataItem get(int index)
+    {
+        if (index < 0 || index >= this.size)
+        {
+            return null;
+        }
+        return this.items[index];
+    }
+
+    /**
+     * Check if the keys are hashed.
+     * @return {@code true} if the keys are hashed, or {@code false} if they
+     *          are scanned.
+     */
+    public synchronized boolean isHashed()
+    {
+        return this.index != null;
+    }
+
+    @Override
+    public synchronized boolean isEmpty()
+    {
+        return this.size == 0;
+    }
+
+    @Override
+    public synchronized String[] keys()
+    {
+        String[] keys = new String[this.size];
+        for (int i = 0; i < this.size; i++)
+        {
+            keys[i] = this.items[i].getKey();
+        }
+        return keys;
+    }
+
+    /**
+     * Implementation for {@link #put(DataItem)}.
+     * <p>
+     * This is {@code private} to stop any overrides and is to be called only
+     * from {@link #put(lexa.core.data.DataItem) put(DataItem)} and the
+     * clone constructor
+     * {@link #AdaptiveDataSet(lexa.core.data.DataSet) AdaptiveDataSet(DataSet)}.
+     * @param item A {@link DataItem} to add.
+     */
+    private void _put(DataItem item)
+    {
+        int position = this.find(item.getKey());
+        if (position == -1)
+        {
+            this.ensureCapacity(this.size + 1);
+            if (this.index != null)
+            {
+                this.index.add(item.getKey(), this.size);
+            }
+            this.items[this.size++] = item;
+        }
+        else
+        {
+            this.items[position] = item;
+        }
+    }
+
+    @Override
+    public synchronized DataSet put(DataItem item)
+    {
+        if (item != null)
+        {
+            this._put(this.factory().convert(item));
+        }
+        return this;
+    }
+
+    @Override
+    public synchronized DataSet put(DataSet data)
+    {
+        return this.putAll(data, MergeStrategy.OVERWRITE);
+    }
+
+    /**
+     * Put the contents of another {@link DataSet} into this one, merging any
+     * items that have a key already in this data set.
+     * <p>
+     * Room is made for all the items before any are added, so the set
+     * switches to hashing at most once, and each key is found once.
+     *
+     * @param data The data to be added.
+     * @param strategy How to merge an item with a key that already exists.
+     * @return  the {@link AdaptiveDataSet} the items were added to.
+     */
+    @Override
+    public synchronized DataSet putAll(DataSet data, MergeStrategy strategy)
+    {
+        if (data == null)
+        {
+            return this;
+        }
+        this.ensureCapacity(this.size + data.size());
+        DataFactory factory = this.factory();
+        for (DataItem item
+                : data)
+        {
+            int position = this.find(item.getKey());
+            if (position == -1)
+            {
+                // the capacity is a hint, so the data can hold more than it said
+                this.ensureCapacity(this.size + 1);
+                if (this.index != null)
+                {
+                    this.index.add(item.getKey(), this.size);
+                }
+                this.items[this.size++] = factory.convert(item);
+                continue;
+            }
+            DataValue current = this.items[position].getValue();
+            DataValue merged = strategy.merge(current, item.getValue());
+            if (merged == item.getValue())
+            {
+                this.items[position] = factory.convert(item);
+            }
+            else if (merged != current)
+            {
+                this.items[position] =
+                        factory.convert(factory.getDataItem(item.getKey(), merged));
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public synchronized DataItem remove(String key)
+    {
+        return this.remove(this.find(key));
+    }
+
+    @Override
+    public synchronized DataItem remove(int index)
+    {
+        if (index < 0 || index >= this.size)
+        {
+            return null;
+        }
+        DataItem removed = this.items[index];
+        System.arraycopy(this.items, index + 1,
+                this.items, index, this.size - index - 1);
+        this.items[--this.size] = null;
+        if (this.index != null)
+        {
+            if (this.size <= AdaptiveDataSet.SCAN_THRESHOLD)
+            {
+                // small again, so go back to scanning and give back the space
+                this.index = null;
+                this.items = Arrays.copyOf(this.items,
+                        Math.max(AdaptiveDataSet.MIN_CAPACITY, this.size));
+            }
+            else
+            {
+                this.index.remove(removed.getKey());
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public synchronized int size()
+    {
+        return this.size;
+    }
+}
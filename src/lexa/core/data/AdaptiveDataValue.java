@@ -0,0 +1,40 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * AdaptiveDataValue.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+/**
+ * Implementation of {@link DataValue} for use in an {@link AdaptiveDataSet}
+ * <p>
+ * This class manages the type conversion and keeps it type safe.
+ * @author william
+ * @since 2026-10
+ */
+public class AdaptiveDataValue
+        extends BaseDataValue
+{
+    /**
+     * Create a value to represent an object
+     * @param object the contained value
+     */
+    public AdaptiveDataValue(Object object)
+    {
+        super(AdaptiveFactory.factory, object);
+    }
+
+    /**
+     * Create a value as a clone of another value
+     * @param clone a DataValue to clone
+     */
+    public AdaptiveDataValue(DataValue clone)
+    {
+        super(AdaptiveFactory.factory, clone);
+    }
+}
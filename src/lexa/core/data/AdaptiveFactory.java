@@ -0,0 +1,65 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * AdaptiveFactory.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+/**
+ * Factory for data sets that suit their own size.
+ * <p>
+ * Each {@link AdaptiveDataSet} scans its keys while it is small and hashes
+ * them once it grows, so one factory serves a tree that mixes small records
+ * with large lookup sets.
+ * @author william
+ * @since 2026-10
+ */
+public class AdaptiveFactory
+        extends BaseFactory
+{
+    /** Handle to the  instance of the {@link AdaptiveFactory} */
+    public static AdaptiveFactory factory = new AdaptiveFactory();
+
+    private AdaptiveFactory() {} // keep in single, keep it simple
+
+    @Override
+    public DataArray getDataArray()
+    {
+        return new AdaptiveDataArray();
+    }
+
+    @Override
+    public DataItem getDataItem(String key, Object value)
+    {
+        return new AdaptiveDataItem(key, value);
+    }
+
+    @Override
+    public DataItem getDataItem(String key, DataValue value)
+    {
+        return new AdaptiveDataItem(key, value);
+    }
+
+    @Override
+    public DataSet getDataSet()
+    {
+        return new AdaptiveDataSet();
+    }
+
+    @Override
+    public DataSet getDataSet(int capacity)
+    {
+        return new AdaptiveDataSet(capacity);
+    }
+
+    @Override
+    public DataValue getDataValue(Object object)
+    {
+        return new AdaptiveDataValue(object);
+    }
+}
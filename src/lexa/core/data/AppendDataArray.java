@@ -0,0 +1,233 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * AppendDataArray.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * An array that any number of threads can add to and read from without locks.
+ * <p>
+ * Values can only be added to the end of the array; they cannot be inserted
+ * or removed.  This suits collecting results from many producers, where a
+ * {@link ConcurrentDataArray} would copy the whole array on every add.
+ * <p>
+ * The values are held in chunks that double in size, so a chunk is never
+ * copied once it is allocated.  Each add converts the value and makes sure
+ * the chunk for the next position exists before it reserves the position
+ * with a compare and set, so nothing can fail between reserving a position
+ * and writing the value into it.  Each slot is written on its own, and an
+ * empty slot is one that is not yet visible.  {@link #size() size} is a high
+ * water mark below which every slot has been written; each add, and each read
+ * that finds the mark behind, moves it past any slots that have since been
+ * written, so no add ever waits for another.  Any value below the size can be
+ * read from any thread.  The order of values added by different threads is
+ * the order their positions were reserved.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public class AppendDataArray
+        extends BaseDataArray
+{
+    /** the size of the first chunk, must be a power of two */
+    private static final int FIRST_CHUNK = 16;
+    /** the number of bits in the size of the first chunk */
+    private static final int FIRST_BITS = 4;
+    /** enough chunks to hold {@link Integer#MAX_VALUE} values */
+    private static final int CHUNKS = 32 - AppendDataArray.FIRST_BITS;
+
+    /** the chunks of values, allocated as they are needed */
+    private final AtomicReferenceArray<AtomicReferenceArray<DataValue>> chunks;
+    /** the number of positions that have been reserved */
+    private final AtomicInteger reserved;
+    /** the number of positions below which every value has been written */
+    private final AtomicInteger published;
+
+    /**
+     * Create an empty array for the {@link ConcurrentFactory}.
+     */
+    public AppendDataArray()
+    {
+        this(ConcurrentFactory.factory);
+    }
+
+    /**
+     * Create an empty array for a factory.
+     * @param factory the factory the values belong to
+     */
+    public AppendDataArray(DataFactory factory)
+    {
+        super(factory);
+        this.chunks = new AtomicReferenceArray<>(AppendDataArray.CHUNKS);
+        this.reserved = new AtomicInteger();
+        this.published = new AtomicInteger();
+    }
+
+    /**
+     * Add an object to the end of the array.
+     * @param object the object to add
+     * @return this {@link DataArray}
+     */
+    @Override
+    public DataArray add(Object object)
+    {
+        if ((object != null) && DataValue.class.isAssignableFrom(object.getClass()))
+        {
+            return this.add((DataValue)object);
+        }
+        return this.add(this.factory().getDataValue(object));
+    }
+
+    /**
+     * Add a value to the end of the array.
+     * @param value the value to add
+     * @return this {@link DataArray}
+     */
+    @Override
+    public DataArray add(DataValue value)
+    {
+        if (value.getType().equals(DataType.NULL))
+        {
+            throw new IllegalArgumentException("[null] cannot be added to an array");
+        }
+        DataValue converted = this.factory().convert(value);
+        int index;
+        AtomicReferenceArray<DataValue> values;
+        do
+        {
+            index = this.reserved.get();
+            if (index > Integer.MAX_VALUE - AppendDataArray.FIRST_CHUNK)
+            {
+                throw new IllegalStateException("The array is full");
+            }
+            // anything that can fail is done before the position is reserved
+            values = this.values(AppendDataArray.chunk(index));
+        }
+        while (!this.reserved.compareAndSet(index, index + 1));
+        values.set(AppendDataArray.offset(index), converted);
+        this.advance();
+        return this;
+    }
+
+    /**
+     * Move the published size past every slot that has been written.
+     * @return the published size
+     */
+    private int advance()
+    {
+        int size = this.published.get();
+        while (size < this.reserved.get())
+        {
+            AtomicReferenceArray<DataValue> values =
+                    this.chunks.get(AppendDataArray.chunk(size));
+            if (values == null ||
+                    values.get(AppendDataArray.offset(size)) == null)
+            {
+                // the writer of this slot moves the size on when it is done
+                return size;
+            }
+            if (this.published.compareAndSet(size, size + 1))
+            {
+                size++;
+            }
+            else
+            {
+                size = this.published.get();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Get a chunk, allocating it if it does not yet exist.
+     * @param chunk the chunk
+     * @return the values in the chunk
+     */
+    private AtomicReferenceArray<DataValue> values(int chunk)
+    {
+        AtomicReferenceArray<DataValue> values = this.chunks.get(chunk);
+        if (values == null)
+        {
+            this.chunks.compareAndSet(chunk, null,
+                    new AtomicReferenceArray<>(AppendDataArray.FIRST_CHUNK << chunk));
+            values = this.chunks.get(chunk);
+        }
+        return values;
+    }
+
+    /**
+     * Add a value to the end of the array.
+     * @param index the position for the value, it must be the size of the
+     *          array
+     * @param value the value to add
+     * @return this {@link DataArray}
+     * @throws UnsupportedOperationException if the position is not the end
+     *          of the array
+     */
+    @Override
+    public DataArray add(int index, DataValue value)
+    {
+        if (index != this.size())
+        {
+            throw new UnsupportedOperationException(
+                    "Values can only be added to the end of an AppendDataArray");
+        }
+        return this.add(value);
+    }
+
+    @Override
+    public DataValue get(int index)
+    {
+        if (index < 0 ||
+                (index >= this.published.get() && index >= this.advance()))
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        return this.chunks.get(AppendDataArray.chunk(index))
+                .get(AppendDataArray.offset(index));
+    }
+
+    @Override
+    public DataValue remove(int index)
+    {
+        throw new UnsupportedOperationException(
+                "Values cannot be removed from an AppendDataArray");
+    }
+
+    @Override
+    public int size()
+    {
+        return this.advance();
+    }
+
+    /**
+     * Get the chunk that holds a position.
+     * @param index the position
+     * @return the chunk
+     */
+    private static int chunk(int index)
+    {
+        return 31 - Integer.numberOfLeadingZeros(index + AppendDataArray.FIRST_CHUNK)
+                - AppendDataArray.FIRST_BITS;
+    }
+
+    /**
+     * Get the offset of a position within its chunk.
+     * @param index the position
+     * @return the offset
+     */
+    private static int offset(int index)
+    {
+        int position = index + AppendDataArray.FIRST_CHUNK;
+        return position - Integer.highestOneBit(position);
+    }
+}
@@ -11,6 +11,7 @@
 package lexa.core.data;
 
 import java.util.ArrayList;
+import java.util.Spliterator;
 
 /**
  * Provide a polymorphic map containing disparate data types as values.
@@ -23,8 +24,16 @@ import java.util.ArrayList;
 public class ArrayDataSet
 		extends BaseDataSet
 {
+	/**
+	 * The size above which a {@link KeyIndex} is built for the keys.
+	 * Below this a scan of the items is quicker than hashing the key.
+	 */
+	private static final int INDEX_THRESHOLD = 8;
+
 	private final ArrayList<DataItem> items;
 	private int last;
+	/** hashed index of the keys, built once the set grows past the threshold */
+	private KeyIndex index;
 
     /**
      * protected constructor
@@ -37,6 +46,36 @@ public class ArrayDataSet
 		this.items = new ArrayList<>();
 		this.last = 0;
     }
+
+	/**
+	 * protected constructor with room for a number of items
+	 * allows child classes to override the factory
+	 * @param factory the factory to use for the data set
+	 * @param capacity the number of items expected
+	 */
+	protected ArrayDataSet(DataFactory factory, int capacity)
+	{
+		super(factory);
+		this.items = new ArrayList<>(capacity);
+		this.last = 0;
+		if (capacity > ArrayDataSet.INDEX_THRESHOLD)
+		{
+			this.index = new KeyIndex(capacity);
+		}
+	}
+
+	/**
+	 * Create a new {@link DataSet} with no entries and room for a number of
+	 * items.
+	 * <p>
+	 * Neither the list of items nor the index of the keys need to grow until
+	 * the set holds more than {@code capacity} items.
+	 * @param capacity the number of items expected
+	 */
+	public ArrayDataSet(int capacity)
+	{
+		this(ArrayFactory.factory, capacity);
+	}
 	/**
 	 * Create a new {@link DataSet} with no entries.
 	 */
@@ -95,13 +134,24 @@ public class ArrayDataSet
 	/**
 	 * Find then position of an getDataItem in the data getDataSet.
 	 * <p>
-	 * Checks each {@link ArrayDataItem} and sees if its key is the same as the named key.
+	 * Small sets check each {@link ArrayDataItem} and see if its key is the
+	 * same as the named key.  Once the set is larger than the threshold the
+	 * key is looked up in a hashed index.
 	 * @param key   A key for a {@link ArrayDataItem}.
 	 * @return      The index if a {@link ArrayDataItem} exists with the named key,
 	 *              otherwise {@code -1}.
 	 */
 	private synchronized int find(String key)
 	{
+		if (this.index == null &&
+				this.items.size() > ArrayDataSet.INDEX_THRESHOLD)
+		{
+			this.buildIndex();
+		}
+		if (this.index != null)
+		{
+			return this.index.find(key);
+		}
 		if (this.items.size() > 0)
 		{
 			int end;
@@ -129,6 +179,20 @@ public class ArrayDataSet
 		return -1;
 	}
 
+	/**
+	 * Build the hashed index for all the current keys.
+	 */
+	private void buildIndex()
+	{
+		this.index = new KeyIndex(this.items.size());
+		for (int i = 0;
+				i < this.items.size();
+				i++)
+		{
+			this.index.add(this.items.get(i).getKey(), i);
+		}
+	}
+
 	/**
 	 * Get a {@link ArrayDataItem} from the list for the supplied key.
 	 * @param key The key for the {@link ArrayDataItem}.
@@ -210,6 +274,10 @@ public class ArrayDataSet
 		int index = this.find(item.getKey());
 		if (index == -1)
 		{
+			if (this.index != null)
+			{
+				this.index.add(item.getKey(), this.items.size());
+			}
 			this.items.add(item);
 		}
 		else
@@ -235,6 +303,79 @@ public class ArrayDataSet
 		return this;
 	}
 
+	/**
+	 * Put the contents of another {@link DataSet} into this one.
+	 * <p>
+	 * Any items in the new data set that have a key that matches another item
+	 * will overwrite the existing item.
+	 *
+	 * @param data The data to be added.
+	 * @return  the {@link ArrayDataSet} the items were added to.
+	 */
+	@Override
+	public synchronized DataSet put(DataSet data)
+	{
+		return this.putAll(data, MergeStrategy.OVERWRITE);
+	}
+
+	/**
+	 * Put the contents of another {@link DataSet} into this one, merging any
+	 * items that have a key already in this data set.
+	 * <p>
+	 * The list and the index are made large enough for all the items before
+	 * any are added, and each key is found once.  Items are only converted
+	 * for this factory when they are stored.
+	 *
+	 * @param data The data to be added.
+	 * @param strategy How to merge an item with a key that already exists.
+	 * @return  the {@link ArrayDataSet} the items were added to.
+	 */
+	@Override
+	public synchronized DataSet putAll(DataSet data, MergeStrategy strategy)
+	{
+		if (data == null)
+		{
+			return this;
+		}
+		int expected = this.items.size() + data.size();
+		this.items.ensureCapacity(expected);
+		if (expected > ArrayDataSet.INDEX_THRESHOLD)
+		{
+			if (this.index == null)
+			{
+				this.buildIndex();
+			}
+			this.index.ensureCapacity(expected);
+		}
+		DataFactory factory = this.factory();
+		for (DataItem item
+				: data)
+		{
+			int position = this.find(item.getKey());
+			if (position == -1)
+			{
+				if (this.index != null)
+				{
+					this.index.add(item.getKey(), this.items.size());
+				}
+				this.items.add(factory.convert(item));
+				continue;
+			}
+			DataValue current = this.items.get(position).getValue();
+			DataValue merged = strategy.merge(current, item.getValue());
+			if (merged == item.getValue())
+			{
+				this.items.set(position, factory.convert(item));
+			}
+			else if (merged != current)
+			{
+				this.items.set(position,
+						factory.convert(factory.getDataItem(item.getKey(), merged)));
+			}
+		}
+		return this;
+	}
+
 	/**
 	 * Removes the specified element from this {@link ArrayDataSet}.
 	 * <p>
@@ -257,7 +398,12 @@ public class ArrayDataSet
 		{
 			return null;
 		}
-		return this.items.remove(index);
+		DataItem removed = this.items.remove(index);
+		if (this.index != null)
+		{
+			this.index.remove(removed.getKey());
+		}
+		return removed;
 	}
 
 	/**
@@ -270,4 +416,17 @@ public class ArrayDataSet
 	{
 		return this.items.size();
 	}
+
+	/**
+	 * Get a {@link Spliterator} over the list of items.
+	 * <p>
+	 * The spliterator splits the list directly and fails if the data set is
+	 * changed while it is in use.
+	 * @return a {@link Spliterator} over the items
+	 */
+	@Override
+	public Spliterator<DataItem> spliterator()
+	{
+		return this.items.spliterator();
+	}
 }
@@ -46,12 +46,24 @@ public class ArrayFactory
         return new ArrayDataItem(key, value);
     }
 
+    @Override
+    public DataItem getDataItem(String key, DataValue value)
+    {
+        return new ArrayDataItem(key, value);
+    }
+
     @Override
     public DataSet getDataSet()
     {
         return new ArrayDataSet();
     }
 
+    @Override
+    public DataSet getDataSet(int capacity)
+    {
+        return new ArrayDataSet(capacity);
+    }
+
     @Override
     public DataValue getDataValue(Object object)
     {
@@ -10,37 +10,47 @@
  */
 package lexa.core.data;
 
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Base implementation of a {@link DataArray}
+ * <p>
+ * The values are held in a growable array, so getting a value by position is
+ * O(1) and adding to the end is amortised O(1).  Adding or removing in the
+ * middle moves the following values with a single array copy.
+ * <p>
+ * The storage is only allocated when the first value is added, so a subclass
+ * that keeps its own storage and overrides {@link #add(int, DataValue) add},
+ * {@link #get(int) get}, {@link #remove(int) remove} and {@link #size() size}
+ * carries no extra cost.
+ * <p>
+ * Reading an array does not change it, so any number of threads can read the
+ * same array without locks once it has been built and safely published.  A
+ * thread that changes the array must not run at the same time as any other
+ * reader or writer; use a {@link ConcurrentDataArray} for an array that is
+ * changed and read at the same time, or an {@link AppendDataArray} for many
+ * threads adding results.
  * @author william
  * @since 2016-02
  */
 public abstract class BaseDataArray
         implements DataArray {
 
+    /** the storage for an array with no values */
+    private static final DataValue[] NO_VALUES = new DataValue[0];
+    /** the smallest storage allocated */
+    private static final int MIN_CAPACITY = 8;
+
     private final DataFactory factory;
-        /**
-     * the first item in the list
-     */
-    private Index start;
-    /**
-     * the last item in the list
-     */
-    private Index end;
-    /**
-     * the most recent item in the list
-     */
-    private Index currentValue;
-    /**
-     * the position of the most recent item
-     */
-    private long currentIndex;
-    /* the size of the array */
+    /** the values, only the first {@link #size} are in use */
+    private DataValue[] values;
+    /** the size of the array */
     private int size;
 
-
     /**
      * Create a basic data array
      * @param factory the factory to build components
@@ -48,6 +58,7 @@ public abstract class BaseDataArray
     protected BaseDataArray(DataFactory factory)
     {
         this.factory = factory;
+        this.values = BaseDataArray.NO_VALUES;
         this.size = 0;
     }
 
@@ -140,11 +151,37 @@ public abstract class BaseDataArray
         return this;
     }
 
+    /**
+     * Get the hash code if it is known without walking the array.
+     * <p>
+     * An array that cannot change can keep its hash code once it has been
+     * worked out; {@link #equals(Object) equals} uses it to reject two arrays
+     * without comparing their values.
+     * @return the hash code, or {@code 0} if it is not known.
+     */
+    protected int cachedHash()
+    {
+        return 0;
+    }
+
+    /**
+     * Check if the array can never change.
+     * <p>
+     * A {@link DataFactory#lazyClone(DataArray) lazy clone} only shares an
+     * array that cannot change, and clones any other in full.
+     * @return {@code true} if neither the array nor anything nested in it
+     *          can be changed, otherwise {@code false}.
+     */
+    protected boolean isImmutable()
+    {
+        return false;
+    }
+
     @Override
     public int hashCode() {
         int hash = 7;
         for (DataValue v : this) {
-            hash = hash * 13 + v.hashCode();
+            hash = hash * 31 + DataHash.mix(v.hashCode());
         }
         return hash;
     }
@@ -170,6 +207,10 @@ public abstract class BaseDataArray
 
     @Override
     public boolean equals(Object obj) {
+        if (this == obj)
+        {
+            return true;
+        }
         if (obj == null || !DataArray.class.isAssignableFrom(obj.getClass()))
         {
             return false;
@@ -178,6 +219,15 @@ public abstract class BaseDataArray
         if (this.size() != other.size()) {
             return false;
         }
+        if (other instanceof BaseDataArray)
+        {
+            int hash = this.cachedHash();
+            int otherHash = ((BaseDataArray)other).cachedHash();
+            if (hash != 0 && otherHash != 0 && hash != otherHash)
+            {
+                return false;
+            }
+        }
         for (int i = 0; i < this.size(); i++) {
             if (!this.get(i).equals(other.get(i))) {
                 return false;
@@ -191,6 +241,31 @@ public abstract class BaseDataArray
         return new DataArrayIterator(this);
     }
 
+    @Override
+    public Stream<DataValue> parallelStream()
+    {
+        return StreamSupport.stream(this.spliterator(), true);
+    }
+
+    /**
+     * Get a {@link Spliterator} over the values.
+     * <p>
+     * The values are got by their position, so the spliterator can be split
+     * without reading them.
+     * @return a {@link Spliterator} over the values
+     */
+    @Override
+    public Spliterator<DataValue> spliterator()
+    {
+        return new PositionSpliterator<>(this::get, 0, this.size());
+    }
+
+    @Override
+    public Stream<DataValue> stream()
+    {
+        return StreamSupport.stream(this.spliterator(), false);
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -247,33 +322,22 @@ public abstract class BaseDataArray
         {
             throw new IllegalArgumentException("[null] cannot be added to an array");
         }
-        if (index == size)
+        if (index < 0 || index > this.size)
         {
-            this.currentValue = new Index();
-            this.currentValue.value = this.factory.convert(value);
-            this.currentValue.previous = this.end;
-            if (this.size > 0)
-            {
-                this.end.next = this.currentValue;
-            }
-            this.end = this.currentValue;
-        } else
+            throw new IndexOutOfBoundsException();
+        }
+        if (this.size == this.values.length)
         {
-            this.get(index); // set the pointer
-            Index old = this.currentValue;
-            this.currentValue = new Index();
-            this.currentValue.value = value;
-            this.currentValue.previous = old.previous;
-            old.previous = this.currentValue;
-            this.currentValue.next = old;
+            this.values = Arrays.copyOf(this.values,
+                    Math.max(BaseDataArray.MIN_CAPACITY, this.size + (this.size >> 1)));
         }
-
-        this.currentIndex = index;
-        this.size++;
-        if (this.currentIndex == 0)
+        if (index < this.size)
         {
-            this.start = this.currentValue;
+            System.arraycopy(this.values, index,
+                    this.values, index + 1, this.size - index);
         }
+        this.values[index] = this.factory.convert(value);
+        this.size++;
         return this;
     }
 
@@ -290,55 +354,11 @@ public abstract class BaseDataArray
      */
     public DataValue get(int index)
     {
-
-        if (index < 0 || index >= size)
+        if (index < 0 || index >= this.size)
         {
             throw new IndexOutOfBoundsException();
         }
-        if (index == this.currentIndex)
-        {
-            return this.currentValue.value;
-        }
-
-        long min = index > this.currentIndex
-                ? this.currentIndex : 0;
-        long max = index < this.currentIndex
-                ? this.currentIndex : this.size() - 1;
-
-        if ((max - index) < (index - min))
-        {
-            // go back from max
-            if (this.currentIndex < max)
-            {
-                // set back to the end
-                this.currentIndex = max;
-                this.currentValue = this.end;
-            }
-            while (this.currentIndex > index)
-            {
-                // move back
-                this.currentIndex--;
-                this.currentValue = this.currentValue.previous;
-            }
-        }
-        else
-        {
-            // go forward from min
-            if (this.currentIndex > min)
-            {
-                // set back to start
-                this.currentIndex = 0;
-                this.currentValue = this.start;
-            }
-            while (this.currentIndex < index)
-            {
-                // move forward
-                this.currentIndex++;
-                this.currentValue = this.currentValue.next;
-            }
-        }
-
-        return this.currentValue.value;
+        return this.values[index];
     }
 
     /**
@@ -350,32 +370,9 @@ public abstract class BaseDataArray
     public DataValue remove(int index)
     {
         DataValue remove = this.get(index);
-
-        // remove item from list
-        if (currentValue.previous != null)
-        {
-            currentValue.previous.next = currentValue.next;
-        } else
-        {
-            start = currentValue.next;
-        }
-        if (currentValue.next != null)
-        {
-            currentValue.next.previous = currentValue.previous;
-        } else
-        {
-            end = currentValue.previous;
-        }
-        // set up new last/pos
-        size--;
-        if (currentIndex < size)
-        {
-            currentValue = currentValue.next;
-        } else
-        {
-            currentIndex--;
-            currentValue = currentValue.previous;
-        }
+        System.arraycopy(this.values, index + 1,
+                this.values, index, this.size - index - 1);
+        this.values[--this.size] = null;
         return remove;
     }
 
@@ -388,24 +385,4 @@ public abstract class BaseDataArray
     {
         return this.size;
     }
-
-    /**
-     * An index item
-     */
-    protected class Index
-    {
-
-        /**
-         * the previous item
-         */
-        Index previous;
-        /**
-         * the next item
-         */
-        Index next;
-        /**
-         * the value
-         */
-        DataValue value;
-    }
 }
@@ -32,7 +32,9 @@ public abstract class BaseDataItem
     /**
      * Base for new data item
      * <br>
-     * This handles only the key, the concrete classes need to handle the value
+     * This handles only the key, the concrete classes need to handle the value.
+     * The key is canonicalised by the {@link SymbolTable#key(String) key table}
+     * if one is in use.
      * @param factory
      *          the factory for the item
      * @param key
@@ -43,7 +45,7 @@ public abstract class BaseDataItem
     protected BaseDataItem(DataFactory factory, String key, DataValue value)
     {
         this.factory = factory;
-        this.key = key;
+        this.key = SymbolTable.key(key);
         this.value =  this.factory.convert(value);
     }
 
@@ -105,6 +107,12 @@ public abstract class BaseDataItem
 		return this.getValue().getBoolean();
 	}
 
+	@Override
+	public boolean getBoolean(boolean defaultValue)
+	{
+		return this.getValue().getBoolean(defaultValue);
+	}
+
 	/**
 	 * Gets the value as a data set.
 	 * @return The value as a data set.
@@ -135,6 +143,18 @@ public abstract class BaseDataItem
 		return this.getValue().getDouble();
 	}
 
+	@Override
+	public double getDouble(double defaultValue)
+	{
+		return this.getValue().getDouble(defaultValue);
+	}
+
+	@Override
+	public int getInt(int defaultValue)
+	{
+		return this.getValue().getInt(defaultValue);
+	}
+
     /**
 	 * Gets the value as an integer.
 	 * @return The value as an integer.
@@ -161,6 +181,12 @@ public abstract class BaseDataItem
 		return this.getValue().getLong();
 	}
 
+	@Override
+	public long getLong(long defaultValue)
+	{
+		return this.getValue().getLong(defaultValue);
+	}
+
 	/**
 	 * Gets the value as a string.
 	 * @return The value as a string.
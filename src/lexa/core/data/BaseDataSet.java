@@ -14,6 +14,9 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import lexa.core.data.io.DataWriter;
 
 /**
@@ -21,6 +24,10 @@ import lexa.core.data.io.DataWriter;
  * <p>
  * This provides the getters for the specific types supported.
  * It does not implement the basic {@link DataSet#get(java.lang.String) get} method
+ * <p>
+ * The typed getters make a single call to {@link DataSet#getValue(java.lang.String) getValue},
+ * which in turn calls {@link DataSet#get(java.lang.String) get}, so they are as
+ * thread safe as the implementation of that method and take no lock of their own.
  * @author william
  */
 public abstract class BaseDataSet
@@ -50,12 +57,12 @@ public abstract class BaseDataSet
 	 * item's value, otherwise {@code null}.
 	 */
 	@Override
-	public synchronized DataArray getArray(String key)
+	public DataArray getArray(String key)
 	{
-		DataItem item = this.get(key);
-		return (item == null) ?
+		DataValue value = this.getValue(key);
+		return (value == null) ?
 				null :
-				item.getArray();
+				value.getArray();
 	}
 
     /**
@@ -65,12 +72,28 @@ public abstract class BaseDataSet
 	 * item's value, otherwise {@code null}.
 	 */
 	@Override
-	public synchronized Boolean getBoolean(String key)
+	public Boolean getBoolean(String key)
 	{
-		DataItem item = this.get(key);
-		return (item == null) ?
+		DataValue value = this.getValue(key);
+		return (value == null) ?
 				null :
-				item.getBoolean();
+				value.getBoolean();
+	}
+
+	/**
+	 * Get a {@code boolean} from the list for the supplied key without boxing.
+	 * @param key The key for the {@link DataItem}.
+	 * @param defaultValue The value to return if the item is missing or
+	 * is not a boolean.
+	 * @return The item's value, or {@code defaultValue}.
+	 */
+	@Override
+	public boolean getBoolean(String key, boolean defaultValue)
+	{
+		DataValue value = this.getValue(key);
+		return (value == null) ?
+				defaultValue :
+				value.getBoolean(defaultValue);
 	}
 
 	/**
@@ -80,12 +103,12 @@ public abstract class BaseDataSet
 	 * item's value, otherwise {@code null}.
 	 */
 	@Override
-	public synchronized DataSet getDataSet(String key)
+	public DataSet getDataSet(String key)
 	{
-		DataItem item = this.get(key);
-		return (item == null) ?
+		DataValue value = this.getValue(key);
+		return (value == null) ?
 				null :
-				item.getDataSet();
+				value.getDataSet();
 	}
 
 	/**
@@ -95,12 +118,12 @@ public abstract class BaseDataSet
 	 * item's value, otherwise {@code null}.
 	 */
 	@Override
-	public synchronized Date getDate(String key)
+	public Date getDate(String key)
 	{
-		DataItem item = this.get(key);
-		return (item == null) ?
+		DataValue value = this.getValue(key);
+		return (value == null) ?
 				null :
-				item.getDate();
+				value.getDate();
 	}
 
 	/**
@@ -112,12 +135,44 @@ public abstract class BaseDataSet
 	 *          otherwise {@code null}.
 	 */
 	@Override
-	public synchronized Double getDouble(String key)
+	public Double getDouble(String key)
 	{
-		DataItem item = this.get(key);
-		return (item == null) ?
+		DataValue value = this.getValue(key);
+		return (value == null) ?
 				null :
-				item.getDouble();
+				value.getDouble();
+	}
+
+	/**
+	 * Get a {@code double} from the list for the supplied key without boxing.
+	 * @param key The key for the {@link DataItem}.
+	 * @param defaultValue The value to return if the item is missing or
+	 * is not a double.
+	 * @return The item's value, or {@code defaultValue}.
+	 */
+	@Override
+	public double getDouble(String key, double defaultValue)
+	{
+		DataValue value = this.getValue(key);
+		return (value == null) ?
+				defaultValue :
+				value.getDouble(defaultValue);
+	}
+
+	/**
+	 * Get an {@code int} from the list for the supplied key without boxing.
+	 * @param key The key for the {@link DataItem}.
+	 * @param defaultValue The value to return if the item is missing or
+	 * is not an integer.
+	 * @return The item's value, or {@code defaultValue}.
+	 */
+	@Override
+	public int getInt(String key, int defaultValue)
+	{
+		DataValue value = this.getValue(key);
+		return (value == null) ?
+				defaultValue :
+				value.getInt(defaultValue);
 	}
 
 	/**
@@ -127,12 +182,12 @@ public abstract class BaseDataSet
 	 * item's value, otherwise {@code null}.
 	 */
 	@Override
-	public synchronized Integer getInteger(String key)
+	public Integer getInteger(String key)
 	{
-		DataItem item = this.get(key);
-		return (item == null) ?
+		DataValue value = this.getValue(key);
+		return (value == null) ?
 				null :
-				item.getInteger();
+				value.getInteger();
 	}
 
 	/**
@@ -142,12 +197,28 @@ public abstract class BaseDataSet
 	 * item's value, otherwise {@code null}.
 	 */
 	@Override
-	public synchronized Long getLong(String key)
+	public Long getLong(String key)
 	{
-		DataItem item = this.get(key);
-		return (item == null) ?
+		DataValue value = this.getValue(key);
+		return (value == null) ?
 				null :
-				item.getLong();
+				value.getLong();
+	}
+
+	/**
+	 * Get a {@code long} from the list for the supplied key without boxing.
+	 * @param key The key for the {@link DataItem}.
+	 * @param defaultValue The value to return if the item is missing or
+	 * is not a long.
+	 * @return The item's value, or {@code defaultValue}.
+	 */
+	@Override
+	public long getLong(String key, long defaultValue)
+	{
+		DataValue value = this.getValue(key);
+		return (value == null) ?
+				defaultValue :
+				value.getLong(defaultValue);
 	}
 
 	/**
@@ -157,12 +228,12 @@ public abstract class BaseDataSet
 	 * item's value, otherwise {@code null}.
 	 */
 	@Override
-	public synchronized String getString(String key)
+	public String getString(String key)
 	{
-		DataItem item = this.get(key);
-		return (item == null) ?
+		DataValue value = this.getValue(key);
+		return (value == null) ?
 				null :
-				item.getString();
+				value.getString();
 	}
 
 	/**
@@ -172,14 +243,14 @@ public abstract class BaseDataSet
 	 * item's type, otherwise {@link DataType#NULL}.
 	 */
 	@Override
-	public synchronized DataType getType(String key)
+	public DataType getType(String key)
 	{
-		DataItem item = this.get(key);
-		if (item == null)
+		DataValue value = this.getValue(key);
+		if (value == null)
 		{
 			return DataType.NULL;
 		}
-		return item.getType();
+		return value.getType();
 	}
 
     /**
@@ -189,14 +260,14 @@ public abstract class BaseDataSet
 	 * item's value, otherwise {@code null}.
 	 */
 	@Override
-	public synchronized Object getObject(String key)
+	public Object getObject(String key)
 	{
-		DataItem item = this.get(key);
-		if (item == null)
+		DataValue value = this.getValue(key);
+		if (value == null)
 		{
 			return null;
 		}
-		return item.getObject();
+		return value.getObject();
 	}
 
     /**
@@ -206,7 +277,7 @@ public abstract class BaseDataSet
 	 * item's value, otherwise {@code null}.
 	 */
 	@Override
-	public synchronized DataValue getValue(String key)
+	public DataValue getValue(String key)
 	{
 		DataItem item = this.get(key);
 		if (item == null)
@@ -271,6 +342,10 @@ public abstract class BaseDataSet
 	@Override
 	public boolean equals(Object obj)
 	{
+		if (this == obj)
+		{
+			return true;
+		}
 		if (obj == null || !DataSet.class.isAssignableFrom(obj.getClass()))
 		{
 			return false;
@@ -283,12 +358,30 @@ public abstract class BaseDataSet
 			return false;
 		}
 
+		// two known hash codes that differ cannot be equal
+		if (other instanceof BaseDataSet)
+		{
+			int hash = this.cachedHash();
+			int otherHash = ((BaseDataSet)other).cachedHash();
+			if (hash != 0 && otherHash != 0 && hash != otherHash)
+			{
+				return false;
+			}
+		}
+
 		// the items could be loaded in a different order but if the content
-		// is the same, the two sets are equal.
+		// is the same, the two sets are equal.  Try the same position first
+		// as that is the most likely place to find the match.
+		int position = 0;
 		for (DataItem item
 				: this)
 		{
-			if (!item.equals(other.get(item.getKey())))
+			DataItem match = other.get(position++);
+			if (match == null || !item.getKey().equals(match.getKey()))
+			{
+				match = other.get(item.getKey());
+			}
+			if (match == null || !item.getValue().equals(match.getValue()))
 			{
 				return false;
 			}
@@ -297,72 +390,119 @@ public abstract class BaseDataSet
 		return true;
 	}
 
+	/**
+	 * Get the hash code if it is known without walking the data set.
+	 * <p>
+	 * A data set that cannot change can keep its hash code once it has been
+	 * worked out; {@link #equals(Object) equals} uses it to reject two data
+	 * sets without comparing their items.
+	 * @return the hash code, or {@code 0} if it is not known.
+	 */
+	protected int cachedHash()
+	{
+		return 0;
+	}
+
+	/**
+	 * Check if the data set can never change.
+	 * <p>
+	 * A {@link DataFactory#lazyClone(DataSet) lazy clone} only shares a data
+	 * set that cannot change, and clones any other in full.
+	 * @return {@code true} if neither the data set nor anything nested in it
+	 *          can be changed, otherwise {@code false}.
+	 */
+	protected boolean isImmutable()
+	{
+		return false;
+	}
+
+	/**
+	 * Get the hash code of the data set.
+	 * <p>
+	 * This is the sum of a mixed hash of each key and value, so it does not
+	 * depend on the order of the items.
+	 * @return the hash code
+	 */
 	@Override
 	public int hashCode()
 	{
 		int hash = 7;
 		for (DataItem item : this)
 		{
-			hash += (17 * item.hashCode());
+			hash += DataHash.item(item.getKey(), item.getValue());
 		}
 		return hash;
 	}
 
+    /**
+     * Get a {@link DataValue} from anywhere in the hierarchical list.
+     * <p>
+     * A plain key is got directly; any other key is parsed to a
+     * {@link DataPath} that is not cached, so keys built on the fly do not
+     * fill the shared cache.  Compile a path that is used often with
+     * {@link DataPath#compile(String)} and use {@link #item(DataPath)}.
+     * @param key The dot separated hierarchical key for the {@link DataItem}.
+     * @return The {@link DataValue} if it exists, otherwise {@code null}.
+     */
     @Override
     public DataValue item(String key)
     {
-        int split = key.indexOf('.');
-        if (split < 0)
+        if (key.indexOf('.') < 0 && key.indexOf(':') < 0)
         {
-            return this.itemValue(key);
+            return this.getValue(key);
         }
-        String parent = key.substring(0,split);
-        DataValue value = this.itemValue(parent);
+        return this.item(DataPath.parse(key));
+    }
 
-        if (value == null || !value.getType().equals(DataType.DATA_SET))
-        {
-            return null;
-        }
-        return value.getDataSet().item(key.substring(split+1));
+    @Override
+    public DataValue item(DataPath path)
+    {
+        return path.evaluate(this);
     }
 
-    private DataValue itemValue(String key)
+    @Override
+    public boolean getBoolean(DataPath path, boolean defaultValue)
     {
-        int array = key.indexOf(':');
-        if (array < 0)
-        {
-            return this.getValue(key);
-        }
-        String name = key.substring(0,array);
-        return BaseDataSet.itemArray(
-                this.getArray(name),
-                key.substring(array+1));
+        DataValue value = this.item(path);
+        return (value == null) ?
+                defaultValue :
+                value.getBoolean(defaultValue);
     }
 
-    private static DataValue itemArray(DataArray valueArray, String key)
+    @Override
+    public double getDouble(DataPath path, double defaultValue)
     {
-        if (valueArray == null)
-        {
-            return null;
-        }
-        int sub = key.indexOf(':');
-        if (sub > 0)
-        {
-            DataValue subValue = BaseDataSet.itemArray(
-                    valueArray, key.substring(0,sub));
-            if (!subValue.getType().equals(DataType.ARRAY))
-            {
-                return null;
-            }
-            return BaseDataSet.itemArray(
-                    subValue.getArray(), key.substring(sub+1));
-        }
-        int index = Integer.parseInt(key);
-        if (index < 0 || index >= valueArray.size())
-        {
-            return null;
-        }
-        return valueArray.get(index);
+        DataValue value = this.item(path);
+        return (value == null) ?
+                defaultValue :
+                value.getDouble(defaultValue);
+    }
+
+    @Override
+    public int getInt(DataPath path, int defaultValue)
+    {
+        DataValue value = this.item(path);
+        return (value == null) ?
+                defaultValue :
+                value.getInt(defaultValue);
+    }
+
+    @Override
+    public long getLong(DataPath path, long defaultValue)
+    {
+        DataValue value = this.item(path);
+        return (value == null) ?
+                defaultValue :
+                value.getLong(defaultValue);
+    }
+
+    @Override
+    public String getString(DataPath path)
+    {
+        DataValue value = this.item(path);
+        return (value == null) ?
+                null :
+                value.getString();
     }
 
     @Override
@@ -371,6 +511,32 @@ public abstract class BaseDataSet
 		return new DataSetIterator(this);
 	}
 
+	@Override
+	public Stream<DataItem> parallelStream()
+	{
+		return StreamSupport.stream(this.spliterator(), true);
+	}
+
+	/**
+	 * Get a {@link Spliterator} over the items.
+	 * <p>
+	 * The items are got by their position, so the spliterator can be split
+	 * without reading them.  Implementations with their own storage should
+	 * override this to split the storage directly.
+	 * @return a {@link Spliterator} over the items
+	 */
+	@Override
+	public Spliterator<DataItem> spliterator()
+	{
+		return new PositionSpliterator<>(this::get, 0, this.size());
+	}
+
+	@Override
+	public Stream<DataItem> stream()
+	{
+		return StreamSupport.stream(this.spliterator(), false);
+	}
+
     @Override
     public void printFormatted(PrintStream out)
     {
@@ -399,6 +565,58 @@ public abstract class BaseDataSet
 		return this.put(this.factory.getDataItem(key, value));
 	}
 
+	@Override
+	public DataSet put(String key, boolean value)
+	{
+		return this.put(this.factory.getDataItem(key,
+				this.factory.getDataValue(value)));
+	}
+
+	@Override
+	public DataSet put(String key, byte value)
+	{
+		return this.put(key, (Object)value);
+	}
+
+	@Override
+	public DataSet put(String key, char value)
+	{
+		return this.put(key, (Object)value);
+	}
+
+	@Override
+	public DataSet put(String key, double value)
+	{
+		return this.put(this.factory.getDataItem(key,
+				this.factory.getDataValue(value)));
+	}
+
+	@Override
+	public DataSet put(String key, float value)
+	{
+		return this.put(key, (Object)value);
+	}
+
+	@Override
+	public DataSet put(String key, int value)
+	{
+		return this.put(this.factory.getDataItem(key,
+				this.factory.getDataValue(value)));
+	}
+
+	@Override
+	public DataSet put(String key, long value)
+	{
+		return this.put(this.factory.getDataItem(key,
+				this.factory.getDataValue(value)));
+	}
+
+	@Override
+	public DataSet put(String key, short value)
+	{
+		return this.put(key, (Object)value);
+	}
+
     /**
 	 * Put the contents of another {@link ArrayDataSet} into this one.
 	 * <p>
@@ -421,4 +639,50 @@ public abstract class BaseDataSet
 		}
 		return this;
 	}
+
+	@Override
+	public synchronized DataSet putAll(DataSet data, MergeStrategy strategy)
+	{
+		return this.mergeEach(data, strategy);
+	}
+
+	/**
+	 * Merge another {@link DataSet} into this one an item at a time.
+	 * <p>
+	 * Each key is looked up with {@link #get(String)} and any change is made
+	 * with {@link #put(DataItem)}, so any checks made by a sub class are kept.
+	 * A sub class with a quicker {@link #putAll(DataSet, MergeStrategy) putAll}
+	 * can use this for its own sub classes that need every item checked.
+	 *
+	 * @param data The data to be added.
+	 * @param strategy How to merge an item with a key that already exists.
+	 * @return  this {@link DataSet}.
+	 */
+	protected final synchronized DataSet mergeEach(DataSet data, MergeStrategy strategy)
+	{
+		if (data == null)
+		{
+			return this;
+		}
+		for (DataItem item
+				: data)
+		{
+			DataItem current = this.get(item.getKey());
+			if (current == null)
+			{
+				this.put(item);
+				continue;
+			}
+			DataValue merged = strategy.merge(current.getValue(), item.getValue());
+			if (merged == item.getValue())
+			{
+				this.put(item);
+			}
+			else if (merged != current.getValue())
+			{
+				this.put(this.factory.getDataItem(item.getKey(), merged));
+			}
+		}
+		return this;
+	}
 }
@@ -44,6 +44,23 @@ public abstract class BaseDataValue
         this.type = DataType.getType(this.value);
 	}
 
+	/**
+	 * Create a value that holds its own content.
+	 * <p>
+	 * This is for values that store a primitive rather than an object, they
+	 * must override {@link #getObject()} and the getter for their type.
+	 * @param factory
+	 *          the factory for the item
+	 * @param type
+	 *          the type of the value
+	 */
+	protected BaseDataValue(DataFactory factory, DataType type)
+	{
+        this.factory = factory;
+        this.value = null;
+        this.type = type;
+	}
+
 	/**
 	 * Create a value as a clone of another value
      * @param factory
@@ -146,6 +163,17 @@ public abstract class BaseDataValue
         return (Boolean) DataType.BOOLEAN.getValueIfType(this.getObject());
     }
 
+    /**
+     * Gets the value as a {@code boolean}.
+     * @param defaultValue the value to return if this is not a boolean
+     * @return The value as a boolean, or {@code defaultValue}.
+     */
+    @Override
+    public boolean getBoolean(boolean defaultValue) {
+        Boolean value = this.getBoolean();
+        return value == null ? defaultValue : value;
+    }
+
     /**
      * Gets the value as a data set.
      * @return The value as a data set.
@@ -173,6 +201,28 @@ public abstract class BaseDataValue
         return (Double) DataType.DOUBLE.getValueIfType(this.getObject());
     }
 
+    /**
+     * Gets the value as a {@code double}.
+     * @param defaultValue the value to return if this is not a double
+     * @return The value as a double, or {@code defaultValue}.
+     */
+    @Override
+    public double getDouble(double defaultValue) {
+        Double value = this.getDouble();
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Gets the value as an {@code int}.
+     * @param defaultValue the value to return if this is not an integer
+     * @return The value as an int, or {@code defaultValue}.
+     */
+    @Override
+    public int getInt(int defaultValue) {
+        Integer value = this.getInteger();
+        return value == null ? defaultValue : value;
+    }
+
     /**
      * Gets the value as an integer.
      * @return The value as an integer.
@@ -191,6 +241,17 @@ public abstract class BaseDataValue
         return (Long) DataType.LONG.getValueIfType(this.getObject());
     }
 
+    /**
+     * Gets the value as a {@code long}.
+     * @param defaultValue the value to return if this is not a long
+     * @return The value as a long, or {@code defaultValue}.
+     */
+    @Override
+    public long getLong(long defaultValue) {
+        Long value = this.getLong();
+        return value == null ? defaultValue : value;
+    }
+
     /**
      * Gets the value as a string.
      * @return The value as a string.
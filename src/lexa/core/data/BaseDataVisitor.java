@@ -0,0 +1,98 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * BaseDataVisitor.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+import java.util.Date;
+
+/**
+ * Base implementation of a {@link DataVisitor}.
+ * <p>
+ * Every callback continues the walk, so a sub class only overrides the
+ * callbacks it needs.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public abstract class BaseDataVisitor
+        implements DataVisitor
+{
+    @Override
+    public Visit enterArray(DataCursor path, DataArray array)
+    {
+        return Visit.CONTINUE;
+    }
+
+    @Override
+    public Visit enterSet(DataCursor path, DataSet data)
+    {
+        return Visit.CONTINUE;
+    }
+
+    @Override
+    public Visit leaveArray(DataCursor path, DataArray array)
+    {
+        return Visit.CONTINUE;
+    }
+
+    @Override
+    public Visit leaveSet(DataCursor path, DataSet data)
+    {
+        return Visit.CONTINUE;
+    }
+
+    @Override
+    public Visit visitBoolean(DataCursor path, boolean value)
+    {
+        return Visit.CONTINUE;
+    }
+
+    @Override
+    public Visit visitDate(DataCursor path, Date value)
+    {
+        return Visit.CONTINUE;
+    }
+
+    @Override
+    public Visit visitDouble(DataCursor path, double value)
+    {
+        return Visit.CONTINUE;
+    }
+
+    @Override
+    public Visit visitInt(DataCursor path, int value)
+    {
+        return Visit.CONTINUE;
+    }
+
+    @Override
+    public Visit visitLong(DataCursor path, long value)
+    {
+        return Visit.CONTINUE;
+    }
+
+    @Override
+    public Visit visitNull(DataCursor path)
+    {
+        return Visit.CONTINUE;
+    }
+
+    @Override
+    public Visit visitObject(DataCursor path, Object value)
+    {
+        return Visit.CONTINUE;
+    }
+
+    @Override
+    public Visit visitString(DataCursor path, String value)
+    {
+        return Visit.CONTINUE;
+    }
+}
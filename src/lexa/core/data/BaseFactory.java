@@ -39,7 +39,7 @@ public abstract class BaseFactory
     @Override
     public DataSet clone(DataSet data)
     {
-        DataSet clone = this.getDataSet();
+        DataSet clone = this.getDataSet(data.size());
         for (DataItem item : data)
         {
             clone.put(this.clone(item));
@@ -47,16 +47,101 @@ public abstract class BaseFactory
         return clone;
     }
 
+    /**
+     * Clone an array only as it is used.
+     * <p>
+     * Only an array that cannot change, such as a {@link SealedDataArray} or
+     * a persistent array, is shared; any other array could change under the
+     * clone, so it is cloned in full.  A lazy clone that has not been copied
+     * shares its source with the new clone, so changing either of them does
+     * not change the other.
+     * @param array the array to be cloned
+     * @return  a {@link LazyDataArray} for an array that cannot change,
+     *          otherwise a full {@link #clone(DataArray) clone}
+     */
+    @Override
+    public DataArray lazyClone(DataArray array)
+    {
+        DataArray shared = array instanceof LazyDataArray ?
+                ((LazyDataArray)array).shared() :
+                array;
+        if (shared instanceof BaseDataArray &&
+                ((BaseDataArray)shared).isImmutable())
+        {
+            return new LazyDataArray(this, shared);
+        }
+        return this.clone(array);
+    }
+
+    /**
+     * Clone a data set only as it is used.
+     * <p>
+     * Only a data set that cannot change, such as a {@link SealedDataSet} or
+     * a persistent data set, is shared; any other data set could change under
+     * the clone, so it is cloned in full.  A lazy clone that has not been
+     * copied shares its source with the new clone, so changing either of them
+     * does not change the other.
+     * @param data the data set to be cloned
+     * @return  a {@link LazyDataSet} for a data set that cannot change,
+     *          otherwise a full {@link #clone(DataSet) clone}
+     */
+    @Override
+    public DataSet lazyClone(DataSet data)
+    {
+        DataSet shared = data instanceof LazyDataSet ?
+                ((LazyDataSet)data).shared() :
+                data;
+        if (shared instanceof BaseDataSet &&
+                ((BaseDataSet)shared).isImmutable())
+        {
+            return new LazyDataSet(this, shared);
+        }
+        return this.clone(data);
+    }
+
+    /**
+     * Create a new {@link DataSet} with room for a number of items.
+     * <p>
+     * This ignores the capacity, a factory with a data set that can be sized
+     * should override it.
+     * @param capacity the number of items expected
+     * @return  an empty {@link DataSet} from {@link #getDataSet()}.
+     */
+    @Override
+    public DataSet getDataSet(int capacity)
+    {
+        return this.getDataSet();
+    }
+
     @Override
     public DataItem clone(DataItem item)
     {
         return this.getDataItem(item.getKey(),
-                this.clone(item.getObject()));
+                this.clone(item.getValue()));
     }
 
     @Override
     public DataValue clone(DataValue value)
     {
+        switch (value.getType())
+        {
+            case BOOLEAN :
+            {
+                return this.getDataValue(value.getBoolean(false));
+            }
+            case DOUBLE :
+            {
+                return this.getDataValue(value.getDouble(0.0));
+            }
+            case INTEGER :
+            {
+                return this.getDataValue(value.getInt(0));
+            }
+            case LONG :
+            {
+                return this.getDataValue(value.getLong(0L));
+            }
+        }
         return this.getDataValue(
                 this.clone(value.getObject()));
     }
@@ -163,4 +248,44 @@ public abstract class BaseFactory
         return object;
     }
 
+    /**
+     * Create a new {@link DataItem} for an existing value.
+     * <p>
+     * This implementation unwraps the value, factories should override it to
+     * keep the value as it is.
+     * @param key
+     *          the key for the item
+     * @param value
+     *          the value for the item
+     * @return  a {@link DataItem} with the {@code key} and {@code value}
+     */
+    @Override
+    public DataItem getDataItem(String key, DataValue value)
+    {
+        return this.getDataItem(key, (Object)value);
+    }
+
+    @Override
+    public DataValue getDataValue(boolean value)
+    {
+        return new BooleanDataValue(this, value);
+    }
+
+    @Override
+    public DataValue getDataValue(double value)
+    {
+        return new DoubleDataValue(this, value);
+    }
+
+    @Override
+    public DataValue getDataValue(int value)
+    {
+        return new IntDataValue(this, value);
+    }
+
+    @Override
+    public DataValue getDataValue(long value)
+    {
+        return new LongDataValue(this, value);
+    }
 }
@@ -0,0 +1,85 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * BooleanDataValue.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+/**
+ * A {@link DataValue} holding a {@code boolean} without boxing it.
+ * <p>
+ * The value is read with {@link #getBoolean(boolean) getBoolean}; it is only boxed when
+ * it is asked for as an object.  Instances are created by
+ * {@link DataFactory#getDataValue(boolean)} and belong to that factory.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public final class BooleanDataValue
+        extends BaseDataValue
+{
+    /** the value being represented */
+    private final boolean value;
+
+    /**
+     * Create a value for a {@code boolean}.
+     * @param factory the factory for the value
+     * @param value the contained value
+     */
+    public BooleanDataValue(DataFactory factory, boolean value)
+    {
+        super(factory, DataType.BOOLEAN);
+        this.value = value;
+    }
+
+    @Override
+    public int compareTo(DataValue to)
+    {
+        if (to instanceof BooleanDataValue)
+        {
+            BooleanDataValue other = (BooleanDataValue)to;
+            return Boolean.compare(this.value, other.value);
+        }
+        return super.compareTo(to);
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (obj instanceof BooleanDataValue)
+        {
+            BooleanDataValue other = (BooleanDataValue)obj;
+            return this.value == other.value;
+        }
+        return super.equals(obj);
+    }
+
+    @Override
+    public Boolean getBoolean()
+    {
+        return this.value;
+    }
+
+    @Override
+    public boolean getBoolean(boolean defaultValue)
+    {
+        return this.value;
+    }
+
+    @Override
+    public Object getObject()
+    {
+        return this.value;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Boolean.hashCode(this.value);
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * ConcurrentDataArray.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+
+/**
+ * An array of values for a {@link ConcurrentDataSet}.
+ * <p>
+ * The values are held in an immutable array that is replaced on every change.
+ * Reads take no lock, writes are serialised on the array.
+ * Iterators work on the values at the time they were created.
+ * <p>
+ * Each change copies the values, so it is {@code O(n)}; use
+ * {@link #addAll(DataArray)} or {@link #addAll(Object[])} to add many values
+ * with a single copy.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public class ConcurrentDataArray
+        extends BaseDataArray
+{
+    /** the current values */
+    private volatile DataValue[] values;
+
+    /**
+     * Create a new {@link ConcurrentDataArray}
+     * The initial array has no values
+     */
+    public ConcurrentDataArray()
+    {
+        super(ConcurrentFactory.factory);
+        this.values = new DataValue[0];
+    }
+
+    /**
+     * Create a new {@link DataArray} cloning the previous.
+     * @param clone an array to clone.
+     */
+    public ConcurrentDataArray(DataArray clone)
+    {
+        this();
+        this.addAll(clone);
+    }
+
+    /**
+     * Create a new {@link DataArray} from an array of objects
+     * The initial array has an entry for each object passed.
+     * @param objects an array of objects to populate the array.
+     */
+    public ConcurrentDataArray(Object... objects)
+    {
+        this();
+        this.addAll(objects);
+    }
+
+    @Override
+    public synchronized DataArray add(int index, DataValue value)
+    {
+        if (value.getType().equals(DataType.NULL))
+        {
+            throw new IllegalArgumentException("[null] cannot be added to an array");
+        }
+        DataValue[] current = this.values;
+        if (index < 0 || index > current.length)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        DataValue[] added = new DataValue[current.length + 1];
+        System.arraycopy(current, 0, added, 0, index);
+        added[index] = this.factory().convert(value);
+        System.arraycopy(current, index, added, index + 1, current.length - index);
+        this.values = added;
+        return this;
+    }
+
+    /**
+     * Add all the values from another array to the end of this one.
+     * <p>
+     * The values are copied once and published together.
+     * @param array the array to add
+     * @return this {@link DataArray}
+     */
+    @Override
+    public synchronized DataArray addAll(DataArray array)
+    {
+        if (array == null)
+        {
+            return this;
+        }
+        DataValue[] current = this.values;
+        DataValue[] added = Arrays.copyOf(current, current.length + array.size());
+        int size = current.length;
+        for (DataValue value : array)
+        {
+            if (size == added.length)
+            {
+                added = Arrays.copyOf(added, size + (size >> 1) + 1);
+            }
+            added[size++] = this.convert(value);
+        }
+        this.values = size == added.length ? added : Arrays.copyOf(added, size);
+        return this;
+    }
+
+    /**
+     * Add all the objects in an array to the end of this one.
+     * <p>
+     * The values are copied once and published together.
+     * @param array the objects to add
+     * @return this {@link DataArray}
+     */
+    @Override
+    public synchronized DataArray addAll(Object[] array)
+    {
+        if (array == null)
+        {
+            return this;
+        }
+        DataValue[] current = this.values;
+        DataValue[] added = Arrays.copyOf(current, current.length + array.length);
+        for (int i = 0; i < array.length; i++)
+        {
+            added[current.length + i] = this.convert(array[i]);
+        }
+        this.values = added;
+        return this;
+    }
+
+    /**
+     * Convert an object to a value that can be added to the array.
+     * @param object the object to convert
+     * @return the value for the factory
+     * @throws IllegalArgumentException if the value is {@code null}
+     */
+    private DataValue convert(Object object)
+    {
+        DataValue value = object instanceof DataValue ?
+                this.factory().convert((DataValue)object) :
+                this.factory().getDataValue(object);
+        if (value.getType().equals(DataType.NULL))
+        {
+            throw new IllegalArgumentException("[null] cannot be added to an array");
+        }
+        return value;
+    }
+
+    @Override
+    public DataValue get(int index)
+    {
+        DataValue[] current = this.values;
+        if (index < 0 || index >= current.length)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        return current[index];
+    }
+
+    @Override
+    public Iterator<DataValue> iterator()
+    {
+        DataValue[] current = this.values;
+        return new Iterator<DataValue>()
+        {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext()
+            {
+                return (this.index < current.length);
+            }
+
+            @Override
+            public DataValue next()
+            {
+                if (!this.hasNext())
+                {
+                    throw new NoSuchElementException();
+                }
+                return current[this.index++];
+            }
+        };
+    }
+
+    /**
+     * Get a {@link Spliterator} over a snapshot of the values.
+     * @return a {@link Spliterator} over the values at the time of the call
+     */
+    @Override
+    public Spliterator<DataValue> spliterator()
+    {
+        return Arrays.spliterator(this.values);
+    }
+
+    @Override
+    public synchronized DataValue remove(int index)
+    {
+        DataValue[] current = this.values;
+        if (index < 0 || index >= current.length)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        DataValue[] removed = new DataValue[current.length - 1];
+        System.arraycopy(current, 0, removed, 0, index);
+        System.arraycopy(current, index + 1, removed, index, removed.length - index);
+        this.values = removed;
+        return current[index];
+    }
+
+    @Override
+    public int size()
+    {
+        return this.values.length;
+    }
+}
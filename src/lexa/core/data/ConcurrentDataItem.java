@@ -0,0 +1,52 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * ConcurrentDataItem.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+/**
+ * A single item in a {@link ConcurrentDataSet}.
+ * The item is immutable so it can be shared between threads.
+ * @author William
+ * @since 2026-10
+ */
+public class ConcurrentDataItem
+		extends BaseDataItem
+{
+	/**
+	 * Create a new item
+	 * @param key The key for the item
+	 * @param value The value
+	 */
+	public ConcurrentDataItem(String key, Object value)
+	{
+		this(key, new ConcurrentDataValue(value));
+	}
+
+	/**
+	 * Create a new item
+	 * @param key The key for the item
+	 * @param value The value
+	 */
+	public ConcurrentDataItem(String key, DataValue value)
+	{
+		super(ConcurrentFactory.factory, key, value);
+	}
+
+	/**
+	 * Create a new item.
+	 * This clones an existing data item.
+	 *
+	 * @param clone An item to clone.
+	 */
+	public ConcurrentDataItem(DataItem clone)
+	{
+		this(clone.getKey(), clone.getValue());
+	}
+}
@@ -0,0 +1,339 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * ConcurrentDataSet.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+
+/**
+ * A data set for sharing between many threads.
+ * <p>
+ * The content is held as an immutable snapshot of the items and a hashed
+ * {@link KeyIndex} of their keys.  Reads take no lock, they load the current
+ * snapshot and look up the key in it.  Writes are serialised on the data set
+ * and publish a new snapshot, so this class should be used for data that is
+ * read far more often than it is changed.
+ * <p>
+ * Every write copies the items, and a write that adds or removes a key also
+ * copies the index, so each write is {@code O(n)} and putting {@code n} items
+ * one at a time is {@code O(n<sup>2</sup>)}.  To build or merge in bulk use
+ * {@link #put(DataSet)} or {@link #putAll(DataSet, MergeStrategy) putAll},
+ * which copy once and publish a single snapshot; the clone constructor does
+ * the same.
+ * <p>
+ * Iterators work on the snapshot at the time they were created; they never
+ * throw a {@link java.util.ConcurrentModificationException} and do not see
+ * later changes.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public class ConcurrentDataSet
+		extends BaseDataSet
+{
+	/** the current content of the data set */
+	private volatile Snapshot snapshot;
+
+	/**
+	 * Create a new {@link ConcurrentDataSet} with no entries.
+	 */
+	public ConcurrentDataSet()
+	{
+		super(ConcurrentFactory.factory);
+		this.snapshot = Snapshot.EMPTY;
+	}
+
+	/**
+	 * Create a new {@link ConcurrentDataSet} containing a cloned list of entries.
+	 * @param clone The {@link DataSet} to clone.
+	 */
+	public ConcurrentDataSet(DataSet clone)
+	{
+		this();
+		if (clone == null)
+		{
+			return; // nothing to copy
+		}
+		this.merge(clone, MergeStrategy.OVERWRITE, true);
+	}
+
+	@Override
+	public boolean contains(String key)
+	{
+		return (this.snapshot.index.find(key) != -1);
+	}
+
+	@Override
+	public DataItem get(String key)
+	{
+		Snapshot current = this.snapshot;
+		int position = current.index.find(key);
+		if (position == -1)
+		{
+			return null;
+		}
+		return current.items[position];
+	}
+
+	@Override
+	public DataItem get(int index)
+	{
+		Snapshot current = this.snapshot;
+		if (index < 0 || index >= current.items.length)
+		{
+			return null;
+		}
+		return current.items[index];
+	}
+
+	@Override
+	public boolean isEmpty()
+	{
+		return (this.snapshot.items.length == 0);
+	}
+
+	@Override
+	public Iterator<DataItem> iterator()
+	{
+		return new SnapshotIterator(this.snapshot.items);
+	}
+
+	/**
+	 * Get a {@link Spliterator} over a snapshot of the items.
+	 * @return a {@link Spliterator} over the items at the time of the call
+	 */
+	@Override
+	public Spliterator<DataItem> spliterator()
+	{
+		return Arrays.spliterator(this.snapshot.items);
+	}
+
+	@Override
+	public String[] keys()
+	{
+		DataItem[] items = this.snapshot.items;
+		String[] keys = new String[items.length];
+		for (int item = 0;
+				item < items.length;
+				item++)
+		{
+			keys[item] = items[item].getKey();
+		}
+		return keys;
+	}
+
+	@Override
+	public synchronized DataSet put(DataItem item)
+	{
+		if (item == null)
+		{
+			return this;
+		}
+		DataItem converted = this.factory().convert(item);
+		Snapshot current = this.snapshot;
+		int position = current.index.find(converted.getKey());
+		DataItem[] items;
+		KeyIndex index;
+		if (position == -1)
+		{
+			items = Arrays.copyOf(current.items, current.items.length + 1);
+			items[current.items.length] = converted;
+			index = current.index.copy();
+			index.add(converted.getKey(), current.items.length);
+		}
+		else
+		{
+			// same keys, so the index can be shared
+			items = current.items.clone();
+			items[position] = converted;
+			index = current.index;
+		}
+		this.snapshot = new Snapshot(items, index);
+		return this;
+	}
+
+	@Override
+	public synchronized DataSet put(DataSet data)
+	{
+		return this.putAll(data, MergeStrategy.OVERWRITE);
+	}
+
+	/**
+	 * Put the contents of another {@link DataSet} into this one, merging any
+	 * items that have a key already in this data set.
+	 * <p>
+	 * The items and the index are copied once and a single snapshot is
+	 * published at the end, so readers see either none or all of the items.
+	 *
+	 * @param data The data to be added.
+	 * @param strategy How to merge an item with a key that already exists.
+	 * @return  the {@link ConcurrentDataSet} the items were added to.
+	 */
+	@Override
+	public synchronized DataSet putAll(DataSet data, MergeStrategy strategy)
+	{
+		if (data == null)
+		{
+			return this;
+		}
+		this.merge(data, strategy, false);
+		return this;
+	}
+
+	/**
+	 * Build a new snapshot with the contents of another {@link DataSet} and
+	 * publish it.
+	 * @param data The data to be added.
+	 * @param strategy How to merge an item with a key that already exists.
+	 * @param clone {@code true} to clone each item, or {@code false} to convert
+	 *          it to the factory
+	 */
+	private synchronized void merge(DataSet data, MergeStrategy strategy, boolean clone)
+	{
+		Snapshot current = this.snapshot;
+		int size = current.items.length;
+		DataItem[] items = Arrays.copyOf(current.items, size + data.size());
+		KeyIndex index = current.index.copy();
+		index.ensureCapacity(size + data.size());
+		DataFactory factory = this.factory();
+		for (DataItem item
+				: data)
+		{
+			int position = index.find(item.getKey());
+			if (position == -1)
+			{
+				if (size == items.length)
+				{
+					// the size is a hint, so the data can hold more than it said
+					items = Arrays.copyOf(items, size + (size >> 1) + 1);
+				}
+				index.add(item.getKey(), size);
+				items[size++] = clone ?
+						factory.clone(item) :
+						factory.convert(item);
+				continue;
+			}
+			DataValue existing = items[position].getValue();
+			DataValue merged = strategy.merge(existing, item.getValue());
+			if (merged == item.getValue())
+			{
+				items[position] = clone ?
+						factory.clone(item) :
+						factory.convert(item);
+			}
+			else if (merged != existing)
+			{
+				items[position] =
+						factory.convert(factory.getDataItem(item.getKey(), merged));
+			}
+		}
+		this.snapshot = new Snapshot(
+				size == items.length ? items : Arrays.copyOf(items, size),
+				index);
+	}
+
+	@Override
+	public synchronized DataItem remove(String key)
+	{
+		return this.remove(this.snapshot.index.find(key));
+	}
+
+	@Override
+	public synchronized DataItem remove(int index)
+	{
+		Snapshot current = this.snapshot;
+		if (index < 0 || index >= current.items.length)
+		{
+			return null;
+		}
+		DataItem removed = current.items[index];
+		DataItem[] items = new DataItem[current.items.length - 1];
+		System.arraycopy(current.items, 0, items, 0, index);
+		System.arraycopy(current.items, index + 1, items, index, items.length - index);
+		KeyIndex keys = current.index.copy();
+		keys.remove(removed.getKey());
+		this.snapshot = new Snapshot(items, keys);
+		return removed;
+	}
+
+	@Override
+	public int size()
+	{
+		return this.snapshot.items.length;
+	}
+
+	/**
+	 * An immutable view of the content of the data set.
+	 */
+	private static final class Snapshot
+	{
+		/** a snapshot with no content */
+		private static final Snapshot EMPTY =
+				new Snapshot(new DataItem[0], new KeyIndex(0));
+
+		/** the items in the order they were added */
+		private final DataItem[] items;
+		/** the position of each key in {@link #items} */
+		private final KeyIndex index;
+
+		private Snapshot(DataItem[] items, KeyIndex index)
+		{
+			this.items = items;
+			this.index = index;
+		}
+	}
+
+	/**
+	 * Iterate over a snapshot of the items.
+	 */
+	private class SnapshotIterator
+			implements Iterator<DataItem>
+	{
+		/** the items being iterated over */
+		private final DataItem[] items;
+		/** the current position */
+		private int index;
+
+		private SnapshotIterator(DataItem[] items)
+		{
+			this.items = items;
+			this.index = 0;
+		}
+
+		@Override
+		public boolean hasNext()
+		{
+			return (this.index < this.items.length);
+		}
+
+		@Override
+		public DataItem next()
+		{
+			if (!this.hasNext())
+			{
+				throw new NoSuchElementException();
+			}
+			return this.items[this.index++];
+		}
+
+		@Override
+		public void remove()
+		{
+			if (this.index == 0)
+			{
+				throw new IllegalStateException();
+			}
+			ConcurrentDataSet.this.remove(this.items[this.index - 1].getKey());
+		}
+	}
+}
@@ -0,0 +1,40 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * ConcurrentDataValue.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+/**
+ Implementation of {@link DataValue} for use in a {@link ConcurrentDataSet}
+ <p>
+ This class manages the type conversion and keeps it type safe.
+ @author william
+ @since 2026-10
+ */
+public class ConcurrentDataValue
+        extends BaseDataValue
+{
+	/**
+	Create a value to represent an object
+	@param object the contained value
+	*/
+	public ConcurrentDataValue(Object object)
+	{
+        super(ConcurrentFactory.factory, object);
+	}
+
+	/**
+	Create a value as a clone of another value
+	@param clone a DataValue to clone
+	*/
+	public ConcurrentDataValue(DataValue clone)
+	{
+        super(ConcurrentFactory.factory, clone);
+	}
+}
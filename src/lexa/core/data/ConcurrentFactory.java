@@ -0,0 +1,58 @@
+/*
+ * =============================================================================
+ * Lexa - Property of William Norman-Walker
+ * -----------------------------------------------------------------------------
+ * ConcurrentFactory.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+/**
+ * Factory for data that is shared between threads.
+ * <p>
+ * The {@link ConcurrentDataSet} and {@link ConcurrentDataArray} can be read
+ * from any number of threads without locking.
+ * @author william
+ * @since 2026-10
+ */
+public class ConcurrentFactory
+        extends BaseFactory
+{
+    /** Handle to the  instance of the {@link ConcurrentFactory} */
+    public static ConcurrentFactory factory = new ConcurrentFactory();
+
+    private ConcurrentFactory() {} // keep in single, keep it simple
+
+    @Override
+    public DataArray getDataArray()
+    {
+        return new ConcurrentDataArray();
+    }
+
+    @Override
+    public DataItem getDataItem(String key, Object value)
+    {
+        return new ConcurrentDataItem(key, value);
+    }
+
+    @Override
+    public DataItem getDataItem(String key, DataValue value)
+    {
+        return new ConcurrentDataItem(key, value);
+    }
+
+    @Override
+    public DataSet getDataSet()
+    {
+        return new ConcurrentDataSet();
+    }
+
+    @Override
+    public DataValue getDataValue(Object object)
+    {
+        return new ConcurrentDataValue(object);
+    }
+}
@@ -0,0 +1,631 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * DataAggregation.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Group the data sets in an array and aggregate their values.
+ * <p>
+ * An aggregation is given the paths to group the rows by, and then the
+ * measures to take for each group:
+ * <pre>{@code
+ * DataSet totals = new DataAggregation("region", "product")
+ *         .count()
+ *         .sum("amount")
+ *         .average("amount")
+ *         .aggregate(sales);
+ * }</pre>
+ * The result has a data set for each value of the first group path, keyed by
+ * the value as a string, holding a data set for each value of the next path,
+ * and so on.  The last level holds the measures, keyed by the function and
+ * path, such as {@code "count"} or {@code "sum(amount)"}.  With no group paths
+ * the measures are put straight into the result.  A row that does not have a
+ * group path is put in the group {@code "null"}.  Groups are in the order
+ * they are first found in the array.  Group values that differ but have the
+ * same string, such as the integer {@code 1} and the string {@code "1"}, or a
+ * missing value and the string {@code "null"}, cannot be told apart in the
+ * result, so the aggregation fails rather than merge or lose either group.
+ * The result is built with the {@link ArrayFactory}, whatever the factory of
+ * the rows, so rows that cannot be changed, such as a persistent array, can
+ * be aggregated too.
+ * <p>
+ * The array is split into ranges that are aggregated on a
+ * {@link ForkJoinPool}, each with its own partial results, and the partial
+ * results are merged in order when the ranges are joined.  Values are read
+ * with {@link DataPath#evaluate(DataSet)} and numbers are added as
+ * primitives, so the rows are not copied or boxed.  The array must not be
+ * changed while it is being aggregated.
+ * <p>Once its measures are added an aggregation can be shared between threads.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public final class DataAggregation
+{
+    /** the number of rows aggregated without splitting the range */
+    static final int THRESHOLD = 2048;
+
+    /**
+     * The functions that can be applied to the values in a group.
+     */
+    public enum Function
+    {
+        /** the mean of the numeric values, as a double */
+        AVERAGE("average"),
+        /** the number of rows, or the number of rows with a value */
+        COUNT("count"),
+        /** an array of the distinct values in the order they were found */
+        DISTINCT("distinct"),
+        /** the largest value */
+        MAX("max"),
+        /** the smallest value */
+        MIN("min"),
+        /** the total of the numeric values, a long if they are all integers */
+        SUM("sum");
+
+        /** the name used for the function's key */
+        private final String name;
+
+        private Function(String name)
+        {
+            this.name = name;
+        }
+
+        /**
+         * Get the key for the function applied to a path.
+         * @param path the path, or {@code null} for a count of rows
+         * @return the key for the measure
+         */
+        String key(DataPath path)
+        {
+            return path == null ?
+                    this.name :
+                    this.name + '(' + path + ')';
+        }
+    }
+
+    /** the paths to group by */
+    private final DataPath[] groups;
+    /** the measures for each group */
+    private final List<Measure> measures;
+
+    /**
+     * Create an aggregation that takes its measures over all the rows.
+     */
+    public DataAggregation()
+    {
+        this(new DataPath[0]);
+    }
+
+    /**
+     * Create an aggregation grouped by a list of paths.
+     * @param groupBy the paths to group the rows by
+     * @throws NumberFormatException if an array position is not a number
+     */
+    public DataAggregation(String ... groupBy)
+    {
+        this(DataAggregation.compile(groupBy));
+    }
+
+    /**
+     * Create an aggregation grouped by a list of compiled paths.
+     * @param groupBy the paths to group the rows by
+     */
+    public DataAggregation(DataPath ... groupBy)
+    {
+        this.groups = groupBy.clone();
+        this.measures = new ArrayList<>();
+    }
+
+    private static DataPath[] compile(String[] paths)
+    {
+        DataPath[] compiled = new DataPath[paths.length];
+        for (int p = 0; p < paths.length; p++)
+        {
+            compiled[p] = DataPath.compile(paths[p]);
+        }
+        return compiled;
+    }
+
+    /**
+     * Aggregate the rows of an array on the common pool.
+     * @param rows the data sets to aggregate, any other value is ignored
+     * @return the measures for each group
+     * @throws IllegalArgumentException if two different values of a group
+     *          path have the same string
+     */
+    public DataSet aggregate(DataArray rows)
+    {
+        return this.aggregate(rows, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Aggregate the rows of an array on a given pool.
+     * @param rows the data sets to aggregate, any other value is ignored
+     * @param pool the pool to run on
+     * @return the measures for each group
+     * @throws IllegalArgumentException if two different values of a group
+     *          path have the same string
+     */
+    public DataSet aggregate(DataArray rows, ForkJoinPool pool)
+    {
+        Partial partial = pool.invoke(new Task(rows, 0, rows.size()));
+        DataFactory factory = ArrayFactory.factory;
+        DataSet result = factory.getDataSet();
+        // the value each group data set was made for
+        Map<DataSet, DataValue> made = new IdentityHashMap<>();
+        for (Map.Entry<Group, Accumulator[]> entry : partial.groups.entrySet())
+        {
+            DataSet group = result;
+            for (DataValue value : entry.getKey().values)
+            {
+                String key = String.valueOf(value == null ? null : value.getObject());
+                DataSet next = group.getDataSet(key);
+                if (next == null)
+                {
+                    group.put(key, factory.getDataSet());
+                    next = group.getDataSet(key);
+                    made.put(next, value);
+                }
+                else if (!Objects.equals(made.get(next), value))
+                {
+                    throw new IllegalArgumentException("group values " +
+                            DataAggregation.describe(made.get(next)) + " and " +
+                            DataAggregation.describe(value) +
+                            " have the same key [" + key + "]");
+                }
+                group = next;
+            }
+            Accumulator[] accumulators = entry.getValue();
+            for (int m = 0; m < accumulators.length; m++)
+            {
+                accumulators[m].put(group, this.measures.get(m).key, factory);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Describe a group value for an error.
+     * @param value the value, or {@code null} if it is missing
+     * @return the type and value
+     */
+    private static String describe(DataValue value)
+    {
+        return value == null ?
+                "[missing]" :
+                "[" + value.getType() + " " + value.getObject() + "]";
+    }
+
+    /**
+     * Add the average of the numeric values for a path.
+     * @param path the path to the values
+     * @return this aggregation
+     */
+    public DataAggregation average(String path)
+    {
+        return this.measure(Function.AVERAGE, DataPath.compile(path));
+    }
+
+    /**
+     * Add the number of rows in each group.
+     * @return this aggregation
+     */
+    public DataAggregation count()
+    {
+        return this.measure(Function.COUNT, null);
+    }
+
+    /**
+     * Add the number of rows in each group that have a value for a path.
+     * @param path the path to the values
+     * @return this aggregation
+     */
+    public DataAggregation count(String path)
+    {
+        return this.measure(Function.COUNT, DataPath.compile(path));
+    }
+
+    /**
+     * Add the distinct values for a path.
+     * @param path the path to the values
+     * @return this aggregation
+     */
+    public DataAggregation distinct(String path)
+    {
+        return this.measure(Function.DISTINCT, DataPath.compile(path));
+    }
+
+    /**
+     * Add the largest value for a path.
+     * @param path the path to the values
+     * @return this aggregation
+     */
+    public DataAggregation max(String path)
+    {
+        return this.measure(Function.MAX, DataPath.compile(path));
+    }
+
+    /**
+     * Add a measure to the aggregation.
+     * @param function the function to apply
+     * @param path the path to the values, only {@link Function#COUNT} can
+     *          have a {@code null} path.
+     * @return this aggregation
+     */
+    public DataAggregation measure(Function function, DataPath path)
+    {
+        if (path == null && !function.equals(Function.COUNT))
+        {
+            throw new IllegalArgumentException("A path is needed for " + function);
+        }
+        this.measures.add(new Measure(function, path));
+        return this;
+    }
+
+    /**
+     * Add the smallest value for a path.
+     * @param path the path to the values
+     * @return this aggregation
+     */
+    public DataAggregation min(String path)
+    {
+        return this.measure(Function.MIN, DataPath.compile(path));
+    }
+
+    /**
+     * Add the total of the numeric values for a path.
+     * @param path the path to the values
+     * @return this aggregation
+     */
+    public DataAggregation sum(String path)
+    {
+        return this.measure(Function.SUM, DataPath.compile(path));
+    }
+
+    /**
+     * A function applied to a path.
+     */
+    private static final class Measure
+    {
+        private final Function function;
+        private final DataPath path;
+        private final String key;
+
+        private Measure(Function function, DataPath path)
+        {
+            this.function = function;
+            this.path = path;
+            this.key = function.key(path);
+        }
+    }
+
+    /**
+     * The values of the group paths for a row.
+     */
+    private static final class Group
+    {
+        private final DataValue[] values;
+        private final int hash;
+
+        private Group(DataValue[] values)
+        {
+            this.values = values;
+            this.hash = Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            return (obj instanceof Group) &&
+                    Arrays.equals(this.values, ((Group)obj).values);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return this.hash;
+        }
+    }
+
+    /**
+     * The running value of a measure for one group.
+     */
+    private static final class Accumulator
+    {
+        private final Function function;
+        private final boolean rows;
+        private int count;
+        private long longSum;
+        private double doubleSum;
+        private boolean floating;
+        private DataValue value;
+        private LinkedHashSet<DataValue> distinct;
+
+        private Accumulator(Measure measure)
+        {
+            this.function = measure.function;
+            this.rows = (measure.path == null);
+            if (this.function.equals(Function.DISTINCT))
+            {
+                this.distinct = new LinkedHashSet<>();
+            }
+        }
+
+        /**
+         * Add the value from a row.
+         * @param value the value, or {@code null} if the row has none
+         */
+        private void add(DataValue value)
+        {
+            if (value == null)
+            {
+                if (this.rows)
+                {
+                    this.count++;
+                }
+                return;
+            }
+            switch (this.function)
+            {
+                case COUNT :
+                {
+                    this.count++;
+                    return;
+                }
+                case DISTINCT :
+                {
+                    this.distinct.add(value);
+                    return;
+                }
+                case MAX :
+                {
+                    if (this.value == null || value.compareTo(this.value) > 0)
+                    {
+                        this.value = value;
+                    }
+                    return;
+                }
+                case MIN :
+                {
+                    if (this.value == null || value.compareTo(this.value) < 0)
+                    {
+                        this.value = value;
+                    }
+                    return;
+                }
+            }
+            switch (value.getType())
+            {
+                case DOUBLE :
+                {
+                    this.doubleSum += value.getDouble(0.0);
+                    this.floating = true;
+                    this.count++;
+                    return;
+                }
+                case INTEGER :
+                {
+                    this.longSum += value.getInt(0);
+                    this.count++;
+                    return;
+                }
+                case LONG :
+                {
+                    this.longSum += value.getLong(0L);
+                    this.count++;
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Add the partial result for a later range.
+         * @param other the accumulator for the later range
+         */
+        private void merge(Accumulator other)
+        {
+            this.count += other.count;
+            this.longSum += other.longSum;
+            this.doubleSum += other.doubleSum;
+            this.floating |= other.floating;
+            if (other.value != null)
+            {
+                int comp = this.value == null ?
+                        0 :
+                        other.value.compareTo(this.value);
+                if (this.value == null ||
+                        (this.function.equals(Function.MAX) ? comp > 0 : comp < 0))
+                {
+                    this.value = other.value;
+                }
+            }
+            if (this.distinct != null)
+            {
+                this.distinct.addAll(other.distinct);
+            }
+        }
+
+        /**
+         * Put the result into the data set for the group.
+         * @param group the data set for the group
+         * @param key the key for the measure
+         * @param factory the factory for the result
+         */
+        private void put(DataSet group, String key, DataFactory factory)
+        {
+            switch (this.function)
+            {
+                case AVERAGE :
+                {
+                    if (this.count > 0)
+                    {
+                        group.put(key, (this.longSum + this.doubleSum) / this.count);
+                    }
+                    return;
+                }
+                case COUNT :
+                {
+                    group.put(key, this.count);
+                    return;
+                }
+                case DISTINCT :
+                {
+                    DataArray values = factory.getDataArray();
+                    for (DataValue value : this.distinct)
+                    {
+                        values.add(value);
+                    }
+                    group.put(key, values);
+                    return;
+                }
+                case MAX :
+                case MIN :
+                {
+                    if (this.value != null)
+                    {
+                        group.put(key, this.value);
+                    }
+                    return;
+                }
+                case SUM :
+                {
+                    if (this.floating)
+                    {
+                        group.put(key, this.longSum + this.doubleSum);
+                    }
+                    else
+                    {
+                        group.put(key, this.longSum);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The groups found in a range of rows.
+     */
+    private final class Partial
+    {
+        private final LinkedHashMap<Group, Accumulator[]> groups;
+        /** the values for the row being added, reused for each row */
+        private DataValue[] probe;
+
+        private Partial()
+        {
+            this.groups = new LinkedHashMap<>();
+            this.probe = new DataValue[DataAggregation.this.groups.length];
+        }
+
+        private void add(DataSet row)
+        {
+            for (int g = 0; g < this.probe.length; g++)
+            {
+                this.probe[g] = DataAggregation.this.groups[g].evaluate(row);
+            }
+            Group group = new Group(this.probe);
+            Accumulator[] accumulators = this.groups.get(group);
+            if (accumulators == null)
+            {
+                // the probe now belongs to the group
+                this.probe = new DataValue[this.probe.length];
+                accumulators = new Accumulator[DataAggregation.this.measures.size()];
+                for (int m = 0; m < accumulators.length; m++)
+                {
+                    accumulators[m] = new Accumulator(DataAggregation.this.measures.get(m));
+                }
+                this.groups.put(group, accumulators);
+            }
+            for (int m = 0; m < accumulators.length; m++)
+            {
+                DataPath path = DataAggregation.this.measures.get(m).path;
+                accumulators[m].add(path == null ? null : path.evaluate(row));
+            }
+        }
+
+        /**
+         * Add the groups from a later range.
+         * @param other the partial result for the later range
+         * @return this partial result
+         */
+        private Partial merge(Partial other)
+        {
+            for (Map.Entry<Group, Accumulator[]> entry : other.groups.entrySet())
+            {
+                Accumulator[] accumulators = this.groups.get(entry.getKey());
+                if (accumulators == null)
+                {
+                    this.groups.put(entry.getKey(), entry.getValue());
+                    continue;
+                }
+                for (int m = 0; m < accumulators.length; m++)
+                {
+                    accumulators[m].merge(entry.getValue()[m]);
+                }
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Aggregate a range of rows, splitting it if it is too large.
+     */
+    private final class Task
+            extends RecursiveTask<Partial>
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final DataArray rows;
+        private final int origin;
+        private final int fence;
+
+        private Task(DataArray rows, int origin, int fence)
+        {
+            this.rows = rows;
+            this.origin = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        protected Partial compute()
+        {
+            if (this.fence - this.origin <= DataAggregation.THRESHOLD)
+            {
+                Partial partial = new Partial();
+                for (int r = this.origin; r < this.fence; r++)
+                {
+                    DataValue row = this.rows.get(r);
+                    if (row.getType().equals(DataType.DATA_SET))
+                    {
+                        partial.add(row.getDataSet());
+                    }
+                }
+                return partial;
+            }
+            int middle = (this.origin + this.fence) >>> 1;
+            Task left = new Task(this.rows, this.origin, middle);
+            left.fork();
+            Partial right = new Task(this.rows, middle, this.fence).compute();
+            return left.join().merge(right);
+        }
+    }
+}
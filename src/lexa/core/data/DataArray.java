@@ -11,11 +11,12 @@
 package lexa.core.data;
 
 import java.util.Iterator;
+import java.util.stream.Stream;
 
 /**
  * An array of values
  * The array is self sizing, as it is implemented as a
- * linked list.  The values are polymorphic as they are always
+ * growable array.  The values are polymorphic as they are always
  * held as {@link DataValue} objects.
  *
  * @author william
@@ -120,4 +121,18 @@ public interface DataArray
 	@return the number of elements in the array
 	*/
 	public int size();
+
+	/**
+	Get a sequential {@link Stream} of the values in the array.
+	@return a stream of the values, in order
+	*/
+	public Stream<DataValue> stream();
+
+	/**
+	Get a parallel {@link Stream} of the values in the array.
+	<p>The values are split by position so each thread can work on its
+	own part of the array.
+	@return a possibly parallel stream of the values, in order
+	*/
+	public Stream<DataValue> parallelStream();
 }
@@ -0,0 +1,294 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * DataCloner.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Clone and convert large data sets and arrays on a {@link ForkJoinPool}.
+ * <p>
+ * This gives the same result as {@link DataFactory#clone(DataSet)} and
+ * {@link DataFactory#convert(DataSet)}, but the values of a large data set or
+ * array are cloned in parallel.  The values are split into ranges by their
+ * weight, which is one for a simple value and the size of a nested data set
+ * or array, and a range lighter than the threshold is cloned on one thread.
+ * A nested data set or array that is heavy enough is split in the same way,
+ * so a narrow tree with large leaves is split as well as a wide one.
+ * <p>
+ * Each range writes its clones into its own part of a shared array, and the
+ * data set or array is then built from it in the original order, so the
+ * result is the same however the work is split and whichever thread finishes
+ * first.  Only the building of each data set and array is serial; the
+ * factory does not need to be thread safe for that.
+ * <p>
+ * The factory must build data sets and arrays that can be added to.  A
+ * factory with its own clone, such as the persistent factory, should be
+ * used directly.  The source must not be changed while it is cloned.
+ * <p>A cloner holds no state of its own and can be shared between threads.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public final class DataCloner
+{
+    /** the weight of values cloned without splitting the range */
+    static final int THRESHOLD = 1024;
+
+    /** the factory to clone for */
+    private final DataFactory factory;
+    /** the pool to clone on */
+    private final ForkJoinPool pool;
+
+    /**
+     * Create a cloner for a factory that runs on the common pool.
+     * @param factory the factory to clone for
+     */
+    public DataCloner(DataFactory factory)
+    {
+        this(factory, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a cloner for a factory that runs on a given pool.
+     * @param factory the factory to clone for
+     * @param pool the pool to run on
+     */
+    public DataCloner(DataFactory factory, ForkJoinPool pool)
+    {
+        this.factory = factory;
+        this.pool = pool;
+    }
+
+    /**
+     * Clone an array.
+     * @param array the array to clone
+     * @return a new array from the factory with a clone of each value
+     */
+    public DataArray clone(DataArray array)
+    {
+        int size = array.size();
+        DataValue[] values = new DataValue[size];
+        for (int v = 0; v < size; v++)
+        {
+            values[v] = array.get(v);
+        }
+        DataValue[] clones = this.cloneAll(values);
+        DataArray clone = this.factory.getDataArray();
+        for (DataValue value : clones)
+        {
+            clone.add(value);
+        }
+        return clone;
+    }
+
+    /**
+     * Clone a data set.
+     * @param data the data set to clone
+     * @return a new data set from the factory with a clone of each item
+     */
+    public DataSet clone(DataSet data)
+    {
+        int size = data.size();
+        String[] keys = new String[size];
+        DataValue[] values = new DataValue[size];
+        for (int i = 0; i < size; i++)
+        {
+            DataItem item = data.get(i);
+            keys[i] = item.getKey();
+            values[i] = item.getValue();
+        }
+        DataValue[] clones = this.cloneAll(values);
+        DataSet clone = this.factory.getDataSet(size);
+        for (int i = 0; i < size; i++)
+        {
+            clone.put(this.factory.getDataItem(keys[i], clones[i]));
+        }
+        return clone;
+    }
+
+    /**
+     * Clone a value.
+     * @param value the value to clone
+     * @return a clone of the value from the factory
+     */
+    private DataValue clone(DataValue value)
+    {
+        switch (value.getType())
+        {
+            case DATA_SET :
+            {
+                return this.factory.getDataValue(this.clone(value.getDataSet()));
+            }
+            case ARRAY :
+            {
+                return this.factory.getDataValue(this.clone(value.getArray()));
+            }
+        }
+        return this.factory.clone(value);
+    }
+
+    /**
+     * Clone a list of values, splitting them into ranges if they are heavy
+     * enough.
+     * @param values the values to clone
+     * @return the clones, in the same order
+     */
+    private DataValue[] cloneAll(DataValue[] values)
+    {
+        long[] weights = new long[values.length + 1];
+        for (int v = 0; v < values.length; v++)
+        {
+            weights[v + 1] = weights[v] + DataCloner.weight(values[v]);
+        }
+        DataValue[] clones = new DataValue[values.length];
+        Task task = new Task(values, weights, clones, 0, values.length);
+        if (weights[values.length] <= DataCloner.THRESHOLD)
+        {
+            task.compute();
+        }
+        else if (ForkJoinTask.getPool() == this.pool)
+        {
+            // already running on the pool, so split from this thread
+            task.invoke();
+        }
+        else
+        {
+            this.pool.invoke(task);
+        }
+        return clones;
+    }
+
+    /**
+     * Convert an array to the factory, cloning it if it is from another
+     * factory.
+     * @param array the array to convert
+     * @return {@code array} if it is from the factory, otherwise a clone
+     */
+    public DataArray convert(DataArray array)
+    {
+        if (array != null &&
+                !this.factory.checkFactory(array.factory()))
+        {
+            return this.clone(array);
+        }
+        return array;
+    }
+
+    /**
+     * Convert a data set to the factory, cloning it if it is from another
+     * factory.
+     * @param data the data set to convert
+     * @return {@code data} if it is from the factory, otherwise a clone
+     */
+    public DataSet convert(DataSet data)
+    {
+        if (data != null &&
+                !this.factory.checkFactory(data.factory()))
+        {
+            return this.clone(data);
+        }
+        return data;
+    }
+
+    /**
+     * Get the weight of a value, which is the work of cloning one level of it.
+     * @param value the value
+     * @return the size of a nested data set or array, plus one for the value
+     */
+    private static long weight(DataValue value)
+    {
+        switch (value.getType())
+        {
+            case DATA_SET :
+            {
+                return 1L + value.getDataSet().size();
+            }
+            case ARRAY :
+            {
+                return 1L + value.getArray().size();
+            }
+        }
+        return 1L;
+    }
+
+    /**
+     * Clone a range of values, splitting it if it is too heavy.
+     */
+    private final class Task
+            extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final DataValue[] values;
+        /** the total weight before each value */
+        private final long[] weights;
+        private final DataValue[] clones;
+        private final int origin;
+        private final int fence;
+
+        private Task(DataValue[] values, long[] weights, DataValue[] clones,
+                int origin, int fence)
+        {
+            this.values = values;
+            this.weights = weights;
+            this.clones = clones;
+            this.origin = origin;
+            this.fence = fence;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (this.fence - this.origin == 1 ||
+                    this.weights[this.fence] - this.weights[this.origin] <= DataCloner.THRESHOLD)
+            {
+                for (int v = this.origin; v < this.fence; v++)
+                {
+                    this.clones[v] = DataCloner.this.clone(this.values[v]);
+                }
+                return;
+            }
+            int middle = this.middle();
+            Task left = new Task(this.values, this.weights, this.clones,
+                    this.origin, middle);
+            left.fork();
+            new Task(this.values, this.weights, this.clones,
+                    middle, this.fence).compute();
+            left.join();
+        }
+
+        /**
+         * Find the position that splits the weight of the range in half.
+         * @return a position after the origin and before the fence
+         */
+        private int middle()
+        {
+            long half = (this.weights[this.origin] + this.weights[this.fence]) >>> 1;
+            int low = this.origin + 1;
+            int high = this.fence - 1;
+            while (low < high)
+            {
+                int mid = (low + high) >>> 1;
+                if (this.weights[mid] < half)
+                {
+                    low = mid + 1;
+                }
+                else
+                {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
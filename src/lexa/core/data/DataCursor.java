@@ -0,0 +1,244 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * DataCursor.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+import java.util.Arrays;
+
+/**
+ * The path to the part of a tree being visited by a {@link DataWalker}.
+ * <p>
+ * The path is a stack of steps, each either the key of an item in a data set
+ * or the position of a value in an array.  The walker pushes a step as it
+ * moves down the tree and pops it on the way back, so one cursor serves the
+ * whole walk and no string is built for a path unless it is asked for.
+ * <p>
+ * The path as a string uses the syntax of {@link DataPath}, so the item
+ * {@code c} in the data set at position 2 of the array {@code b} has the path
+ * {@code "b:2.c"}.  The root has an empty path.  A {@link DataPath} starts
+ * from a data set, so only a cursor from a walk of a data set can be made into
+ * one with {@link #toPath()}; a walk of an array has a position as its first
+ * step, which no {@link DataPath} can hold.
+ * <p>A cursor is changed by the walk, so it must not be kept or shared.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public final class DataCursor
+{
+    /** the number of steps allowed for before the stack grows */
+    private static final int INITIAL_DEPTH = 8;
+
+    /** the key for each step, {@code null} for an array position */
+    private String[] keys;
+    /** the array position for each step that has no key */
+    private int[] positions;
+    /** the number of steps */
+    private int depth;
+
+    /**
+     * Create a cursor at the root.
+     */
+    DataCursor()
+    {
+        this.keys = new String[DataCursor.INITIAL_DEPTH];
+        this.positions = new int[DataCursor.INITIAL_DEPTH];
+        this.depth = 0;
+    }
+
+    /**
+     * Private constructor for {@link #copy()}.
+     * @param clone the cursor to copy
+     */
+    private DataCursor(DataCursor clone)
+    {
+        this.keys = clone.keys.clone();
+        this.positions = clone.positions.clone();
+        this.depth = clone.depth;
+    }
+
+    /**
+     * Create an independent copy of the cursor.
+     * @return a copy of this cursor
+     */
+    DataCursor copy()
+    {
+        return new DataCursor(this);
+    }
+
+    /**
+     * Get the number of steps from the root.
+     * @return the number of steps, {@code 0} at the root
+     */
+    public int depth()
+    {
+        return this.depth;
+    }
+
+    /**
+     * Check if a step is an array position.
+     * @param step the step, from {@code 0} at the top
+     * @return {@code true} if the step is a position in an array,
+     *          otherwise {@code false}.
+     */
+    public boolean isPosition(int step)
+    {
+        return this.key(step) == null;
+    }
+
+    /**
+     * Get the key of the last step.
+     * @return the key, or {@code null} at the root or for an array position
+     */
+    public String key()
+    {
+        return this.depth == 0 ?
+                null :
+                this.keys[this.depth - 1];
+    }
+
+    /**
+     * Get the key of a step.
+     * @param step the step, from {@code 0} at the top
+     * @return the key, or {@code null} for an array position
+     */
+    public String key(int step)
+    {
+        if (step < 0 || step >= this.depth)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        return this.keys[step];
+    }
+
+    /**
+     * Remove the last step.
+     */
+    void pop()
+    {
+        this.keys[--this.depth] = null;
+    }
+
+    /**
+     * Get the array position of the last step.
+     * @return the position, or {@code -1} at the root or for a key
+     */
+    public int position()
+    {
+        return this.depth == 0 ?
+                -1 :
+                this.position(this.depth - 1);
+    }
+
+    /**
+     * Get the array position of a step.
+     * @param step the step, from {@code 0} at the top
+     * @return the position, or {@code -1} for a key
+     */
+    public int position(int step)
+    {
+        return this.key(step) == null ?
+                this.positions[step] :
+                -1;
+    }
+
+    /**
+     * Add a step for an array position.
+     * @param position the position in the array
+     */
+    void push(int position)
+    {
+        this.grow();
+        this.keys[this.depth] = null;
+        this.positions[this.depth++] = position;
+    }
+
+    /**
+     * Add a step for a key.
+     * @param key the key in the data set
+     */
+    void push(String key)
+    {
+        this.grow();
+        this.keys[this.depth++] = key;
+    }
+
+    /**
+     * Make room for another step.
+     */
+    private void grow()
+    {
+        if (this.depth == this.keys.length)
+        {
+            this.keys = Arrays.copyOf(this.keys, this.depth << 1);
+            this.positions = Arrays.copyOf(this.positions, this.depth << 1);
+        }
+    }
+
+    /**
+     * Get the path as a compiled {@link DataPath}.
+     * <p>
+     * The path is built straight from the steps, so nothing is parsed and the
+     * shared cache of {@link DataPath#compile(String) compile} is not used.
+     * @return the path
+     * @throws IllegalStateException if the cursor is at the root, or its first
+     *          step is an array position because the walk started from an
+     *          array.
+     */
+    public DataPath toPath()
+    {
+        if (this.depth == 0)
+        {
+            throw new IllegalStateException("The root has no path");
+        }
+        if (this.keys[0] == null)
+        {
+            throw new IllegalStateException(
+                    "A path cannot start with an array position");
+        }
+        int[] steps = new int[this.depth];
+        for (int s = 1; s < this.depth; s++)
+        {
+            if (this.keys[s] == null)
+            {
+                steps[s] = this.positions[s];
+            }
+        }
+        return new DataPath(this.toString(),
+                Arrays.copyOf(this.keys, this.depth), steps);
+    }
+
+    /**
+     * Get the path as a string.
+     * @return the path in the syntax of {@link DataPath}
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder sb = new StringBuilder();
+        for (int s = 0; s < this.depth; s++)
+        {
+            String key = this.keys[s];
+            if (key == null)
+            {
+                sb.append(':').append(this.positions[s]);
+            }
+            else
+            {
+                if (s > 0)
+                {
+                    sb.append('.');
+                }
+                sb.append(key);
+            }
+        }
+        return sb.toString();
+    }
+}
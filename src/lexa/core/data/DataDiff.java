@@ -0,0 +1,404 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * DataDiff.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+/**
+ * Work out the changes between two data sets and apply them to another.
+ * <p>
+ * {@link #diff(DataSet, DataSet) diff} builds a delta that turns one data set
+ * into another.  The delta is itself a {@link DataSet}, so it can be written
+ * with {@link lexa.core.data.io.DataOutput} and applied in another process
+ * with {@link #apply(DataSet, DataSet) apply}.  It is always built with the
+ * {@link ArrayFactory}, whatever the factory of the data sets compared, so
+ * data sets that cannot be changed, such as persistent ones, can be compared
+ * too.  It holds only the sections that have changes:
+ * <ul>
+ * <li>{@code put} - a data set of the items that are new or have a new value;
+ * <li>{@code remove} - an array of the keys that have been removed;
+ * <li>{@code set} - a data set of nested deltas for the data sets that have
+ *          changed;
+ * <li>{@code array} - a data set of edit scripts for the arrays that have
+ *          changed.
+ * </ul>
+ * An edit script is an array of edits applied in order.  Each edit has the
+ * position {@code at} where it applies, and either a nested delta {@code set}
+ * for a data set at that position, or the number of values to {@code remove}
+ * and an array of values to {@code add} in their place.
+ * <p>
+ * A nested data set that is the same object in both is skipped without being
+ * read, and arrays are compared with {@code equals}, which rejects sealed and
+ * persistent values by their cached hash codes.  Unchanged parts of the tree
+ * add nothing to the delta.  Items added by a delta go to the end of the data
+ * set, so the order of the keys may differ from the target.
+ * <p>
+ * {@link #apply(DataSet, DataSet) apply} changes its target in place, so it
+ * rejects a target that cannot be changed.  {@link #patch(DataSet, DataSet)
+ * patch} works with any source, returning a new version of a data set that
+ * cannot be changed.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public final class DataDiff
+{
+    /** the section for new and changed values */
+    static final String PUT = "put";
+    /** the section for removed keys */
+    static final String REMOVE = "remove";
+    /** the section for nested data sets */
+    static final String SET = "set";
+    /** the section for array edit scripts */
+    static final String ARRAY = "array";
+    /** the position of an array edit */
+    static final String AT = "at";
+    /** the values added by an array edit */
+    static final String ADD = "add";
+
+    private DataDiff()
+    {
+        // only static methods
+    }
+
+    /**
+     * Apply a delta to a data set.
+     * @param target the data set to change, it must match the data set the
+     *          delta was built from.
+     * @param delta a delta built by {@link #diff(DataSet, DataSet) diff}
+     * @return the changed {@code target}
+     * @throws IllegalArgumentException if the delta does not match the target,
+     *          or the target cannot be changed
+     */
+    public static DataSet apply(DataSet target, DataSet delta)
+    {
+        try
+        {
+            return DataDiff.change(target, delta);
+        }
+        catch (UnsupportedOperationException ex)
+        {
+            throw new IllegalArgumentException(
+                    "The delta cannot be applied to a data set that cannot be changed, use patch",
+                    ex);
+        }
+    }
+
+    /**
+     * Change a data set in place to apply a delta.
+     * @param target the data set to change
+     * @param delta the delta to apply
+     * @return the changed {@code target}
+     */
+    private static DataSet change(DataSet target, DataSet delta)
+    {
+        DataArray removed = delta.getArray(DataDiff.REMOVE);
+        if (removed != null)
+        {
+            for (DataValue key : removed)
+            {
+                target.remove(key.getString());
+            }
+        }
+        DataSet put = delta.getDataSet(DataDiff.PUT);
+        if (put != null)
+        {
+            for (DataItem item : put)
+            {
+                target.put(item);
+            }
+        }
+        DataSet sets = delta.getDataSet(DataDiff.SET);
+        if (sets != null)
+        {
+            for (DataItem item : sets)
+            {
+                DataSet child = target.getDataSet(item.getKey());
+                if (child == null)
+                {
+                    throw new IllegalArgumentException(
+                            "The delta needs a data set for " + item.getKey());
+                }
+                DataDiff.change(child, item.getDataSet());
+            }
+        }
+        DataSet arrays = delta.getDataSet(DataDiff.ARRAY);
+        if (arrays != null)
+        {
+            for (DataItem item : arrays)
+            {
+                DataArray array = target.getArray(item.getKey());
+                if (array == null)
+                {
+                    throw new IllegalArgumentException(
+                            "The delta needs an array for " + item.getKey());
+                }
+                DataDiff.change(array, item.getArray());
+            }
+        }
+        return target;
+    }
+
+    /**
+     * Apply an edit script to an array.
+     * @param target the array to change
+     * @param script the edits for the array
+     */
+    private static void change(DataArray target, DataArray script)
+    {
+        for (DataValue value : script)
+        {
+            DataSet edit = value.getDataSet();
+            int at = edit.getInt(DataDiff.AT, 0);
+            DataSet nested = edit.getDataSet(DataDiff.SET);
+            if (nested != null)
+            {
+                DataSet child = target.get(at).getDataSet();
+                if (child == null)
+                {
+                    throw new IllegalArgumentException(
+                            "The delta needs a data set at " + at);
+                }
+                DataDiff.change(child, nested);
+                continue;
+            }
+            int remove = edit.getInt(DataDiff.REMOVE, 0);
+            for (int r = 0; r < remove; r++)
+            {
+                target.remove(at);
+            }
+            DataArray add = edit.getArray(DataDiff.ADD);
+            if (add != null)
+            {
+                for (int a = 0; a < add.size(); a++)
+                {
+                    target.add(at + a, add.get(a));
+                }
+            }
+        }
+    }
+
+    /**
+     * Build the delta that turns one data set into another.
+     * @param from the data set to start from
+     * @param to the data set to end with
+     * @return the delta, which is empty if the data sets are the same.
+     */
+    public static DataSet diff(DataSet from, DataSet to)
+    {
+        DataFactory factory = ArrayFactory.factory;
+        DataSet delta = factory.getDataSet();
+        if (from == to)
+        {
+            return delta;
+        }
+        DataSet put = null;
+        DataSet sets = null;
+        DataSet arrays = null;
+        int added = 0;
+        for (DataItem item : to)
+        {
+            String key = item.getKey();
+            DataValue next = item.getValue();
+            DataValue previous = from.getValue(key);
+            if (previous == null)
+            {
+                put = DataDiff.section(put, factory).put(key, next);
+                added++;
+                continue;
+            }
+            DataType type = next.getType();
+            if (!type.equals(previous.getType()))
+            {
+                put = DataDiff.section(put, factory).put(key, next);
+            }
+            else if (type.equals(DataType.DATA_SET))
+            {
+                DataSet nested = DataDiff.diff(previous.getDataSet(), next.getDataSet());
+                if (!nested.isEmpty())
+                {
+                    sets = DataDiff.section(sets, factory).put(key, nested);
+                }
+            }
+            else if (type.equals(DataType.ARRAY))
+            {
+                DataArray script = DataDiff.diff(
+                        previous.getArray(), next.getArray(), factory);
+                if (script.size() > 0)
+                {
+                    arrays = DataDiff.section(arrays, factory).put(key, script);
+                }
+            }
+            else if (!previous.equals(next))
+            {
+                put = DataDiff.section(put, factory).put(key, next);
+            }
+        }
+        DataArray removed = null;
+        // only look for removed keys if some are missing
+        if (from.size() + added > to.size())
+        {
+            for (DataItem item : from)
+            {
+                if (!to.contains(item.getKey()))
+                {
+                    if (removed == null)
+                    {
+                        removed = factory.getDataArray();
+                    }
+                    removed.add(item.getKey());
+                }
+            }
+        }
+        if (put != null)
+        {
+            delta.put(DataDiff.PUT, put);
+        }
+        if (removed != null)
+        {
+            delta.put(DataDiff.REMOVE, removed);
+        }
+        if (sets != null)
+        {
+            delta.put(DataDiff.SET, sets);
+        }
+        if (arrays != null)
+        {
+            delta.put(DataDiff.ARRAY, arrays);
+        }
+        return delta;
+    }
+
+    /**
+     * Build the edit script that turns one array into another.
+     * <p>
+     * The values that are the same at the start and end are skipped.  If
+     * what is left is the same length in both, each changed position gets
+     * its own edit, otherwise one edit replaces the whole range.
+     * @param from the array to start from
+     * @param to the array to end with
+     * @param factory the factory for the script
+     * @return the edits, which is empty if the arrays are the same.
+     */
+    private static DataArray diff(DataArray from, DataArray to, DataFactory factory)
+    {
+        DataArray script = factory.getDataArray();
+        if (from == to)
+        {
+            return script;
+        }
+        int start = 0;
+        int fromEnd = from.size();
+        int toEnd = to.size();
+        while (start < fromEnd && start < toEnd &&
+                from.get(start).equals(to.get(start)))
+        {
+            start++;
+        }
+        while (fromEnd > start && toEnd > start &&
+                from.get(fromEnd - 1).equals(to.get(toEnd - 1)))
+        {
+            fromEnd--;
+            toEnd--;
+        }
+        if (fromEnd - start == toEnd - start)
+        {
+            for (int at = start; at < toEnd; at++)
+            {
+                DataValue previous = from.get(at);
+                DataValue next = to.get(at);
+                if (previous.equals(next))
+                {
+                    continue;
+                }
+                if (previous.getType().equals(DataType.DATA_SET) &&
+                        next.getType().equals(DataType.DATA_SET))
+                {
+                    script.add(factory.getDataSet()
+                            .put(DataDiff.AT, at)
+                            .put(DataDiff.SET,
+                                    DataDiff.diff(previous.getDataSet(), next.getDataSet())));
+                }
+                else
+                {
+                    script.add(DataDiff.edit(at, 1,
+                            factory.getDataArray().add(next), factory));
+                }
+            }
+        }
+        else
+        {
+            DataArray add = factory.getDataArray();
+            for (int at = start; at < toEnd; at++)
+            {
+                add.add(to.get(at));
+            }
+            script.add(DataDiff.edit(start, fromEnd - start, add, factory));
+        }
+        return script;
+    }
+
+    /**
+     * Build an edit that replaces a range of an array.
+     * @param at the start of the range
+     * @param remove the number of values to remove
+     * @param add the values to add in their place
+     * @param factory the factory for the edit
+     * @return the edit
+     */
+    private static DataSet edit(int at, int remove, DataArray add, DataFactory factory)
+    {
+        DataSet edit = factory.getDataSet().put(DataDiff.AT, at);
+        if (remove > 0)
+        {
+            edit.put(DataDiff.REMOVE, remove);
+        }
+        if (add.size() > 0)
+        {
+            edit.put(DataDiff.ADD, add);
+        }
+        return edit;
+    }
+
+    /**
+     * Apply a delta to a copy of a data set.
+     * <p>
+     * If the factory of the source shares it rather than copying it, as it
+     * does for a persistent data set, the delta is applied to a copy that can
+     * be changed and the factory builds a new version from that.
+     * @param source the data set to copy, it is not changed
+     * @param delta a delta built by {@link #diff(DataSet, DataSet) diff}
+     * @return a changed copy of {@code source}
+     * @throws IllegalArgumentException if the delta does not match the source
+     */
+    public static DataSet patch(DataSet source, DataSet delta)
+    {
+        DataFactory factory = source.factory();
+        DataSet copy = factory.clone(source);
+        if (copy == source)
+        {
+            return factory.clone(
+                    DataDiff.change(ArrayFactory.factory.clone(source), delta));
+        }
+        return DataDiff.change(copy, delta);
+    }
+
+    /**
+     * Get a section of a delta, creating it if needed.
+     * @param section the section, or {@code null} if it is not created
+     * @param factory the factory for the delta
+     * @return the section
+     */
+    private static DataSet section(DataSet section, DataFactory factory)
+    {
+        return section == null ?
+                factory.getDataSet() :
+                section;
+    }
+}
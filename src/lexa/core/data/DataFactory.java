@@ -50,6 +50,38 @@ public interface DataFactory
      */
     DataSet clone(DataSet data);
 
+    /**
+     * Clone a {@link DataArray} only as it is used.
+     * <p>
+     * The clone shares the source until it is changed, and then copies only
+     * the level that is changed.  Only an array that cannot change is shared,
+     * any other is cloned in full, as is every array for a factory whose
+     * arrays must all be of its own type.
+     *
+     * @param array
+     *          the {@link DataArray} to be cloned.
+     * @return  a {@link DataArray} with the same content, that does not
+     *          change the source when it is changed.
+     * @see LazyDataArray
+     */
+    DataArray lazyClone(DataArray array);
+
+    /**
+     * Clone a {@link DataSet} only as it is used.
+     * <p>
+     * The clone shares the source until it is changed, and then copies only
+     * the level that is changed.  Only a data set that cannot change is
+     * shared, any other is cloned in full, as is every data set for a factory
+     * whose data sets must all be of its own type.
+     *
+     * @param data
+     *          the {@link DataSet} to be cloned.
+     * @return  a {@link DataSet} with the same content, that does not change
+     *          the source when it is changed.
+     * @see LazyDataSet
+     */
+    DataSet lazyClone(DataSet data);
+
     /**
      * Clone a {@link DataItem}.
      * Create a clone of the provided {@link DataItem} that is consistent with
@@ -165,6 +197,20 @@ public interface DataFactory
      */
     DataItem getDataItem(String key, Object value);
 
+    /**
+     * Create a new {@link DataItem} for an existing value.
+     * <p>
+     * The value is kept as it is if it is already of the type supported by
+     * this {@link DataFactory}, so a primitive value is not boxed.
+     * @param key
+     *          the key for the item
+     * @param value
+     *          the value for the item
+     * @return  a {@link DataItem} of the type supported by this
+     *          {@link DataFactory} with the {@code key} and {@code value}
+     */
+    DataItem getDataItem(String key, DataValue value);
+
     /**
      * Create a new {@link DataSet}
      * @return  an empty {@link DataSet} of the type supported by this
@@ -172,6 +218,18 @@ public interface DataFactory
      */
     DataSet getDataSet();
 
+    /**
+     * Create a new {@link DataSet} with room for a number of items.
+     * <p>
+     * A data set that is filled with a known number of items can be made
+     * large enough up front, so it does not grow as the items are added.
+     * @param capacity
+     *          the number of items expected
+     * @return  an empty {@link DataSet} of the type supported by this
+     *          {@link DataFactory}.
+     */
+    DataSet getDataSet(int capacity);
+
     /**
      * Create a new {@link DataValue}
      * @param object
@@ -180,4 +238,40 @@ public interface DataFactory
      *          {@link DataFactory} with the {@code object}
      */
     DataValue getDataValue(Object object);
+
+    /**
+     * Create a new {@link DataValue} for a {@code boolean}
+     * @param value
+     *          the value
+     * @return  a {@link DataValue} supported by this {@link DataFactory}
+     *          holding the {@code value}
+     */
+    DataValue getDataValue(boolean value);
+
+    /**
+     * Create a new {@link DataValue} for a {@code double}
+     * @param value
+     *          the value
+     * @return  a {@link DataValue} supported by this {@link DataFactory}
+     *          holding the {@code value}
+     */
+    DataValue getDataValue(double value);
+
+    /**
+     * Create a new {@link DataValue} for an {@code int}
+     * @param value
+     *          the value
+     * @return  a {@link DataValue} supported by this {@link DataFactory}
+     *          holding the {@code value}
+     */
+    DataValue getDataValue(int value);
+
+    /**
+     * Create a new {@link DataValue} for a {@code long}
+     * @param value
+     *          the value
+     * @return  a {@link DataValue} supported by this {@link DataFactory}
+     *          holding the {@code value}
+     */
+    DataValue getDataValue(long value);
 }
@@ -0,0 +1,58 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * DataHash.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+/**
+ * Hash functions shared by the data sets and arrays.
+ * <p>
+ * A data set's hash code is the sum of a hash for each item, so it does not
+ * depend on the order of the items, and an array's is built up in order.
+ * Each part is mixed before it is combined so that similar keys and small
+ * numbers do not produce similar hash codes.
+ *
+ * @author william
+ * @since 2026-10
+ */
+final class DataHash
+{
+    private DataHash()
+    {
+        // only static methods
+    }
+
+    /**
+     * Get the hash for an item in a data set.
+     * @param key the key for the item
+     * @param value the value of the item
+     * @return the mixed hash of the key and value
+     */
+    static int item(String key, DataValue value)
+    {
+        return DataHash.mix(31 * key.hashCode() +
+                (value == null ? 0 : value.hashCode()));
+    }
+
+    /**
+     * Spread the bits of a hash code.
+     * <p>This is the finalising step of MurmurHash3.
+     * @param hash the hash code to mix
+     * @return the mixed hash code
+     */
+    static int mix(int hash)
+    {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+}
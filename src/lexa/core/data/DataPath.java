@@ -0,0 +1,259 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * DataPath.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A compiled path to a value in a hierarchy of data sets and arrays.
+ * <p>
+ * The syntax is the same as {@link DataSet#item(String)}; a {@code .} moves
+ * into a child data set and {@code :n} gets the n<sup>th</sup> value from an
+ * array, so {@code "a.b:3:1.c"} is the item {@code c} in the data set at
+ * position 1 of the array at position 3 of the array {@code b} in the data set
+ * {@code a}.
+ * <p>
+ * The path is parsed once into a list of keys and positions, so evaluating it
+ * against a data set does no parsing and creates no objects.  Paths are
+ * immutable and can be shared between threads.
+ * <p>
+ * {@link #compile(String) compile} keeps the paths it compiles in a shared
+ * cache made of two segments of up to {@value #CACHE_SIZE} paths each.  New
+ * paths go into the current segment; when it is full it becomes the old
+ * segment, the previous old segment is dropped, and a new current segment is
+ * started.  A path found in the old segment is moved back into the current
+ * one, so paths in regular use stay cached while paths used once are evicted
+ * within two segments.  {@link #parse(String) parse} compiles a path without
+ * caching it, for paths that are not expected to be used again.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public final class DataPath
+{
+    /** the most paths held in each segment of the cache */
+    static final int CACHE_SIZE = 4096;
+    /** the segment of the cache that new paths are added to */
+    private static volatile ConcurrentHashMap<String, DataPath> cache =
+            new ConcurrentHashMap<>();
+    /** the segment of the cache that was last filled */
+    private static volatile ConcurrentHashMap<String, DataPath> old =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Get the compiled form of a path, using the shared cache.
+     * @param path the path to compile
+     * @return the compiled path
+     * @throws NumberFormatException if an array position is not a number
+     */
+    public static DataPath compile(String path)
+    {
+        ConcurrentHashMap<String, DataPath> current = DataPath.cache;
+        DataPath compiled = current.get(path);
+        if (compiled != null)
+        {
+            return compiled;
+        }
+        compiled = DataPath.old.get(path);
+        if (compiled == null)
+        {
+            compiled = new DataPath(path);
+        }
+        if (current.size() >= DataPath.CACHE_SIZE)
+        {
+            current = DataPath.rotate(current);
+        }
+        DataPath cached = current.putIfAbsent(path, compiled);
+        return cached != null ?
+                cached :
+                compiled;
+    }
+
+    /**
+     * Get the compiled form of a path without caching it.
+     * @param path the path to compile
+     * @return the compiled path
+     * @throws NumberFormatException if an array position is not a number
+     */
+    public static DataPath parse(String path)
+    {
+        return new DataPath(path);
+    }
+
+    /**
+     * Start a new current segment of the cache, if no other thread has.
+     * @param full the current segment that was found to be full
+     * @return the current segment
+     */
+    private static synchronized ConcurrentHashMap<String, DataPath> rotate(
+            ConcurrentHashMap<String, DataPath> full)
+    {
+        if (DataPath.cache == full)
+        {
+            DataPath.old = full;
+            DataPath.cache = new ConcurrentHashMap<>();
+        }
+        return DataPath.cache;
+    }
+
+    /** the path as it was written */
+    private final String path;
+    /** the key for each step, {@code null} for an array position */
+    private final String[] keys;
+    /** the array position for each step that has no key */
+    private final int[] positions;
+
+    /**
+     * Create a path from its steps.
+     * @param path the path as it is written
+     * @param keys the key for each step, {@code null} for an array position;
+     *          the first step must have a key
+     * @param positions the array position for each step that has no key
+     */
+    DataPath(String path, String[] keys, int[] positions)
+    {
+        this.path = path;
+        this.keys = keys;
+        this.positions = positions;
+    }
+
+    /**
+     * Parse a path.
+     * @param path the path to parse
+     */
+    private DataPath(String path)
+    {
+        this.path = path;
+        List<String> stepKeys = new ArrayList<>();
+        List<Integer> stepPositions = new ArrayList<>();
+        int start = 0;
+        while (true)
+        {
+            int dot = path.indexOf('.', start);
+            String step = (dot < 0) ?
+                    path.substring(start) :
+                    path.substring(start, dot);
+            String[] parts = step.split(":", -1);
+            stepKeys.add(SymbolTable.key(parts[0]));
+            stepPositions.add(0);
+            for (int p = 1; p < parts.length; p++)
+            {
+                stepKeys.add(null);
+                stepPositions.add(Integer.parseInt(parts[p]));
+            }
+            if (dot < 0)
+            {
+                break;
+            }
+            start = dot + 1;
+        }
+        this.keys = stepKeys.toArray(new String[stepKeys.size()]);
+        this.positions = new int[stepPositions.size()];
+        for (int s = 0; s < this.positions.length; s++)
+        {
+            this.positions[s] = stepPositions.get(s);
+        }
+    }
+
+    /**
+     * Get the value the path points to.
+     * @param data the data set to start from
+     * @return the value, or {@code null} if any step of the path is missing
+     *          or of the wrong type.
+     */
+    public DataValue evaluate(DataSet data)
+    {
+        DataValue value = data.getValue(this.keys[0]);
+        for (int s = 1;
+                s < this.keys.length && value != null;
+                s++)
+        {
+            String key = this.keys[s];
+            if (key != null)
+            {
+                if (!value.getType().equals(DataType.DATA_SET))
+                {
+                    return null;
+                }
+                value = value.getDataSet().getValue(key);
+            }
+            else
+            {
+                if (!value.getType().equals(DataType.ARRAY))
+                {
+                    return null;
+                }
+                DataArray array = value.getArray();
+                int position = this.positions[s];
+                if (position < 0 || position >= array.size())
+                {
+                    return null;
+                }
+                value = array.get(position);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Get the number of steps in the path.
+     * @return the number of keys and positions
+     */
+    int steps()
+    {
+        return this.keys.length;
+    }
+
+    /**
+     * Get the key for a step.
+     * @param step the step
+     * @return the key, or {@code null} if the step is an array position
+     */
+    String key(int step)
+    {
+        return this.keys[step];
+    }
+
+    /**
+     * Get the array position for a step.
+     * @param step the step, which must not have a key
+     * @return the position in the array
+     */
+    int position(int step)
+    {
+        return this.positions[step];
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        return (obj instanceof DataPath) &&
+                this.path.equals(((DataPath)obj).path);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return this.path.hashCode();
+    }
+
+    /**
+     * Get the path as it was written.
+     * @return the path
+     */
+    @Override
+    public String toString()
+    {
+        return this.path;
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * DataProjection.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+import java.util.Arrays;
+
+/**
+ * Extract a set of values from a data set in a single pass.
+ * <p>
+ * The paths use the same syntax as {@link DataSet#item(String)}.  They are
+ * merged into a tree of their common steps, so getting {@code "a.b.c"} and
+ * {@code "a.b.d"} looks up {@code a} and {@code b} only once.  Each step is
+ * visited once however many paths share it.
+ * <p>
+ * The values can be got as an array in the order the paths were given, or as
+ * a {@link ShapeDataSet} keyed by the path.  Every data set built by the same
+ * projection has the same keys in the same order, so they all share a single
+ * {@link Shape}.
+ * <p>A projection is immutable and can be shared between threads.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public final class DataProjection
+{
+    /** the paths in the order they were given */
+    private final DataPath[] paths;
+    /** the root of the tree of steps, it has no step of its own */
+    private final Node root;
+
+    /**
+     * Create a projection for a list of paths.
+     * @param paths the paths to extract
+     * @throws NumberFormatException if an array position is not a number
+     */
+    public DataProjection(String ... paths)
+    {
+        this(DataProjection.compile(paths));
+    }
+
+    /**
+     * Create a projection for a list of compiled paths.
+     * @param paths the paths to extract
+     */
+    public DataProjection(DataPath ... paths)
+    {
+        this.paths = paths.clone();
+        this.root = new Node(null, 0);
+        for (int p = 0; p < this.paths.length; p++)
+        {
+            DataPath path = this.paths[p];
+            Node node = this.root;
+            for (int s = 0; s < path.steps(); s++)
+            {
+                node = node.child(path.key(s), path.position(s));
+            }
+            node.addOutput(p);
+        }
+    }
+
+    private static DataPath[] compile(String[] paths)
+    {
+        DataPath[] compiled = new DataPath[paths.length];
+        for (int p = 0; p < paths.length; p++)
+        {
+            compiled[p] = DataPath.compile(paths[p]);
+        }
+        return compiled;
+    }
+
+    /**
+     * Get a path of the projection.
+     * @param index the position of the path
+     * @return the path
+     */
+    public DataPath path(int index)
+    {
+        return this.paths[index];
+    }
+
+    /**
+     * Get the number of paths in the projection.
+     * @return the number of paths
+     */
+    public int size()
+    {
+        return this.paths.length;
+    }
+
+    /**
+     * Get the values for each path.
+     * @param data the data set to extract from
+     * @return the value for each path, in the order the paths were given,
+     *          with {@code null} for any path that does not exist.
+     */
+    public DataValue[] values(DataSet data)
+    {
+        return this.values(data, new DataValue[this.paths.length]);
+    }
+
+    /**
+     * Get the values for each path into an existing array.
+     * <p>This allows one array to be reused for many data sets.
+     * @param data the data set to extract from
+     * @param values the array to fill, it must have room for every path
+     * @return the {@code values} array with the value for each path, in the
+     *          order the paths were given, with {@code null} for any path
+     *          that does not exist.
+     */
+    public DataValue[] values(DataSet data, DataValue[] values)
+    {
+        if (values.length < this.paths.length)
+        {
+            throw new IllegalArgumentException("Array too small for the projection");
+        }
+        Arrays.fill(values, 0, this.paths.length, null);
+        for (Node child : this.root.children)
+        {
+            DataValue value = data.getValue(child.key);
+            if (value != null)
+            {
+                child.resolve(value, values);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Get the values for each path as a data set.
+     * <p>
+     * The data set has an item for each path, in the order the paths were
+     * given, keyed by the path as it was written.  A path that does not exist
+     * has a {@code null} value.
+     * @param data the data set to extract from
+     * @return a new data set with the value for each path
+     */
+    public ShapeDataSet dataSet(DataSet data)
+    {
+        DataValue[] values = this.values(data);
+        ShapeDataSet projected = new ShapeDataSet();
+        for (int p = 0; p < this.paths.length; p++)
+        {
+            projected.put(this.paths[p].toString(), values[p]);
+        }
+        return projected;
+    }
+
+    /**
+     * A step in the tree of paths.
+     */
+    private static final class Node
+    {
+        /** no children or outputs */
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final int[] NO_OUTPUTS = new int[0];
+
+        /** the key for the step, {@code null} for an array position */
+        private final String key;
+        /** the array position for the step */
+        private final int position;
+        /** the steps that follow this one */
+        private Node[] children;
+        /** the paths that end at this step */
+        private int[] outputs;
+
+        private Node(String key, int position)
+        {
+            this.key = key;
+            this.position = position;
+            this.children = Node.NO_CHILDREN;
+            this.outputs = Node.NO_OUTPUTS;
+        }
+
+        /**
+         * Get the child for a step, adding it if it is new.
+         */
+        private Node child(String key, int position)
+        {
+            for (Node child : this.children)
+            {
+                if (key == null ?
+                        child.key == null && child.position == position :
+                        key.equals(child.key))
+                {
+                    return child;
+                }
+            }
+            Node child = new Node(key, position);
+            this.children = Arrays.copyOf(this.children, this.children.length + 1);
+            this.children[this.children.length - 1] = child;
+            return child;
+        }
+
+        private void addOutput(int output)
+        {
+            this.outputs = Arrays.copyOf(this.outputs, this.outputs.length + 1);
+            this.outputs[this.outputs.length - 1] = output;
+        }
+
+        /**
+         * Record the value for this step and resolve the steps that follow.
+         * @param value the value at this step
+         * @param values the values for each path
+         */
+        private void resolve(DataValue value, DataValue[] values)
+        {
+            for (int output : this.outputs)
+            {
+                values[output] = value;
+            }
+            if (this.children.length == 0)
+            {
+                return;
+            }
+            DataType type = value.getType();
+            // each child needs the data set or array once, not once per child
+            DataSet data = type.equals(DataType.DATA_SET) ?
+                    value.getDataSet() :
+                    null;
+            DataArray array = type.equals(DataType.ARRAY) ?
+                    value.getArray() :
+                    null;
+            for (Node child : this.children)
+            {
+                DataValue next = null;
+                if (child.key != null)
+                {
+                    if (data != null)
+                    {
+                        next = data.getValue(child.key);
+                    }
+                }
+                else if (array != null &&
+                        child.position >= 0 &&
+                        child.position < array.size())
+                {
+                    next = array.get(child.position);
+                }
+                if (next != null)
+                {
+                    child.resolve(next, values);
+                }
+            }
+        }
+    }
+}
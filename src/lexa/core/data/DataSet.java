@@ -12,6 +12,7 @@ package lexa.core.data;
 
 import java.io.PrintStream;
 import java.util.Date;
+import java.util.stream.Stream;
 
 /**
  *
@@ -65,6 +66,15 @@ public interface DataSet
 	 */
 	public Boolean getBoolean(String key);
 
+	/**
+	 * Get a {@code boolean} from the list for the supplied key without boxing.
+	 * @param key The key for the {@link DataItem}.
+	 * @param defaultValue The value to return if the item is missing or
+	 * is not a boolean.
+	 * @return The item's value, or {@code defaultValue}.
+	 */
+	public boolean getBoolean(String key, boolean defaultValue);
+
 	/**
 	 * Get a {@link DataSet} from the list for the supplied key.
 	 * @param key The key for the {@link DataItem}.
@@ -91,6 +101,24 @@ public interface DataSet
 	 */
 	public Double getDouble(String key);
 
+	/**
+	 * Get a {@code double} from the list for the supplied key without boxing.
+	 * @param key The key for the {@link DataItem}.
+	 * @param defaultValue The value to return if the item is missing or
+	 * is not a double.
+	 * @return The item's value, or {@code defaultValue}.
+	 */
+	public double getDouble(String key, double defaultValue);
+
+	/**
+	 * Get an {@code int} from the list for the supplied key without boxing.
+	 * @param key The key for the {@link DataItem}.
+	 * @param defaultValue The value to return if the item is missing or
+	 * is not an integer.
+	 * @return The item's value, or {@code defaultValue}.
+	 */
+	public int getInt(String key, int defaultValue);
+
 	/**
 	 * Get an {@link Integer} from the list for the supplied key.
 	 * @param key The key for the {@link DataItem}.
@@ -107,6 +135,15 @@ public interface DataSet
 	 */
 	public Long getLong(String key);
 
+	/**
+	 * Get a {@code long} from the list for the supplied key without boxing.
+	 * @param key The key for the {@link DataItem}.
+	 * @param defaultValue The value to return if the item is missing or
+	 * is not a long.
+	 * @return The item's value, or {@code defaultValue}.
+	 */
+	public long getLong(String key, long defaultValue);
+
 	/**
 	 * Get a {@link String} from the list for the supplied key.
 	 * @param key The key for the {@link DataItem}.
@@ -161,6 +198,59 @@ public interface DataSet
 	 */
 	public DataValue item(String key);
 
+	/**
+	 * Get a {@link DataValue} from anywhere in the hierarchical list using a
+	 * compiled path.
+	 * @param path The compiled path to the value.
+	 * @return The {@link DataValue} if it exists, otherwise {@code null}.
+	 * @see #item(String)
+	 */
+	public DataValue item(DataPath path);
+
+	/**
+	 * Get a {@code boolean} from anywhere in the hierarchical list.
+	 * @param path The compiled path to the value.
+	 * @param defaultValue The value to return if the value is missing or
+	 * is not a boolean.
+	 * @return The value, or {@code defaultValue}.
+	 */
+	public boolean getBoolean(DataPath path, boolean defaultValue);
+
+	/**
+	 * Get a {@code double} from anywhere in the hierarchical list.
+	 * @param path The compiled path to the value.
+	 * @param defaultValue The value to return if the value is missing or
+	 * is not a double.
+	 * @return The value, or {@code defaultValue}.
+	 */
+	public double getDouble(DataPath path, double defaultValue);
+
+	/**
+	 * Get an {@code int} from anywhere in the hierarchical list.
+	 * @param path The compiled path to the value.
+	 * @param defaultValue The value to return if the value is missing or
+	 * is not an integer.
+	 * @return The value, or {@code defaultValue}.
+	 */
+	public int getInt(DataPath path, int defaultValue);
+
+	/**
+	 * Get a {@code long} from anywhere in the hierarchical list.
+	 * @param path The compiled path to the value.
+	 * @param defaultValue The value to return if the value is missing or
+	 * is not a long.
+	 * @return The value, or {@code defaultValue}.
+	 */
+	public long getLong(DataPath path, long defaultValue);
+
+	/**
+	 * Get a {@link String} from anywhere in the hierarchical list.
+	 * @param path The compiled path to the value.
+	 * @return If the value exists and is a {@link String} then the
+	 * value, otherwise {@code null}.
+	 */
+	public String getString(DataPath path);
+
     /**
 	 * Get the list of keys.
 	 *
@@ -196,6 +286,100 @@ public interface DataSet
 	 */
 	public DataSet put(String key, Object value);
 
+	/**
+	 * Put a {@code boolean} into the {@link DataSet} without boxing it.
+	 * <p>
+	 * The {@code boolean}, {@code double}, {@code int} and {@code long}
+	 * overloads store the value without boxing it.  Before they were added a
+	 * {@code byte}, {@code char}, {@code float} or {@code short} was boxed and
+	 * stored as an object; to keep that each of those types has an overload of
+	 * its own, so none of them is widened to an {@code int} or {@code double}.
+	 *
+	 * @param key The key name for the item
+	 * @param value The value to add.
+	 * @return  the {@link DataSet} the item was added to.
+	 */
+	public DataSet put(String key, boolean value);
+
+	/**
+	 * Put a {@code byte} into the {@link DataSet} as an object.
+	 * <p>
+	 * The value is boxed and put with {@link #put(String, Object)}, so it is
+	 * held as it was before the primitive overloads were added, and not
+	 * widened to an {@code int}.
+	 *
+	 * @param key The key name for the item
+	 * @param value The value to add.
+	 * @return  the {@link DataSet} the item was added to.
+	 */
+	public DataSet put(String key, byte value);
+
+	/**
+	 * Put a {@code char} into the {@link DataSet} as an object.
+	 * <p>
+	 * The value is boxed and put with {@link #put(String, Object)}, so it is
+	 * held as it was before the primitive overloads were added, and not
+	 * widened to an {@code int}.
+	 *
+	 * @param key The key name for the item
+	 * @param value The value to add.
+	 * @return  the {@link DataSet} the item was added to.
+	 */
+	public DataSet put(String key, char value);
+
+	/**
+	 * Put a {@code double} into the {@link DataSet} without boxing it.
+	 *
+	 * @param key The key name for the item
+	 * @param value The value to add.
+	 * @return  the {@link DataSet} the item was added to.
+	 */
+	public DataSet put(String key, double value);
+
+	/**
+	 * Put a {@code float} into the {@link DataSet} as an object.
+	 * <p>
+	 * The value is boxed and put with {@link #put(String, Object)}, so it is
+	 * held as it was before the primitive overloads were added, and not
+	 * widened to an {@code double}.
+	 *
+	 * @param key The key name for the item
+	 * @param value The value to add.
+	 * @return  the {@link DataSet} the item was added to.
+	 */
+	public DataSet put(String key, float value);
+
+	/**
+	 * Put an {@code int} into the {@link DataSet} without boxing it.
+	 *
+	 * @param key The key name for the item
+	 * @param value The value to add.
+	 * @return  the {@link DataSet} the item was added to.
+	 */
+	public DataSet put(String key, int value);
+
+	/**
+	 * Put a {@code long} into the {@link DataSet} without boxing it.
+	 *
+	 * @param key The key name for the item
+	 * @param value The value to add.
+	 * @return  the {@link DataSet} the item was added to.
+	 */
+	public DataSet put(String key, long value);
+
+	/**
+	 * Put a {@code short} into the {@link DataSet} as an object.
+	 * <p>
+	 * The value is boxed and put with {@link #put(String, Object)}, so it is
+	 * held as it was before the primitive overloads were added, and not
+	 * widened to an {@code int}.
+	 *
+	 * @param key The key name for the item
+	 * @param value The value to add.
+	 * @return  the {@link DataSet} the item was added to.
+	 */
+	public DataSet put(String key, short value);
+
 	/**
 	 * Put the contents of another {@link DataSet} into this one.
 	 * <p>
@@ -207,6 +391,25 @@ public interface DataSet
 	 */
 	public DataSet put(DataSet data);
 
+	/**
+	 * Put the contents of another {@link DataSet} into this one, merging any
+	 * items that have a key already in this data set.
+	 * <p>
+	 * The whole of {@code data} is added in one pass, so room for it is made
+	 * once and each key is only looked up once.  Items that are new are added
+	 * in the order they are in {@code data}.  For a key that already exists the
+	 * {@code strategy} decides the value that is kept.
+	 * <p>
+	 * A data set can be merged with itself; every key already exists, so only
+	 * a strategy that changes values in place has any effect, such as
+	 * {@link MergeStrategy#CONCATENATE} doubling each array.
+	 *
+	 * @param data The data to be added.
+	 * @param strategy How to merge an item with a key that already exists.
+	 * @return  the {@link DataSet} the items were added to.
+	 */
+	public DataSet putAll(DataSet data, MergeStrategy strategy);
+
 	/**
 	 * Removes the specified element from this {@link DataSet}.
 	 * <p>
@@ -236,4 +439,18 @@ public interface DataSet
 	 * @return the number of {@link DataItem} objects in the {@link DataSet}
 	 */
 	public int size();
+
+	/**
+	 * Get a sequential {@link Stream} of the items in the data set.
+	 * @return a stream of the items, in order
+	 */
+	public Stream<DataItem> stream();
+
+	/**
+	 * Get a parallel {@link Stream} of the items in the data set.
+	 * <p>The items are split by position so each thread can work on its
+	 * own part of the data set.
+	 * @return a possibly parallel stream of the items, in order
+	 */
+	public Stream<DataItem> parallelStream();
 }
@@ -0,0 +1,1193 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * DataTable.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * A {@link DataArray} of data sets held as columns.
+ * <p>
+ * Every value added to the table must be a {@link DataSet}.  Rather than
+ * holding the data sets, the table keeps a {@link Column} for each key and
+ * stores the value from each row in it.  Integers, longs, doubles, booleans
+ * and dates are held in primitive arrays and strings are held as codes into a
+ * dictionary of the distinct strings in the column.  Any other type, or a
+ * column that holds values of more than one type, keeps a
+ * {@link DataValue} for each row.
+ * <p>
+ * The table is used as any other {@link DataArray}.  {@link #get(int) get}
+ * returns a view of the row that reads from the columns when it is used; the
+ * view is for the row at that position, so adding or removing rows before it
+ * moves it to a different row.  Changes made through a view are written to
+ * the columns.
+ * <p>
+ * Scanning a column is much faster than scanning the rows.  Get the
+ * {@link Column} with {@link #column(String) column} and read each row with
+ * its typed getters, which do not build any objects for primitive and string
+ * columns.
+ * <p>Like the other arrays, the table is not thread safe.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public class DataTable
+        extends BaseDataArray
+{
+    /** the smallest storage allocated for a column */
+    private static final int MIN_CAPACITY = 16;
+
+    /** the columns in the order their keys were first seen */
+    private final List<Column> columns;
+    /** the position of each column */
+    private final KeyIndex index;
+    /** the number of rows */
+    private int rows;
+
+    /**
+     * Create an empty table for the {@link ArrayFactory}.
+     */
+    public DataTable()
+    {
+        this(ArrayFactory.factory);
+    }
+
+    /**
+     * Create an empty table for a factory.
+     * @param factory the factory the values belong to
+     */
+    public DataTable(DataFactory factory)
+    {
+        super(factory);
+        this.columns = new ArrayList<>();
+        this.index = new KeyIndex(0);
+        this.rows = 0;
+    }
+
+    /**
+     * Create a table for a factory holding the rows from an array.
+     * @param factory the factory the values belong to
+     * @param rows the data sets for the rows
+     * @throws IllegalArgumentException if a value in the array is not a
+     *          {@link DataSet}
+     */
+    public DataTable(DataFactory factory, DataArray rows)
+    {
+        this(factory);
+        this.addAll(rows);
+    }
+
+    /**
+     * Add a row to the table at a given position.
+     * <p>
+     * Each item in the data set is stored in the column for its key, a new
+     * column is added for a key the table has not seen before.
+     * @param index the position for the row
+     * @param value the row, it must be a {@link DataSet}
+     * @return this {@link DataArray}
+     * @throws IllegalArgumentException if the value is not a {@link DataSet}
+     */
+    @Override
+    public DataArray add(int index, DataValue value)
+    {
+        if (!value.getType().equals(DataType.DATA_SET))
+        {
+            throw new IllegalArgumentException(
+                    "Only data sets can be added to a DataTable");
+        }
+        if (index < 0 || index > this.rows)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        DataSet data = value.getDataSet();
+        // read the whole row before changing anything, it may be one of ours
+        DataValue[] values = new DataValue[this.columns.size()];
+        int found = 0;
+        for (int c = 0; c < values.length; c++)
+        {
+            values[c] = data.getValue(this.columns.get(c).key);
+            if (values[c] != null)
+            {
+                found++;
+            }
+        }
+        List<DataItem> added = null;
+        if (found < data.size())
+        {
+            added = new ArrayList<>();
+            for (DataItem item : data)
+            {
+                if (this.index.find(item.getKey()) == -1)
+                {
+                    added.add(item);
+                }
+            }
+        }
+        for (int c = 0; c < values.length; c++)
+        {
+            Column column = this.columns.get(c);
+            if (values[c] != null && !column.accepts(values[c]))
+            {
+                column = this.mixed(c);
+            }
+            column.insert(index, values[c]);
+        }
+        this.rows++;
+        if (added != null)
+        {
+            for (DataItem item : added)
+            {
+                this.set(index, item.getKey(), item.getValue());
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Get a column of the table.
+     * <p>
+     * A column that is given a value of a different type is replaced with one
+     * that can hold any type, so the column should be got again after the
+     * table is changed.
+     * @param key the key for the column
+     * @return the column, or {@code null} if no row has the key.
+     */
+    public Column column(String key)
+    {
+        int c = this.index.find(key);
+        return c == -1 ? null : this.columns.get(c);
+    }
+
+    /**
+     * Get the keys of the columns.
+     * @return the keys in the order they were first added
+     */
+    public String[] columns()
+    {
+        String[] keys = new String[this.columns.size()];
+        for (int c = 0; c < keys.length; c++)
+        {
+            keys[c] = this.columns.get(c).key;
+        }
+        return keys;
+    }
+
+    /**
+     * Get the row at a position.
+     * <p>The value holds a view of the row, see {@link #row(int) row}.
+     * @param index position of required row
+     * @return the row corresponding to the position
+     */
+    @Override
+    public DataValue get(int index)
+    {
+        return this.factory().getDataValue(this.row(index));
+    }
+
+    /**
+     * Remove a row from the table.
+     * @param index position of the row to be removed
+     * @return a copy of the row that has been removed
+     */
+    @Override
+    public DataValue remove(int index)
+    {
+        DataSet removed = this.factory().clone(this.row(index));
+        for (Column column : this.columns)
+        {
+            column.remove(index);
+        }
+        this.rows--;
+        return this.factory().getDataValue(removed);
+    }
+
+    /**
+     * Get a view of the row at a position.
+     * <p>
+     * The view holds no values, it reads them from the columns each time it
+     * is used.  Putting or removing an item changes the table.
+     * @param index position of required row
+     * @return a view of the row
+     */
+    public DataSet row(int index)
+    {
+        if (index < 0 || index >= this.rows)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        return new Row(index);
+    }
+
+    @Override
+    public int size()
+    {
+        return this.rows;
+    }
+
+    /**
+     * Replace a column with one that can hold any type.
+     * @param c the position of the column
+     * @return the new column
+     */
+    private Column mixed(int c)
+    {
+        Column typed = this.columns.get(c);
+        Column column = new ValueColumn(typed.key, this.factory(), typed.capacity());
+        for (int row = 0; row < typed.size; row++)
+        {
+            column.insert(row, typed.get(row));
+        }
+        this.columns.set(c, column);
+        return column;
+    }
+
+    /**
+     * Set the value for a key in a row.
+     * @param row the row
+     * @param key the key
+     * @param value the value, or {@code null} to remove it
+     */
+    private void set(int row, String key, DataValue value)
+    {
+        int c = this.index.find(key);
+        Column column;
+        if (c == -1)
+        {
+            if (value == null)
+            {
+                return;
+            }
+            column = Column.create(SymbolTable.key(key), value.getType(),
+                    this.factory(), this.rows);
+            this.index.add(column.key, this.columns.size());
+            this.columns.add(column);
+        }
+        else
+        {
+            column = this.columns.get(c);
+            if (value != null && !column.accepts(value))
+            {
+                column = this.mixed(c);
+            }
+        }
+        column.set(row, value);
+    }
+
+    /**
+     * The values for one key of a {@link DataTable}.
+     * <p>
+     * The typed getters read a row without building a {@link DataValue} when
+     * the column is of that type; they follow the same rules as the getters
+     * on {@link DataValue} and return the default if the row has no value or
+     * a value of another type.
+     */
+    public abstract static class Column
+    {
+        /** the key for the column */
+        private final String key;
+        /** the type of the column, {@code null} if it holds any type */
+        private final DataType type;
+        /** the factory for the values */
+        final DataFactory factory;
+        /** which rows have a value, {@code null} while every row has one */
+        private boolean[] present;
+        /** the number of rows */
+        int size;
+
+        private Column(String key, DataType type, DataFactory factory)
+        {
+            this.key = key;
+            this.type = type;
+            this.factory = factory;
+        }
+
+        /**
+         * Create a column with no values for a number of rows.
+         * @param key the key for the column
+         * @param type the type of the first value
+         * @param factory the factory for the values
+         * @param rows the number of rows already in the table
+         * @return a new column
+         */
+        private static Column create(String key, DataType type,
+                DataFactory factory, int rows)
+        {
+            int capacity = Math.max(DataTable.MIN_CAPACITY, rows);
+            Column column;
+            switch (type)
+            {
+                case BOOLEAN :
+                {
+                    column = new BooleanColumn(key, factory, capacity);
+                    break;
+                }
+                case DATE :
+                {
+                    column = new DateColumn(key, factory, capacity);
+                    break;
+                }
+                case DOUBLE :
+                {
+                    column = new DoubleColumn(key, factory, capacity);
+                    break;
+                }
+                case INTEGER :
+                {
+                    column = new IntColumn(key, factory, capacity);
+                    break;
+                }
+                case LONG :
+                {
+                    column = new LongColumn(key, factory, capacity);
+                    break;
+                }
+                case STRING :
+                {
+                    column = new StringColumn(key, factory, capacity);
+                    break;
+                }
+                default :
+                {
+                    column = new ValueColumn(key, factory, capacity);
+                }
+            }
+            if (rows > 0)
+            {
+                column.present = new boolean[capacity];
+                column.size = rows;
+            }
+            return column;
+        }
+
+        /**
+         * Get the number of rows that have a value.
+         * @return the number of values in the column
+         */
+        public int count()
+        {
+            if (this.present == null)
+            {
+                return this.size;
+            }
+            int count = 0;
+            for (int row = 0; row < this.size; row++)
+            {
+                if (this.present[row])
+                {
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        /**
+         * Get the value in a row.
+         * @param row the row
+         * @return the value, or {@code null} if the row has no value
+         */
+        public DataValue get(int row)
+        {
+            return this.isPresent(row) ?
+                    this.value(row) :
+                    null;
+        }
+
+        /**
+         * Get the value in a row as a {@code boolean}.
+         * @param row the row
+         * @param defaultValue the value to return if there is no boolean
+         * @return the value in the row, or {@code defaultValue}
+         */
+        public boolean getBoolean(int row, boolean defaultValue)
+        {
+            DataValue value = this.get(row);
+            return value == null ? defaultValue : value.getBoolean(defaultValue);
+        }
+
+        /**
+         * Get the value in a row as a {@code double}.
+         * @param row the row
+         * @param defaultValue the value to return if there is no double
+         * @return the value in the row, or {@code defaultValue}
+         */
+        public double getDouble(int row, double defaultValue)
+        {
+            DataValue value = this.get(row);
+            return value == null ? defaultValue : value.getDouble(defaultValue);
+        }
+
+        /**
+         * Get the value in a row as an {@code int}.
+         * @param row the row
+         * @param defaultValue the value to return if there is no integer
+         * @return the value in the row, or {@code defaultValue}
+         */
+        public int getInt(int row, int defaultValue)
+        {
+            DataValue value = this.get(row);
+            return value == null ? defaultValue : value.getInt(defaultValue);
+        }
+
+        /**
+         * Get the value in a row as a {@code long}.
+         * @param row the row
+         * @param defaultValue the value to return if there is no long
+         * @return the value in the row, or {@code defaultValue}
+         */
+        public long getLong(int row, long defaultValue)
+        {
+            DataValue value = this.get(row);
+            return value == null ? defaultValue : value.getLong(defaultValue);
+        }
+
+        /**
+         * Get the value in a row as a string.
+         * @param row the row
+         * @return the value in the row, or {@code null} if there is no string
+         */
+        public String getString(int row)
+        {
+            DataValue value = this.get(row);
+            return value == null ? null : value.getString();
+        }
+
+        /**
+         * Indicates if a row has a value in the column.
+         * @param row the row
+         * @return {@code true} if the row has a value
+         */
+        public boolean isPresent(int row)
+        {
+            if (row < 0 || row >= this.size)
+            {
+                throw new IndexOutOfBoundsException();
+            }
+            return this.present == null || this.present[row];
+        }
+
+        /**
+         * Get the key for the column.
+         * @return the key
+         */
+        public String key()
+        {
+            return this.key;
+        }
+
+        /**
+         * Get the total of the numeric values in the column.
+         * <p>Integers, longs and doubles are added, any other value is ignored.
+         * @return the total
+         */
+        public double sum()
+        {
+            double sum = 0.0;
+            for (int row = 0; row < this.size; row++)
+            {
+                DataValue value = this.get(row);
+                if (value != null)
+                {
+                    switch (value.getType())
+                    {
+                        case DOUBLE :
+                        {
+                            sum += value.getDouble(0.0);
+                            break;
+                        }
+                        case INTEGER :
+                        {
+                            sum += value.getInt(0);
+                            break;
+                        }
+                        case LONG :
+                        {
+                            sum += value.getLong(0L);
+                            break;
+                        }
+                    }
+                }
+            }
+            return sum;
+        }
+
+        /**
+         * Get the type of the values in the column.
+         * @return the type, or {@code null} if the column holds more than
+         *          one type.
+         */
+        public DataType type()
+        {
+            return this.type;
+        }
+
+        /**
+         * Indicates if a value can be stored in the column.
+         * @param value the value
+         * @return {@code true} if the value is of the column's type
+         */
+        boolean accepts(DataValue value)
+        {
+            return value.getType().equals(this.type);
+        }
+
+        /**
+         * Get the number of rows the storage can hold.
+         * @return the capacity of the storage
+         */
+        abstract int capacity();
+
+        /**
+         * Release the value held for a row.
+         * @param row the row
+         */
+        void clear(int row)
+        {
+            // only values held as objects need clearing
+        }
+
+        /**
+         * Insert a row into the column.
+         * @param row the position of the row
+         * @param value the value for the row, or {@code null} for no value
+         */
+        final void insert(int row, DataValue value)
+        {
+            if (this.size == this.capacity())
+            {
+                int capacity = Math.max(DataTable.MIN_CAPACITY,
+                        this.size + (this.size >> 1));
+                this.resize(capacity);
+                if (this.present != null)
+                {
+                    this.present = Arrays.copyOf(this.present, capacity);
+                }
+            }
+            if (row < this.size)
+            {
+                this.move(row, row + 1, this.size - row);
+                if (this.present != null)
+                {
+                    System.arraycopy(this.present, row,
+                            this.present, row + 1, this.size - row);
+                }
+            }
+            this.size++;
+            this.set(row, value);
+        }
+
+        /**
+         * Move the values for a range of rows.
+         * @param from the first row to move
+         * @param to the row to move it to
+         * @param length the number of rows to move
+         */
+        abstract void move(int from, int to, int length);
+
+        /**
+         * Remove a row from the column.
+         * @param row the row
+         */
+        final void remove(int row)
+        {
+            this.move(row + 1, row, this.size - row - 1);
+            if (this.present != null)
+            {
+                System.arraycopy(this.present, row + 1,
+                        this.present, row, this.size - row - 1);
+            }
+            this.size--;
+            this.clear(this.size);
+        }
+
+        /**
+         * Change the capacity of the storage.
+         * @param capacity the new capacity
+         */
+        abstract void resize(int capacity);
+
+        /**
+         * Set the value for a row.
+         * @param row the row
+         * @param value the value, or {@code null} for no value
+         */
+        final void set(int row, DataValue value)
+        {
+            if (value == null)
+            {
+                if (this.present == null)
+                {
+                    this.present = new boolean[this.capacity()];
+                    Arrays.fill(this.present, 0, this.size, true);
+                }
+                this.present[row] = false;
+                this.clear(row);
+                return;
+            }
+            if (this.present != null)
+            {
+                this.present[row] = true;
+            }
+            this.store(row, value);
+        }
+
+        /**
+         * Store a value in a row.
+         * @param row the row
+         * @param value the value, which the column accepts
+         */
+        abstract void store(int row, DataValue value);
+
+        /**
+         * Build the value for a row that has one.
+         * @param row the row
+         * @return the value
+         */
+        abstract DataValue value(int row);
+    }
+
+    /**
+     * A column of booleans.
+     */
+    private static final class BooleanColumn
+            extends Column
+    {
+        private boolean[] values;
+
+        private BooleanColumn(String key, DataFactory factory, int capacity)
+        {
+            super(key, DataType.BOOLEAN, factory);
+            this.values = new boolean[capacity];
+        }
+
+        @Override
+        public boolean getBoolean(int row, boolean defaultValue)
+        {
+            return this.isPresent(row) ? this.values[row] : defaultValue;
+        }
+
+        @Override
+        int capacity()
+        {
+            return this.values.length;
+        }
+
+        @Override
+        void move(int from, int to, int length)
+        {
+            System.arraycopy(this.values, from, this.values, to, length);
+        }
+
+        @Override
+        void resize(int capacity)
+        {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        void store(int row, DataValue value)
+        {
+            this.values[row] = value.getBoolean(false);
+        }
+
+        @Override
+        DataValue value(int row)
+        {
+            return this.factory.getDataValue(this.values[row]);
+        }
+    }
+
+    /**
+     * A column of dates, held as milliseconds.
+     */
+    private static final class DateColumn
+            extends Column
+    {
+        private long[] values;
+
+        private DateColumn(String key, DataFactory factory, int capacity)
+        {
+            super(key, DataType.DATE, factory);
+            this.values = new long[capacity];
+        }
+
+        @Override
+        int capacity()
+        {
+            return this.values.length;
+        }
+
+        @Override
+        void move(int from, int to, int length)
+        {
+            System.arraycopy(this.values, from, this.values, to, length);
+        }
+
+        @Override
+        void resize(int capacity)
+        {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        void store(int row, DataValue value)
+        {
+            this.values[row] = value.getDate().getTime();
+        }
+
+        @Override
+        DataValue value(int row)
+        {
+            return this.factory.getDataValue(new Date(this.values[row]));
+        }
+    }
+
+    /**
+     * A column of doubles.
+     */
+    private static final class DoubleColumn
+            extends Column
+    {
+        private double[] values;
+
+        private DoubleColumn(String key, DataFactory factory, int capacity)
+        {
+            super(key, DataType.DOUBLE, factory);
+            this.values = new double[capacity];
+        }
+
+        @Override
+        public double getDouble(int row, double defaultValue)
+        {
+            return this.isPresent(row) ? this.values[row] : defaultValue;
+        }
+
+        @Override
+        public double sum()
+        {
+            double sum = 0.0;
+            for (int row = 0; row < this.size; row++)
+            {
+                if (this.isPresent(row))
+                {
+                    sum += this.values[row];
+                }
+            }
+            return sum;
+        }
+
+        @Override
+        int capacity()
+        {
+            return this.values.length;
+        }
+
+        @Override
+        void move(int from, int to, int length)
+        {
+            System.arraycopy(this.values, from, this.values, to, length);
+        }
+
+        @Override
+        void resize(int capacity)
+        {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        void store(int row, DataValue value)
+        {
+            this.values[row] = value.getDouble(0.0);
+        }
+
+        @Override
+        DataValue value(int row)
+        {
+            return this.factory.getDataValue(this.values[row]);
+        }
+    }
+
+    /**
+     * A column of integers.
+     */
+    private static final class IntColumn
+            extends Column
+    {
+        private int[] values;
+
+        private IntColumn(String key, DataFactory factory, int capacity)
+        {
+            super(key, DataType.INTEGER, factory);
+            this.values = new int[capacity];
+        }
+
+        @Override
+        public int getInt(int row, int defaultValue)
+        {
+            return this.isPresent(row) ? this.values[row] : defaultValue;
+        }
+
+        @Override
+        public double sum()
+        {
+            long sum = 0L;
+            for (int row = 0; row < this.size; row++)
+            {
+                if (this.isPresent(row))
+                {
+                    sum += this.values[row];
+                }
+            }
+            return sum;
+        }
+
+        @Override
+        int capacity()
+        {
+            return this.values.length;
+        }
+
+        @Override
+        void move(int from, int to, int length)
+        {
+            System.arraycopy(this.values, from, this.values, to, length);
+        }
+
+        @Override
+        void resize(int capacity)
+        {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        void store(int row, DataValue value)
+        {
+            this.values[row] = value.getInt(0);
+        }
+
+        @Override
+        DataValue value(int row)
+        {
+            return this.factory.getDataValue(this.values[row]);
+        }
+    }
+
+    /**
+     * A column of longs.
+     */
+    private static final class LongColumn
+            extends Column
+    {
+        private long[] values;
+
+        private LongColumn(String key, DataFactory factory, int capacity)
+        {
+            super(key, DataType.LONG, factory);
+            this.values = new long[capacity];
+        }
+
+        @Override
+        public long getLong(int row, long defaultValue)
+        {
+            return this.isPresent(row) ? this.values[row] : defaultValue;
+        }
+
+        @Override
+        public double sum()
+        {
+            double sum = 0.0;
+            for (int row = 0; row < this.size; row++)
+            {
+                if (this.isPresent(row))
+                {
+                    sum += this.values[row];
+                }
+            }
+            return sum;
+        }
+
+        @Override
+        int capacity()
+        {
+            return this.values.length;
+        }
+
+        @Override
+        void move(int from, int to, int length)
+        {
+            System.arraycopy(this.values, from, this.values, to, length);
+        }
+
+        @Override
+        void resize(int capacity)
+        {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        void store(int row, DataValue value)
+        {
+            this.values[row] = value.getLong(0L);
+        }
+
+        @Override
+        DataValue value(int row)
+        {
+            return this.factory.getDataValue(this.values[row]);
+        }
+    }
+
+    /**
+     * A column of strings held as codes into a dictionary.
+     */
+    private static final class StringColumn
+            extends Column
+    {
+        /** the code for the string in each row */
+        private int[] codes;
+        /** the distinct strings, in the order they were first stored */
+        private final List<String> strings;
+        /** the code for each distinct string */
+        private final HashMap<String, Integer> dictionary;
+
+        private StringColumn(String key, DataFactory factory, int capacity)
+        {
+            super(key, DataType.STRING, factory);
+            this.codes = new int[capacity];
+            this.strings = new ArrayList<>();
+            this.dictionary = new HashMap<>();
+        }
+
+        @Override
+        public String getString(int row)
+        {
+            return this.isPresent(row) ? this.strings.get(this.codes[row]) : null;
+        }
+
+        @Override
+        int capacity()
+        {
+            return this.codes.length;
+        }
+
+        @Override
+        void move(int from, int to, int length)
+        {
+            System.arraycopy(this.codes, from, this.codes, to, length);
+        }
+
+        @Override
+        void resize(int capacity)
+        {
+            this.codes = Arrays.copyOf(this.codes, capacity);
+        }
+
+        @Override
+        void store(int row, DataValue value)
+        {
+            String string = value.getString();
+            Integer code = this.dictionary.get(string);
+            if (code == null)
+            {
+                code = this.strings.size();
+                this.strings.add(string);
+                this.dictionary.put(string, code);
+            }
+            this.codes[row] = code;
+        }
+
+        @Override
+        DataValue value(int row)
+        {
+            return this.factory.getDataValue(this.strings.get(this.codes[row]));
+        }
+    }
+
+    /**
+     * A column that holds a value for each row, of any type.
+     */
+    private static final class ValueColumn
+            extends Column
+    {
+        private DataValue[] values;
+
+        private ValueColumn(String key, DataFactory factory, int capacity)
+        {
+            super(key, null, factory);
+            this.values = new DataValue[capacity];
+        }
+
+        @Override
+        boolean accepts(DataValue value)
+        {
+            return true;
+        }
+
+        @Override
+        int capacity()
+        {
+            return this.values.length;
+        }
+
+        @Override
+        void clear(int row)
+        {
+            this.values[row] = null;
+        }
+
+        @Override
+        void move(int from, int to, int length)
+        {
+            System.arraycopy(this.values, from, this.values, to, length);
+        }
+
+        @Override
+        void resize(int capacity)
+        {
+            this.values = Arrays.copyOf(this.values, capacity);
+        }
+
+        @Override
+        void store(int row, DataValue value)
+        {
+            this.values[row] = this.factory.convert(value);
+        }
+
+        @Override
+        DataValue value(int row)
+        {
+            return this.values[row];
+        }
+    }
+
+    /**
+     * A view of one row of the table.
+     */
+    private final class Row
+            extends BaseDataSet
+    {
+        /** the position of the row */
+        private final int row;
+
+        private Row(int row)
+        {
+            super(DataTable.this.factory());
+            this.row = row;
+        }
+
+        @Override
+        public boolean contains(String key)
+        {
+            return (this.getValue(key) != null);
+        }
+
+        @Override
+        public DataItem get(String key)
+        {
+            DataValue value = this.getValue(key);
+            return value == null ?
+                    null :
+                    this.factory().getDataItem(key, value);
+        }
+
+        @Override
+        public DataItem get(int index)
+        {
+            int found = -1;
+            for (Column column : DataTable.this.columns)
+            {
+                if (column.isPresent(this.row) && ++found == index)
+                {
+                    return this.factory().getDataItem(column.key, column.value(this.row));
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public DataValue getValue(String key)
+        {
+            Column column = DataTable.this.column(key);
+            return column == null ?
+                    null :
+                    column.get(this.row);
+        }
+
+        @Override
+        public boolean isEmpty()
+        {
+            return (this.size() == 0);
+        }
+
+        @Override
+        public String[] keys()
+        {
+            String[] keys = new String[this.size()];
+            int k = 0;
+            for (Column column : DataTable.this.columns)
+            {
+                if (column.isPresent(this.row))
+                {
+                    keys[k++] = column.key;
+                }
+            }
+            return keys;
+        }
+
+        @Override
+        public DataSet put(DataItem item)
+        {
+            if (item != null)
+            {
+                DataTable.this.set(this.row, item.getKey(), item.getValue());
+            }
+            return this;
+        }
+
+        @Override
+        public DataItem remove(String key)
+        {
+            DataItem removed = this.get(key);
+            if (removed != null)
+            {
+                DataTable.this.set(this.row, key, null);
+            }
+            return removed;
+        }
+
+        @Override
+        public DataItem remove(int index)
+        {
+            DataItem removed = this.get(index);
+            if (removed != null)
+            {
+                DataTable.this.set(this.row, removed.getKey(), null);
+            }
+            return removed;
+        }
+
+        @Override
+        public int size()
+        {
+            int size = 0;
+            for (Column column : DataTable.this.columns)
+            {
+                if (column.isPresent(this.row))
+                {
+                    size++;
+                }
+            }
+            return size;
+        }
+    }
+}
@@ -53,24 +53,78 @@ public enum DataType
 	/** The value is any undefined object. DataType.OBJECT cannot be serialised. */
 	OBJECT(Object.class,' ');
 
+	/**
+	 * The type for each class of value, worked out on first use of the class.
+	 * This saves checking every type against the implementations of
+	 * {@link DataSet} and {@link DataArray}.
+	 */
+	private static final ClassValue<DataType> CLASS_TYPES = new ClassValue<DataType>()
+	{
+		@Override
+		protected DataType computeValue(Class<?> valueClass)
+		{
+			for (DataType type
+					: DataType.values())
+			{
+				if (type.typeClass != null &&
+						type.typeClass.isAssignableFrom(valueClass))
+				{
+					return type;
+				}
+			}
+			return OBJECT;
+		}
+	};
+
+	/** the type for each type character, indexed by the character */
+	private static final DataType[] CHAR_TYPES = new DataType[128];
+
+	static
+	{
+		for (DataType type
+				: DataType.values())
+		{
+			DataType.CHAR_TYPES[type.typeChar] = type;
+		}
+	}
+
 	/**
 	 * Get the corresponding {@link DataType} of an {@link Object}.
+	 * <p>
+	 * The common value classes are checked directly, any other class is
+	 * looked up in a cache of the type for each class.
 	 *
 	 * @param value An object to determine the type that it.
-	 * @return The type of the object or {@code null} if it cannot be determined.
+	 * @return The type of the object.
 	 */
 	public static DataType getType(Object value)
 	{
-		for (DataType type
-				: DataType.values())
+		if (value == null)
 		{
-			if (type.isType(value))
-			{
-				return type;
-			}
+			return NULL;
 		}
-		// this should never occur, added to satisfy build warning.
-		return null;
+		Class<?> valueClass = value.getClass();
+		if (valueClass == String.class)
+		{
+			return STRING;
+		}
+		if (valueClass == Integer.class)
+		{
+			return INTEGER;
+		}
+		if (valueClass == Double.class)
+		{
+			return DOUBLE;
+		}
+		if (valueClass == Long.class)
+		{
+			return LONG;
+		}
+		if (valueClass == Boolean.class)
+		{
+			return BOOLEAN;
+		}
+		return DataType.CLASS_TYPES.get(valueClass);
 	}
 
 	/**
@@ -80,14 +134,10 @@ public enum DataType
 	*/
 	public static DataType toType(char typeChar)
 	{
-		for (DataType vt : DataType.values())
-		{
-			if (vt.getTypeChar() == typeChar)
-			{
-				return vt;
-			}
-		}
-		return OBJECT;
+		DataType type = (typeChar < DataType.CHAR_TYPES.length) ?
+				DataType.CHAR_TYPES[typeChar] :
+				null;
+		return (type == null) ? OBJECT : type;
 	}
 
 	/** *  The class that defines the {@link DataType}. */
@@ -118,7 +168,8 @@ public enum DataType
 		{
 			return this.typeClass == value;
 		}
-		return this.typeClass.isAssignableFrom(value.getClass());
+		return this.typeClass == value.getClass() ||
+				this.typeClass.isAssignableFrom(value.getClass());
 	}
 
 	/**
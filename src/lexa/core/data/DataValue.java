@@ -38,6 +38,13 @@ public interface DataValue
 	 */
 	Boolean getBoolean();
 
+	/**
+	 * Gets the value as a {@code boolean} without boxing.
+	 * @param defaultValue the value to return if this is not a boolean
+	 * @return The value as a boolean, or {@code defaultValue}.
+	 */
+	boolean getBoolean(boolean defaultValue);
+
 	/**
 	 * Gets the value as a data set.
 	 * @return The value as a data set.
@@ -56,6 +63,20 @@ public interface DataValue
 	 */
 	Double getDouble();
 
+	/**
+	 * Gets the value as a {@code double} without boxing.
+	 * @param defaultValue the value to return if this is not a double
+	 * @return The value as a double, or {@code defaultValue}.
+	 */
+	double getDouble(double defaultValue);
+
+	/**
+	 * Gets the value as an {@code int} without boxing.
+	 * @param defaultValue the value to return if this is not an integer
+	 * @return The value as an int, or {@code defaultValue}.
+	 */
+	int getInt(int defaultValue);
+
 	/**
 	 * Gets the value as an integer.
 	 * @return The value as an integer.
@@ -68,6 +89,13 @@ public interface DataValue
 	 */
 	Long getLong();
 
+	/**
+	 * Gets the value as a {@code long} without boxing.
+	 * @param defaultValue the value to return if this is not a long
+	 * @return The value as a long, or {@code defaultValue}.
+	 */
+	long getLong(long defaultValue);
+
 	/**
 	 * Gets the value as a string.
 	 * @return The value as a string.
@@ -0,0 +1,149 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * DataVisitor.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+import java.util.Date;
+
+/**
+ * Receive each part of a tree of data sets and arrays from a
+ * {@link DataWalker}.
+ * <p>
+ * Each data set and array is entered before its contents and left after
+ * them; every other value has a callback for its type, with numbers and
+ * booleans passed as primitives.  The {@link DataCursor} passed to each
+ * callback is the path to the part being visited.  It is reused for the whole
+ * walk, so it must be copied, for example with {@link DataCursor#toPath()},
+ * if it is to be kept.
+ * <p>
+ * Each callback returns how the walk should go on:
+ * <ul>
+ * <li>{@link Visit#CONTINUE CONTINUE} - carry on with the next part;
+ * <li>{@link Visit#SKIP SKIP} - from an enter callback, do not visit the
+ *          contents and do not leave; from any other callback, do not visit
+ *          the rest of the data set or array it is in;
+ * <li>{@link Visit#STOP STOP} - end the walk.
+ * </ul>
+ * {@link BaseDataVisitor} continues for every callback, so a visitor need
+ * only override the ones it uses.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public interface DataVisitor
+{
+    /**
+     * How the walk goes on after a callback.
+     */
+    public enum Visit
+    {
+        /** carry on with the next part */
+        CONTINUE,
+        /** skip the contents, or the rest of the parent */
+        SKIP,
+        /** end the walk */
+        STOP
+    }
+
+    /**
+     * Enter an array, before its values are visited.
+     * @param path the path to the array
+     * @param array the array
+     * @return how to go on; {@link Visit#SKIP SKIP} does not visit the values
+     */
+    Visit enterArray(DataCursor path, DataArray array);
+
+    /**
+     * Enter a data set, before its items are visited.
+     * @param path the path to the data set
+     * @param data the data set
+     * @return how to go on; {@link Visit#SKIP SKIP} does not visit the items
+     */
+    Visit enterSet(DataCursor path, DataSet data);
+
+    /**
+     * Leave an array, after its values are visited.
+     * @param path the path to the array
+     * @param array the array
+     * @return how to go on
+     */
+    Visit leaveArray(DataCursor path, DataArray array);
+
+    /**
+     * Leave a data set, after its items are visited.
+     * @param path the path to the data set
+     * @param data the data set
+     * @return how to go on
+     */
+    Visit leaveSet(DataCursor path, DataSet data);
+
+    /**
+     * Visit a boolean value.
+     * @param path the path to the value
+     * @param value the value
+     * @return how to go on
+     */
+    Visit visitBoolean(DataCursor path, boolean value);
+
+    /**
+     * Visit a date value.
+     * @param path the path to the value
+     * @param value the value
+     * @return how to go on
+     */
+    Visit visitDate(DataCursor path, Date value);
+
+    /**
+     * Visit a double value.
+     * @param path the path to the value
+     * @param value the value
+     * @return how to go on
+     */
+    Visit visitDouble(DataCursor path, double value);
+
+    /**
+     * Visit an integer value.
+     * @param path the path to the value
+     * @param value the value
+     * @return how to go on
+     */
+    Visit visitInt(DataCursor path, int value);
+
+    /**
+     * Visit a long value.
+     * @param path the path to the value
+     * @param value the value
+     * @return how to go on
+     */
+    Visit visitLong(DataCursor path, long value);
+
+    /**
+     * Visit a {@code null} value.
+     * @param path the path to the value
+     * @return how to go on
+     */
+    Visit visitNull(DataCursor path);
+
+    /**
+     * Visit a value of any other type.
+     * @param path the path to the value
+     * @param value the value
+     * @return how to go on
+     */
+    Visit visitObject(DataCursor path, Object value);
+
+    /**
+     * Visit a string value.
+     * @param path the path to the value
+     * @param value the value
+     * @return how to go on
+     */
+    Visit visitString(DataCursor path, String value);
+}
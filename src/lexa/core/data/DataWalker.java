@@ -0,0 +1,356 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * DataWalker.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lexa.core.data.DataVisitor.Visit;
+
+/**
+ * Walk a tree of data sets and arrays, passing each part to a
+ * {@link DataVisitor}.
+ * <p>
+ * The walk is depth first, in the order of the items and values.  Items and
+ * values are got by their position, so no iterators are made, and the path is
+ * kept in a single {@link DataCursor} that is reused for the whole walk.  The
+ * values of an {@link IntDataArray}, {@link LongDataArray} or
+ * {@link DoubleDataArray} are passed straight from its storage, so they are
+ * not boxed.
+ * <p>
+ * A walker made with a {@link ForkJoinPool} splits each array larger than the
+ * threshold into ranges and walks them on the pool, each with its own copy of
+ * the cursor.  The values within a range are visited in order, but the ranges
+ * may be visited in any order and at the same time, so the visitor must be
+ * thread safe.  The array is entered before any of its values and left after
+ * all of them.  A {@link Visit#SKIP SKIP} from a value stops the ranges that
+ * have not yet reached it, and a {@link Visit#STOP STOP} stops every range;
+ * in both cases some values after it may already have been visited.
+ * <p>
+ * The tree must not be changed while it is walked.
+ * <p>A walker holds no state of its own and can be shared between threads.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public final class DataWalker
+{
+    /** the number of values walked without splitting an array */
+    static final int THRESHOLD = 1024;
+
+    /** the visitor for every part of the tree */
+    private final DataVisitor visitor;
+    /** the pool for large arrays, {@code null} to walk on one thread */
+    private final ForkJoinPool pool;
+
+    /**
+     * Create a walker that walks on the calling thread.
+     * @param visitor the visitor for every part of the tree
+     */
+    public DataWalker(DataVisitor visitor)
+    {
+        this(visitor, null);
+    }
+
+    /**
+     * Create a walker that walks large arrays on a pool.
+     * @param visitor the visitor for every part of the tree, it must be
+     *          thread safe if {@code pool} is given
+     * @param pool the pool to run on, or {@code null} to walk on the
+     *          calling thread
+     */
+    public DataWalker(DataVisitor visitor, ForkJoinPool pool)
+    {
+        this.visitor = visitor;
+        this.pool = pool;
+    }
+
+    /**
+     * Walk an array.
+     * @param array the array to walk
+     * @return {@code true} if the walk was finished, or {@code false} if the
+     *          visitor stopped it.
+     */
+    public boolean walk(DataArray array)
+    {
+        Walk walk = new Walk();
+        this.array(walk, new DataCursor(), array);
+        return !walk.stopped;
+    }
+
+    /**
+     * Walk a data set.
+     * @param data the data set to walk
+     * @return {@code true} if the walk was finished, or {@code false} if the
+     *          visitor stopped it.
+     */
+    public boolean walk(DataSet data)
+    {
+        Walk walk = new Walk();
+        this.set(walk, new DataCursor(), data);
+        return !walk.stopped;
+    }
+
+    /**
+     * Walk an array and its values.
+     * @param walk the state of the walk
+     * @param cursor the path to the array
+     * @param array the array
+     * @return how to go on in the parent
+     */
+    private Visit array(Walk walk, DataCursor cursor, DataArray array)
+    {
+        Visit enter = this.visitor.enterArray(cursor, array);
+        if (enter != Visit.CONTINUE)
+        {
+            return walk.result(enter == Visit.SKIP ? Visit.CONTINUE : enter);
+        }
+        int size = array.size();
+        if (this.pool != null && size > DataWalker.THRESHOLD)
+        {
+            Range range = new Range(walk, cursor, array, 0, size, new AtomicBoolean());
+            if (ForkJoinTask.getPool() == this.pool)
+            {
+                // already running on the pool, so split from this thread
+                range.invoke();
+            }
+            else
+            {
+                this.pool.invoke(range);
+            }
+        }
+        else
+        {
+            this.values(walk, cursor, array, 0, size, null);
+        }
+        if (walk.stopped)
+        {
+            return Visit.STOP;
+        }
+        return walk.result(this.visitor.leaveArray(cursor, array));
+    }
+
+    /**
+     * Visit one value of an array.
+     * @param walk the state of the walk
+     * @param cursor the path to the value
+     * @param array the array
+     * @param index the position of the value
+     * @return how to go on in the array
+     */
+    private Visit element(Walk walk, DataCursor cursor, DataArray array, int index)
+    {
+        if (array instanceof IntDataArray)
+        {
+            return this.visitor.visitInt(cursor, ((IntDataArray)array).getInt(index));
+        }
+        if (array instanceof LongDataArray)
+        {
+            return this.visitor.visitLong(cursor, ((LongDataArray)array).getLong(index));
+        }
+        if (array instanceof DoubleDataArray)
+        {
+            return this.visitor.visitDouble(cursor, ((DoubleDataArray)array).getDouble(index));
+        }
+        return this.value(walk, cursor, array.get(index));
+    }
+
+    /**
+     * Walk a data set and its items.
+     * @param walk the state of the walk
+     * @param cursor the path to the data set
+     * @param data the data set
+     * @return how to go on in the parent
+     */
+    private Visit set(Walk walk, DataCursor cursor, DataSet data)
+    {
+        Visit enter = this.visitor.enterSet(cursor, data);
+        if (enter != Visit.CONTINUE)
+        {
+            return walk.result(enter == Visit.SKIP ? Visit.CONTINUE : enter);
+        }
+        int size = data.size();
+        for (int i = 0; i < size && !walk.stopped; i++)
+        {
+            DataItem item = data.get(i);
+            cursor.push(item.getKey());
+            Visit visit = walk.result(this.value(walk, cursor, item.getValue()));
+            cursor.pop();
+            if (visit == Visit.STOP)
+            {
+                return Visit.STOP;
+            }
+            if (visit == Visit.SKIP)
+            {
+                break;
+            }
+        }
+        if (walk.stopped)
+        {
+            return Visit.STOP;
+        }
+        return walk.result(this.visitor.leaveSet(cursor, data));
+    }
+
+    /**
+     * Visit a value, walking it if it is a data set or array.
+     * @param walk the state of the walk
+     * @param cursor the path to the value
+     * @param value the value
+     * @return how to go on in the parent
+     */
+    private Visit value(Walk walk, DataCursor cursor, DataValue value)
+    {
+        switch (value.getType())
+        {
+            case ARRAY :
+            {
+                return this.array(walk, cursor, value.getArray());
+            }
+            case BOOLEAN :
+            {
+                return this.visitor.visitBoolean(cursor, value.getBoolean(false));
+            }
+            case DATA_SET :
+            {
+                return this.set(walk, cursor, value.getDataSet());
+            }
+            case DATE :
+            {
+                return this.visitor.visitDate(cursor, value.getDate());
+            }
+            case DOUBLE :
+            {
+                return this.visitor.visitDouble(cursor, value.getDouble(0.0));
+            }
+            case INTEGER :
+            {
+                return this.visitor.visitInt(cursor, value.getInt(0));
+            }
+            case LONG :
+            {
+                return this.visitor.visitLong(cursor, value.getLong(0L));
+            }
+            case NULL :
+            {
+                return this.visitor.visitNull(cursor);
+            }
+            case STRING :
+            {
+                return this.visitor.visitString(cursor, value.getString());
+            }
+        }
+        return this.visitor.visitObject(cursor, value.getObject());
+    }
+
+    /**
+     * Visit a range of the values of an array.
+     * @param walk the state of the walk
+     * @param cursor the path to the array
+     * @param array the array
+     * @param origin the first position to visit
+     * @param fence the position after the last to visit
+     * @param skipped set when a value skips the rest of a split array, or
+     *          {@code null} if the array is not split
+     */
+    private void values(Walk walk, DataCursor cursor, DataArray array,
+            int origin, int fence, AtomicBoolean skipped)
+    {
+        for (int i = origin; i < fence && !walk.stopped; i++)
+        {
+            if (skipped != null && skipped.get())
+            {
+                return;
+            }
+            cursor.push(i);
+            Visit visit = walk.result(this.element(walk, cursor, array, i));
+            cursor.pop();
+            if (visit == Visit.SKIP)
+            {
+                if (skipped != null)
+                {
+                    skipped.set(true);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * The state of one walk.
+     */
+    private static final class Walk
+    {
+        /** set once the visitor stops the walk */
+        private volatile boolean stopped;
+
+        /**
+         * Note the result of a callback.
+         * @param visit the result
+         * @return the result
+         */
+        private Visit result(Visit visit)
+        {
+            if (visit == Visit.STOP)
+            {
+                this.stopped = true;
+            }
+            return visit;
+        }
+    }
+
+    /**
+     * Walk a range of the values of an array, splitting it if it is too large.
+     */
+    private final class Range
+            extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final Walk walk;
+        /** the path to the array, it is copied and not changed */
+        private final DataCursor cursor;
+        private final DataArray array;
+        private final int origin;
+        private final int fence;
+        private final AtomicBoolean skipped;
+
+        private Range(Walk walk, DataCursor cursor, DataArray array,
+                int origin, int fence, AtomicBoolean skipped)
+        {
+            this.walk = walk;
+            this.cursor = cursor;
+            this.array = array;
+            this.origin = origin;
+            this.fence = fence;
+            this.skipped = skipped;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (this.fence - this.origin <= DataWalker.THRESHOLD)
+            {
+                DataWalker.this.values(this.walk, this.cursor.copy(), this.array,
+                        this.origin, this.fence, this.skipped);
+                return;
+            }
+            int middle = (this.origin + this.fence) >>> 1;
+            Range left = new Range(this.walk, this.cursor, this.array,
+                    this.origin, middle, this.skipped);
+            left.fork();
+            new Range(this.walk, this.cursor, this.array,
+                    middle, this.fence, this.skipped).compute();
+            left.join();
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * DoubleDataArray.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+import java.util.Arrays;
+
+/**
+ * A {@link DataArray} of doubles held in a {@code double[]}.
+ * <p>
+ * Each value takes the space of a {@code double}; there is no {@link DataValue}
+ * or boxed object held for it.  {@link #getDouble(int) getDouble} and
+ * {@link #addDouble(double) addDouble} read and write the values directly, while
+ * {@link #get(int) get} returns a {@link DoubleDataValue} for the value so the
+ * array can be used as any other {@link DataArray}.
+ * <p>
+ * Only doubles can be added, any other type of value throws an
+ * {@link IllegalArgumentException}.  {@link lexa.core.data.io.DataOutput}
+ * writes the values as a single packed block.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public class DoubleDataArray
+        extends BaseDataArray
+{
+    /** the storage for an array with no values */
+    private static final double[] NO_VALUES = new double[0];
+    /** the smallest storage allocated */
+    private static final int MIN_CAPACITY = 16;
+
+    /** the values, only the first {@link #size} are in use */
+    private double[] values;
+    /** the number of values */
+    private int size;
+
+    /**
+     * Create an empty array for the {@link ArrayFactory}.
+     */
+    public DoubleDataArray()
+    {
+        this(ArrayFactory.factory);
+    }
+
+    /**
+     * Create an array for the {@link ArrayFactory} holding a list of values.
+     * @param values the values for the array
+     */
+    public DoubleDataArray(double ... values)
+    {
+        this(ArrayFactory.factory, values);
+    }
+
+    /**
+     * Create an array for a factory holding a list of values.
+     * @param factory the factory the values belong to
+     * @param values the values for the array
+     */
+    public DoubleDataArray(DataFactory factory, double ... values)
+    {
+        super(factory);
+        this.values = values.length == 0 ?
+                DoubleDataArray.NO_VALUES :
+                values.clone();
+        this.size = values.length;
+    }
+
+    /**
+     * Add a value to the array at a given position.
+     * @param index the position for the value
+     * @param value the value to add, it must be a double
+     * @return this {@link DataArray}
+     * @throws IllegalArgumentException if the value is not a double
+     */
+    @Override
+    public DataArray add(int index, DataValue value)
+    {
+        if (!value.getType().equals(DataType.DOUBLE))
+        {
+            throw new IllegalArgumentException(
+                    "Only doubles can be added to a DoubleDataArray");
+        }
+        return this.addDouble(index, value.getDouble(0.0));
+    }
+
+    /**
+     * Add a value to the end of the array.
+     * @param value the value to add
+     * @return this {@link DataArray}
+     */
+    public DoubleDataArray addDouble(double value)
+    {
+        return this.addDouble(this.size, value);
+    }
+
+    /**
+     * Add a value to the array at a given position.
+     * @param index the position for the value
+     * @param value the value to add
+     * @return this {@link DataArray}
+     */
+    public DoubleDataArray addDouble(int index, double value)
+    {
+        if (index < 0 || index > this.size)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        if (this.size == this.values.length)
+        {
+            this.values = Arrays.copyOf(this.values,
+                    Math.max(DoubleDataArray.MIN_CAPACITY, this.size + (this.size >> 1)));
+        }
+        if (index < this.size)
+        {
+            System.arraycopy(this.values, index,
+                    this.values, index + 1, this.size - index);
+        }
+        this.values[index] = value;
+        this.size++;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (obj instanceof DoubleDataArray)
+        {
+            DoubleDataArray other = (DoubleDataArray)obj;
+            if (this.size != other.size)
+            {
+                return false;
+            }
+            for (int i = 0; i < this.size; i++)
+            {
+                if (Double.compare(this.values[i], other.values[i]) != 0)
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return super.equals(obj);
+    }
+
+    /**
+     * Get the value at a position.
+     * <p>The value is wrapped in a new {@link DoubleDataValue}.
+     * @param index position of required value
+     * @return the value corresponding to the position
+     */
+    @Override
+    public DataValue get(int index)
+    {
+        return this.factory().getDataValue(this.getDouble(index));
+    }
+
+    /**
+     * Get the value at a position without wrapping it.
+     * @param index position of required value
+     * @return the value corresponding to the position
+     */
+    public double getDouble(int index)
+    {
+        if (index < 0 || index >= this.size)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        return this.values[index];
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hash = 7;
+        for (int i = 0; i < this.size; i++)
+        {
+            hash = hash * 31 + DataHash.mix(Double.hashCode(this.values[i]));
+        }
+        return hash;
+    }
+
+    @Override
+    public DataValue remove(int index)
+    {
+        DataValue removed = this.get(index);
+        System.arraycopy(this.values, index + 1,
+                this.values, index, this.size - index - 1);
+        this.size--;
+        return removed;
+    }
+
+    /**
+     * Set the value at a position.
+     * @param index position of the value
+     * @param value the new value
+     * @return the previous value
+     */
+    public double set(int index, double value)
+    {
+        double previous = this.getDouble(index);
+        this.values[index] = value;
+        return previous;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Get a copy of the values.
+     * @return an array holding the values in order
+     */
+    public double[] toArray()
+    {
+        return Arrays.copyOf(this.values, this.size);
+    }
+}
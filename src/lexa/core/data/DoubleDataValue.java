@@ -0,0 +1,86 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * DoubleDataValue.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+/**
+ * A {@link DataValue} holding a {@code double} without boxing it.
+ * <p>
+ * The value is read with {@link #getDouble(double) getDouble}; it is only boxed when
+ * it is asked for as an object.  Instances are created by
+ * {@link DataFactory#getDataValue(double)} and belong to that factory.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public final class DoubleDataValue
+        extends BaseDataValue
+{
+    /** the value being represented */
+    private final double value;
+
+    /**
+     * Create a value for a {@code double}.
+     * @param factory the factory for the value
+     * @param value the contained value
+     */
+    public DoubleDataValue(DataFactory factory, double value)
+    {
+        super(factory, DataType.DOUBLE);
+        this.value = value;
+    }
+
+    @Override
+    public int compareTo(DataValue to)
+    {
+        if (to instanceof DoubleDataValue)
+        {
+            DoubleDataValue other = (DoubleDataValue)to;
+            return Double.compare(this.value, other.value);
+        }
+        return super.compareTo(to);
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (obj instanceof DoubleDataValue)
+        {
+            DoubleDataValue other = (DoubleDataValue)obj;
+            return Double.doubleToLongBits(this.value) ==
+                    Double.doubleToLongBits(other.value);
+        }
+        return super.equals(obj);
+    }
+
+    @Override
+    public Double getDouble()
+    {
+        return this.value;
+    }
+
+    @Override
+    public double getDouble(double defaultValue)
+    {
+        return this.value;
+    }
+
+    @Override
+    public Object getObject()
+    {
+        return this.value;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Double.hashCode(this.value);
+    }
+}
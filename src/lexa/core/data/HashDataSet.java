@@ -10,16 +10,24 @@
  */
 package lexa.core.data;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.Spliterator;
 
 /**
  * A data set using hashed keys to access the content
- * A {@link DataSet} that utilises a {@link HashMap} for storing the items.
+ * A {@link DataSet} that stores the items in a list in the order they
+ * were added with a hashed {@link KeyIndex} from each key to its position.
  * This class should be used in favour of the {@link DataSet} when there
  * are a large number of entries or the entries will be accessed randomly and by
  * key.
- * <em><b>NB</b>This performance of this class is poor when using iterators and
- * iterator based functions</em>
+ * <p>Iteration and positional access are in insertion order.
+ * <p>
+ * A removed item leaves a {@code null} gap in the list rather than shifting
+ * the items after it, and the list is kept by the entries of the
+ * {@link KeyIndex}.  The gaps are closed in one pass whenever the index is
+ * compacted, so removing an item is {@code O(log n)} amortised and draining
+ * the set is not quadratic.
  * @author William
  * @since 2016-09
  */
@@ -27,7 +35,10 @@ public class HashDataSet
 		extends BaseDataSet
 {
 
-	private final Map<String, DataItem> items;
+	/** the items in the order they were added, {@code null} for a gap */
+	private final ArrayList<DataItem> items;
+	/** the entry of each key in {@link #items} */
+	private final KeyIndex index;
 
 	/**
 	 * Create a new {@link HashDataSet} with no entries.
@@ -35,7 +46,23 @@ public class HashDataSet
 	public HashDataSet()
 	{
         super(HashFactory.factory);
-		this.items = new HashMap<>();
+		this.items = new ArrayList<>();
+		this.index = new KeyIndex(0);
+	}
+
+	/**
+	 * Create a new {@link HashDataSet} with no entries and room for a number
+	 * of items.
+	 * <p>
+	 * Neither the list of items nor the index of the keys need to grow until
+	 * the set holds more than {@code capacity} items.
+	 * @param capacity the number of items expected
+	 */
+	public HashDataSet(int capacity)
+	{
+        super(HashFactory.factory);
+		this.items = new ArrayList<>(capacity);
+		this.index = new KeyIndex(capacity);
 	}
 
 	/**
@@ -56,15 +83,20 @@ public class HashDataSet
 	}
 
 	@Override
-	public boolean contains(String key)
+	public synchronized boolean contains(String key)
 	{
-		return this.items.containsKey(key);
+		return (this.index.find(key) != -1);
 	}
 
 	@Override
 	public synchronized DataItem get(String key)
 	{
-		return this.items.get(key);
+		int entry = this.index.findEntry(key);
+		if (entry == -1)
+		{
+			return null;
+		}
+		return this.items.get(entry);
 	}
 
 	@Override
@@ -75,20 +107,29 @@ public class HashDataSet
         {
             return null;
         }
-        // good!!
-        return this.items.get(this.keys()[index]);
+        return this.items.get(this.index.entry(index));
     }
 
 	@Override
 	public synchronized boolean isEmpty()
 	{
-		return (this.items.isEmpty());
+		return (this.index.size() == 0);
 	}
 
 	@Override
 	public synchronized String[] keys()
 	{
-        return this.items.keySet().toArray(new String[this.size()]);
+		String[] keys = new String[this.index.size()];
+		int key = 0;
+		for (DataItem item
+				: this.items)
+		{
+			if (item != null)
+			{
+				keys[key++] = item.getKey();
+			}
+		}
+		return keys;
 	}
 
 	/**
@@ -102,7 +143,32 @@ public class HashDataSet
 	 */
 	private synchronized void _put(DataItem item)
 	{
-		this.items.put(item.getKey(), item);
+		int entry = this.index.findEntry(item.getKey());
+		if (entry == -1)
+		{
+			this.append(item);
+		}
+		else
+		{
+			this.items.set(entry, item);
+		}
+	}
+
+	/**
+	 * Add an item with a new key to the end of the list and the index.
+	 * <p>
+	 * The items are held by entry, so if the index has renumbered its entries
+	 * the gaps left by removed keys are closed before the item is added.
+	 * @param item A {@link DataItem} with a key not yet in this data set.
+	 */
+	private void append(DataItem item)
+	{
+		this.index.add(item.getKey(), this.index.size());
+		if (this.items.size() >= this.index.entries())
+		{
+			this.items.removeIf(Objects::isNull);
+		}
+		this.items.add(item);
 	}
 
 	@Override
@@ -121,12 +187,49 @@ public class HashDataSet
 	@Override
 	public synchronized DataSet put(DataSet data)
 	{
-		if (data != null)
+		return this.putAll(data, MergeStrategy.OVERWRITE);
+	}
+
+	/**
+	 * Put the contents of another {@link DataSet} into this one, merging any
+	 * items that have a key already in this data set.
+	 * <p>
+	 * The list and the index are made large enough for all the items before
+	 * any are added, and each key is found once.
+	 *
+	 * @param data The data to be added.
+	 * @param strategy How to merge an item with a key that already exists.
+	 * @return  the {@link HashDataSet} the items were added to.
+	 */
+	@Override
+	public synchronized DataSet putAll(DataSet data, MergeStrategy strategy)
+	{
+		if (data == null)
 		{
-			for (DataItem item
-					: data)
+			return this;
+		}
+		this.items.ensureCapacity(this.index.entries() + data.size());
+		this.index.ensureCapacity(this.index.size() + data.size());
+		DataFactory factory = this.factory();
+		for (DataItem item
+				: data)
+		{
+			int entry = this.index.findEntry(item.getKey());
+			if (entry == -1)
+			{
+				this.append(factory.convert(item));
+				continue;
+			}
+			DataValue current = this.items.get(entry).getValue();
+			DataValue merged = strategy.merge(current, item.getValue());
+			if (merged == item.getValue())
+			{
+				this.items.set(entry, factory.convert(item));
+			}
+			else if (merged != current)
 			{
-				this.put(item);
+				this.items.set(entry,
+						factory.convert(factory.getDataItem(item.getKey(), merged)));
 			}
 		}
 		return this;
@@ -135,7 +238,28 @@ public class HashDataSet
 	@Override
 	public synchronized DataItem remove(String key)
 	{
-		return this.items.remove(key);
+		int entry = this.index.findEntry(key);
+		if (entry == -1)
+		{
+			return null;
+		}
+		DataItem removed = this.items.set(entry, null);
+		if (this.index.remove(key))
+		{
+			// the index has closed its gaps, so close them in the list
+			this.items.removeIf(Objects::isNull);
+		}
+		else
+		{
+			// the last entry leaves no gap in the index
+			for (int last = this.items.size() - 1;
+					last >= this.index.entries();
+					last--)
+			{
+				this.items.remove(last);
+			}
+		}
+		return removed;
 	}
 	@Override
 	public synchronized DataItem remove(int index)
@@ -145,11 +269,29 @@ public class HashDataSet
         {
             return null;
         }
-        return this.remove(this.keys()[index]);
+		return this.remove(this.items.get(this.index.entry(index)).getKey());
 	}
 	@Override
 	public synchronized int size()
 	{
-		return this.items.size();
+		return this.index.size();
+	}
+
+	/**
+	 * Get a {@link Spliterator} over the list of items.
+	 * <p>
+	 * While the list has no gaps the spliterator splits it directly and fails
+	 * if an item is added while it is in use; otherwise the items are got by
+	 * their position.
+	 * @return a {@link Spliterator} over the items
+	 */
+	@Override
+	public synchronized Spliterator<DataItem> spliterator()
+	{
+		if (this.index.entries() != this.index.size())
+		{
+			return super.spliterator();
+		}
+		return this.items.spliterator();
 	}
 }
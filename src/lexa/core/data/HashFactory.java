@@ -40,12 +40,24 @@ public class HashFactory
         return new HashDataItem(key, value);
     }
 
+    @Override
+    public DataItem getDataItem(String key, DataValue value)
+    {
+        return new HashDataItem(key, value);
+    }
+
     @Override
     public DataSet getDataSet()
     {
         return new HashDataSet();
     }
 
+    @Override
+    public DataSet getDataSet(int capacity)
+    {
+        return new HashDataSet(capacity);
+    }
+
     @Override
     public DataValue getDataValue(Object object)
     {
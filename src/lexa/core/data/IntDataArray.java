@@ -0,0 +1,226 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * IntDataArray.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+import java.util.Arrays;
+
+/**
+ * A {@link DataArray} of integers held in a {@code int[]}.
+ * <p>
+ * Each value takes the space of a {@code int}; there is no {@link DataValue}
+ * or boxed object held for it.  {@link #getInt(int) getInt} and
+ * {@link #addInt(int) addInt} read and write the values directly, while
+ * {@link #get(int) get} returns a {@link IntDataValue} for the value so the
+ * array can be used as any other {@link DataArray}.
+ * <p>
+ * Only integers can be added, any other type of value throws an
+ * {@link IllegalArgumentException}.  {@link lexa.core.data.io.DataOutput}
+ * writes the values as a single packed block.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public class IntDataArray
+        extends BaseDataArray
+{
+    /** the storage for an array with no values */
+    private static final int[] NO_VALUES = new int[0];
+    /** the smallest storage allocated */
+    private static final int MIN_CAPACITY = 16;
+
+    /** the values, only the first {@link #size} are in use */
+    private int[] values;
+    /** the number of values */
+    private int size;
+
+    /**
+     * Create an empty array for the {@link ArrayFactory}.
+     */
+    public IntDataArray()
+    {
+        this(ArrayFactory.factory);
+    }
+
+    /**
+     * Create an array for the {@link ArrayFactory} holding a list of values.
+     * @param values the values for the array
+     */
+    public IntDataArray(int ... values)
+    {
+        this(ArrayFactory.factory, values);
+    }
+
+    /**
+     * Create an array for a factory holding a list of values.
+     * @param factory the factory the values belong to
+     * @param values the values for the array
+     */
+    public IntDataArray(DataFactory factory, int ... values)
+    {
+        super(factory);
+        this.values = values.length == 0 ?
+                IntDataArray.NO_VALUES :
+                values.clone();
+        this.size = values.length;
+    }
+
+    /**
+     * Add a value to the array at a given position.
+     * @param index the position for the value
+     * @param value the value to add, it must be an int
+     * @return this {@link DataArray}
+     * @throws IllegalArgumentException if the value is not an int
+     */
+    @Override
+    public DataArray add(int index, DataValue value)
+    {
+        if (!value.getType().equals(DataType.INTEGER))
+        {
+            throw new IllegalArgumentException(
+                    "Only integers can be added to a IntDataArray");
+        }
+        return this.addInt(index, value.getInt(0));
+    }
+
+    /**
+     * Add a value to the end of the array.
+     * @param value the value to add
+     * @return this {@link DataArray}
+     */
+    public IntDataArray addInt(int value)
+    {
+        return this.addInt(this.size, value);
+    }
+
+    /**
+     * Add a value to the array at a given position.
+     * @param index the position for the value
+     * @param value the value to add
+     * @return this {@link DataArray}
+     */
+    public IntDataArray addInt(int index, int value)
+    {
+        if (index < 0 || index > this.size)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        if (this.size == this.values.length)
+        {
+            this.values = Arrays.copyOf(this.values,
+                    Math.max(IntDataArray.MIN_CAPACITY, this.size + (this.size >> 1)));
+        }
+        if (index < this.size)
+        {
+            System.arraycopy(this.values, index,
+                    this.values, index + 1, this.size - index);
+        }
+        this.values[index] = value;
+        this.size++;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (obj instanceof IntDataArray)
+        {
+            IntDataArray other = (IntDataArray)obj;
+            if (this.size != other.size)
+            {
+                return false;
+            }
+            for (int i = 0; i < this.size; i++)
+            {
+                if (this.values[i] != other.values[i])
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return super.equals(obj);
+    }
+
+    /**
+     * Get the value at a position.
+     * <p>The value is wrapped in a new {@link IntDataValue}.
+     * @param index position of required value
+     * @return the value corresponding to the position
+     */
+    @Override
+    public DataValue get(int index)
+    {
+        return this.factory().getDataValue(this.getInt(index));
+    }
+
+    /**
+     * Get the value at a position without wrapping it.
+     * @param index position of required value
+     * @return the value corresponding to the position
+     */
+    public int getInt(int index)
+    {
+        if (index < 0 || index >= this.size)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        return this.values[index];
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hash = 7;
+        for (int i = 0; i < this.size; i++)
+        {
+            hash = hash * 31 + DataHash.mix(Integer.hashCode(this.values[i]));
+        }
+        return hash;
+    }
+
+    @Override
+    public DataValue remove(int index)
+    {
+        DataValue removed = this.get(index);
+        System.arraycopy(this.values, index + 1,
+                this.values, index, this.size - index - 1);
+        this.size--;
+        return removed;
+    }
+
+    /**
+     * Set the value at a position.
+     * @param index position of the value
+     * @param value the new value
+     * @return the previous value
+     */
+    public int set(int index, int value)
+    {
+        int previous = this.getInt(index);
+        this.values[index] = value;
+        return previous;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Get a copy of the values.
+     * @return an array holding the values in order
+     */
+    public int[] toArray()
+    {
+        return Arrays.copyOf(this.values, this.size);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * IntDataValue.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+/**
+ * A {@link DataValue} holding an {@code int} without boxing it.
+ * <p>
+ * The value is read with {@link #getInt(int) getInt}; it is only boxed when
+ * it is asked for as an object.  Instances are created by
+ * {@link DataFactory#getDataValue(int)} and belong to that factory.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public final class IntDataValue
+        extends BaseDataValue
+{
+    /** the value being represented */
+    private final int value;
+
+    /**
+     * Create a value for an {@code int}.
+     * @param factory the factory for the value
+     * @param value the contained value
+     */
+    public IntDataValue(DataFactory factory, int value)
+    {
+        super(factory, DataType.INTEGER);
+        this.value = value;
+    }
+
+    @Override
+    public int compareTo(DataValue to)
+    {
+        if (to instanceof IntDataValue)
+        {
+            IntDataValue other = (IntDataValue)to;
+            return Integer.compare(this.value, other.value);
+        }
+        return super.compareTo(to);
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (obj instanceof IntDataValue)
+        {
+            IntDataValue other = (IntDataValue)obj;
+            return this.value == other.value;
+        }
+        return super.equals(obj);
+    }
+
+    @Override
+    public Integer getInteger()
+    {
+        return this.value;
+    }
+
+    @Override
+    public int getInt(int defaultValue)
+    {
+        return this.value;
+    }
+
+    @Override
+    public Object getObject()
+    {
+        return this.value;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Integer.hashCode(this.value);
+    }
+}
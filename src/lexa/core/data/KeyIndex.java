@@ -0,0 +1,459 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * KeyIndex.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+import java.util.Arrays;
+
+/**
+ * An open addressing hash index from a key to its position in a list.
+ * <p>
+ * The index does not hold the items, only the keys and the position of each
+ * key within the owning list.  It uses linear probing with backward shift
+ * deletion so no tombstones are left behind in the table when a key is
+ * removed.
+ * <p>
+ * Each key is held with its <em>entry</em>, the position it was given when it
+ * was added.  Removing a key does not renumber the keys after it; instead its
+ * entry is counted in a Fenwick tree, and the position of a key is its entry
+ * less the number of entries removed before it.  Removing a key is therefore
+ * {@code O(log n)} rather than {@code O(n)}.  Once the removed entries pass a
+ * quarter of the keys the index is compacted, giving each key its position as
+ * its entry again, so the cost is amortised over the removals.  Removing the
+ * last entry drops it rather than counting it.
+ * <p>
+ * An owner may keep its items by entry, leaving a gap for each removed key,
+ * as long as it only adds keys at the end and closes the gaps whenever
+ * {@link #remove(String)} reports the index has been compacted.  Adding a key
+ * at the end never compacts the index, so only a removal renumbers the
+ * entries.
+ * <p>This class is not thread safe, the owner must guard access to it.
+ *
+ * @author william
+ * @since 2026-10
+ */
+final class KeyIndex
+{
+    /** the smallest table size, must be a power of two */
+    private static final int MIN_CAPACITY = 16;
+
+    /** the keys held in each slot, {@code null} for an empty slot */
+    private String[] keys;
+    /** the position in the list for the key in each slot */
+    private int[] positions;
+    /** the number of keys in the index */
+    private int size;
+    /** mask used to wrap a hash into the table */
+    private int mask;
+    /** the entry for the next key added, which is the size plus the removed entries */
+    private int entries;
+    /** the number of entries removed since the index was last compacted */
+    private int removed;
+    /**
+     * Fenwick tree counting the removed entries, {@code null} if none have
+     * been removed since the index was last compacted
+     */
+    private int[] tree;
+
+    /**
+     * Create an index sized to hold a number of keys without a resize.
+     * @param expected the number of keys expected
+     */
+    KeyIndex(int expected)
+    {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expected * 2)
+        {
+            capacity <<= 1;
+        }
+        this.allocate(capacity);
+    }
+
+    /**
+     * Add a key to the index.
+     * <p>
+     * The key must not already be in the index.  A key added at the end, with
+     * a position equal to the size, is given the next entry; a key added
+     * anywhere else compacts the index and moves the keys after it up by one.
+     * @param key the key to add
+     * @param position the position of the key in the list
+     */
+    void add(String key, int position)
+    {
+        if ((this.size + 1) * 2 > this.keys.length)
+        {
+            this.resize(this.keys.length << 1);
+        }
+        if (position != this.size)
+        {
+            this.compact();
+            for (int s = 0; s < this.keys.length; s++)
+            {
+                if (this.keys[s] != null && this.positions[s] >= position)
+                {
+                    this.positions[s]++;
+                }
+            }
+            this.insert(key, position);
+            this.size++;
+            this.entries++;
+            return;
+        }
+        if (this.tree != null && this.entries + 1 >= this.tree.length)
+        {
+            // no room to count the new entry; grow the tree rather than
+            // compact, as the owner may be holding its items by entry
+            this.growTree(Math.max(this.tree.length << 1, this.entries + 2));
+        }
+        this.insert(key, this.entries++);
+        this.size++;
+    }
+
+    /**
+     * Make room for a number of keys so they can be added without a resize.
+     * @param expected the total number of keys expected
+     */
+    void ensureCapacity(int expected)
+    {
+        int capacity = this.keys.length;
+        while (capacity < expected * 2)
+        {
+            capacity <<= 1;
+        }
+        if (capacity != this.keys.length)
+        {
+            this.resize(capacity);
+        }
+    }
+
+    /**
+     * Private constructor for {@link #copy()}.
+     * @param clone the index to copy
+     */
+    private KeyIndex(KeyIndex clone)
+    {
+        this.keys = clone.keys.clone();
+        this.positions = clone.positions.clone();
+        this.size = clone.size;
+        this.mask = clone.mask;
+        this.entries = clone.entries;
+        this.removed = clone.removed;
+        this.tree = clone.tree == null ? null : clone.tree.clone();
+    }
+
+    /**
+     * Create an independent copy of the index.
+     * @return a copy of this index
+     */
+    KeyIndex copy()
+    {
+        return new KeyIndex(this);
+    }
+
+    /**
+     * Find the position of a key.
+     * @param key the key to find
+     * @return the position of the key in the list, or {@code -1} if it is
+     *          not in the index.
+     */
+    int find(String key)
+    {
+        int entry = this.findEntry(key);
+        if (entry == -1 || this.removed == 0)
+        {
+            return entry;
+        }
+        return entry - this.removedBefore(entry);
+    }
+
+    /**
+     * Find the entry of a key.
+     * @param key the key to find
+     * @return the entry of the key, or {@code -1} if it is not in the index.
+     */
+    int findEntry(String key)
+    {
+        int slot = this.slot(key);
+        return slot == -1 ?
+                -1 :
+                this.positions[slot];
+    }
+
+    /**
+     * Get the entry for a position.
+     * @param position the position in the list, from zero to one less than
+     *          the size
+     * @return the entry of the key at the position
+     */
+    int entry(int position)
+    {
+        if (this.removed == 0)
+        {
+            return position;
+        }
+        // walk down the tree for the entry with position + 1 live entries up to it
+        int entry = 0;
+        int live = position + 1;
+        int length = this.tree.length - 1;
+        for (int step = Integer.highestOneBit(length); step > 0; step >>= 1)
+        {
+            int next = entry + step;
+            if (next <= length && step - this.tree[next] < live)
+            {
+                entry = next;
+                live -= step - this.tree[next];
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Get the number of entries, which is the size plus the entries removed
+     * since the index was last compacted.
+     * @return the number of entries
+     */
+    int entries()
+    {
+        return this.entries;
+    }
+
+    /**
+     * Remove a key from the index.
+     * <p>
+     * The positions of the keys after it move down by one, to match the list
+     * shifting its items to the left.
+     *
+     * @param key the key to remove
+     * @return {@code true} if the index was compacted, so each entry is now
+     *          the same as its position, otherwise {@code false}.
+     */
+    boolean remove(String key)
+    {
+        int slot = this.slot(key);
+        if (slot == -1)
+        {
+            return false;
+        }
+        int entry = this.positions[slot];
+        this.delete(slot);
+        this.size--;
+        if (entry == this.entries - 1)
+        {
+            // the last entry leaves no gap
+            this.entries--;
+            return false;
+        }
+        if (this.tree == null)
+        {
+            this.tree = new int[Math.max(this.entries, this.keys.length) + 1];
+        }
+        for (int i = entry + 1; i < this.tree.length; i += i & -i)
+        {
+            this.tree[i]++;
+        }
+        this.removed++;
+        if (this.removed > (this.size >> 2) + 8)
+        {
+            this.compact();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Get the number of keys in the index.
+     * @return the number of keys
+     */
+    int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Spread the bits of a key's hash so that keys with similar hashes do not
+     * cluster in the table.
+     * @param key the key to hash
+     * @return the spread hash of the key
+     */
+    static int hash(String key)
+    {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Grow the tree of removed entries, keeping the entries counted in it.
+     * @param length the new length of the tree
+     */
+    private void growTree(int length)
+    {
+        // turn the tree back into a count per entry, then rebuild it longer
+        int[] counts = this.tree;
+        for (int i = counts.length - 1; i > 0; i--)
+        {
+            int parent = i + (i & -i);
+            if (parent < counts.length)
+            {
+                counts[parent] -= counts[i];
+            }
+        }
+        int[] grown = Arrays.copyOf(counts, length);
+        for (int i = 1; i < length; i++)
+        {
+            int parent = i + (i & -i);
+            if (parent < length)
+            {
+                grown[parent] += grown[i];
+            }
+        }
+        this.tree = grown;
+    }
+
+    /**
+     * Give each key its position as its entry, and shrink the table if it
+     * has become mostly empty.
+     */
+    private void compact()
+    {
+        if (this.tree != null)
+        {
+            // turn the tree back into a count per entry, then into a running total
+            int[] counts = this.tree;
+            for (int i = counts.length - 1; i > 0; i--)
+            {
+                int parent = i + (i & -i);
+                if (parent < counts.length)
+                {
+                    counts[parent] -= counts[i];
+                }
+            }
+            for (int i = 1; i < counts.length; i++)
+            {
+                counts[i] += counts[i - 1];
+            }
+            // counts[e] is now the number of entries removed before entry e
+            for (int s = 0; s < this.keys.length; s++)
+            {
+                if (this.keys[s] != null)
+                {
+                    this.positions[s] -= counts[this.positions[s]];
+                }
+            }
+        }
+        this.tree = null;
+        this.removed = 0;
+        this.entries = this.size;
+        int capacity = this.keys.length;
+        while (capacity > KeyIndex.MIN_CAPACITY && this.size * 8 < capacity)
+        {
+            capacity >>= 1;
+        }
+        if (capacity != this.keys.length)
+        {
+            this.resize(capacity);
+        }
+    }
+
+    /**
+     * Count the entries removed before an entry.
+     * @param entry the entry
+     * @return the number of removed entries less than {@code entry}
+     */
+    private int removedBefore(int entry)
+    {
+        int count = 0;
+        for (int i = entry; i > 0; i -= i & -i)
+        {
+            count += this.tree[i];
+        }
+        return count;
+    }
+
+    /**
+     * Find the slot holding a key.
+     * @param key the key to find
+     * @return the slot, or {@code -1} if the key is not in the index.
+     */
+    private int slot(String key)
+    {
+        if (key == null)
+        {
+            return -1;
+        }
+        int slot = KeyIndex.hash(key) & this.mask;
+        String k;
+        while ((k = this.keys[slot]) != null)
+        {
+            if (k == key || k.equals(key))
+            {
+                return slot;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        return -1;
+    }
+
+    private void allocate(int capacity)
+    {
+        this.keys = new String[capacity];
+        this.positions = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Remove the entry in a slot and shift back any entries in the same run
+     * that would not be found with a gap in front of them.
+     * @param slot the slot to empty
+     */
+    private void delete(int slot)
+    {
+        int gap = slot;
+        int next = (gap + 1) & this.mask;
+        String k;
+        while ((k = this.keys[next]) != null)
+        {
+            int home = KeyIndex.hash(k) & this.mask;
+            // move the entry back if its home is not in the range (gap, next]
+            if (((next - home) & this.mask) >= ((next - gap) & this.mask))
+            {
+                this.keys[gap] = k;
+                this.positions[gap] = this.positions[next];
+                gap = next;
+            }
+            next = (next + 1) & this.mask;
+        }
+        this.keys[gap] = null;
+    }
+
+    private void insert(String key, int position)
+    {
+        int slot = KeyIndex.hash(key) & this.mask;
+        while (this.keys[slot] != null)
+        {
+            slot = (slot + 1) & this.mask;
+        }
+        this.keys[slot] = key;
+        this.positions[slot] = position;
+    }
+
+    private void resize(int capacity)
+    {
+        String[] oldKeys = this.keys;
+        int[] oldPositions = this.positions;
+        this.allocate(capacity);
+        for (int s = 0; s < oldKeys.length; s++)
+        {
+            if (oldKeys[s] != null)
+            {
+                this.insert(oldKeys[s], oldPositions[s]);
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * LazyDataArray.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+/**
+ * A copy-on-write clone of an array.
+ * <p>
+ * This works in the same way as a {@link LazyDataSet}: the clone shares the
+ * source until it is changed or a nested data set or array is got out of it,
+ * and then only this level is copied.  The same rules apply to changing the
+ * source.
+ * <p>
+ * Create a lazy clone with {@link DataFactory#lazyClone(DataArray)}.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public class LazyDataArray
+        extends BaseDataArray
+{
+    /** the shared source, {@code null} once the clone has been copied */
+    private volatile DataArray source;
+
+    /**
+     * Create a lazy clone of an array.
+     * @param factory the factory for the clone
+     * @param source the array to clone
+     */
+    LazyDataArray(DataFactory factory, DataArray source)
+    {
+        super(factory);
+        this.source = source;
+    }
+
+    @Override
+    public synchronized DataArray add(int index, DataValue value)
+    {
+        this.copy();
+        return super.add(index, value);
+    }
+
+    /**
+     * Copy the clone into its own storage, if it has not already been copied.
+     * <p>
+     * Each nested data set or array is not copied but given a lazy clone of
+     * its own.
+     */
+    private void copy()
+    {
+        DataArray shared = this.source;
+        if (shared != null)
+        {
+            this.source = null;
+            DataFactory factory = this.factory();
+            for (int v = 0; v < shared.size(); v++)
+            {
+                super.add(v, LazyDataSet.share(factory, shared.get(v)));
+            }
+        }
+    }
+
+    /**
+     * Compare the clone to an object.
+     * <p>
+     * Until the clone is copied this compares the source, so the clone is not
+     * copied to be read.
+     * @param obj object to compare to
+     * @return {@code true} if the objects are equal, otherwise {@code false}
+     */
+    @Override
+    public synchronized boolean equals(Object obj)
+    {
+        DataArray shared = this.source;
+        if (this == obj || shared == null)
+        {
+            return super.equals(obj);
+        }
+        if (obj instanceof LazyDataArray &&
+                ((LazyDataArray)obj).shared() == shared)
+        {
+            return true;
+        }
+        return shared.equals(obj);
+    }
+
+    @Override
+    public synchronized DataValue get(int index)
+    {
+        DataArray shared = this.source;
+        if (shared == null)
+        {
+            return super.get(index);
+        }
+        DataValue value = shared.get(index);
+        if (LazyDataSet.nested(value))
+        {
+            this.copy();
+            return super.get(index);
+        }
+        return this.factory().convert(value);
+    }
+
+    /**
+     * Get the hash code, which is the hash code of the source until the clone
+     * is copied.
+     * @return the hash code
+     */
+    @Override
+    public synchronized int hashCode()
+    {
+        DataArray shared = this.source;
+        return shared != null ?
+                shared.hashCode() :
+                super.hashCode();
+    }
+
+    /**
+     * Check if the clone still shares its source.
+     * @return {@code true} if the clone has not been copied, otherwise
+     *          {@code false}.
+     */
+    public boolean isShared()
+    {
+        return this.source != null;
+    }
+
+    @Override
+    public synchronized DataValue remove(int index)
+    {
+        this.copy();
+        return super.remove(index);
+    }
+
+    /**
+     * Get the source shared by the clone.
+     * @return the source, or {@code null} if the clone has been copied.
+     */
+    DataArray shared()
+    {
+        return this.source;
+    }
+
+    @Override
+    public synchronized int size()
+    {
+        DataArray shared = this.source;
+        return shared != null ?
+                shared.size() :
+                super.size();
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * LazyDataSet.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+/**
+ * A copy-on-write clone of a data set.
+ * <p>
+ * The clone shares the source until it is first changed.  Reads of simple
+ * values go straight to the source; only when an item is changed, or a
+ * nested data set or array is got out of it, is the clone copied into a data
+ * set of its own.  Even then only this level is copied: each nested data set
+ * and array becomes another lazy clone of the matching part of the source.
+ * The cost of a clone is therefore in proportion to the part of it that is
+ * used, not the size of the source.
+ * <p>
+ * The source is never changed by the clone, and as the factory only shares a
+ * source that cannot change, such as a {@link SealedDataSet} or a persistent
+ * data set, the clone never sees a change made elsewhere.  Any other source
+ * is cloned in full.  A lazy clone of a lazy clone shares the same source, so
+ * either of them can be changed without the other seeing it.
+ * <p>
+ * Create a lazy clone with {@link DataFactory#lazyClone(DataSet)}.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public class LazyDataSet
+        extends BaseDataSet
+{
+    /** the shared source, {@code null} once the clone has been copied */
+    private volatile DataSet source;
+    /** the copy, {@code null} until the clone is copied */
+    private DataSet copy;
+
+    /**
+     * Create a lazy clone of a data set.
+     * @param factory the factory for the clone
+     * @param source the data set to clone
+     */
+    LazyDataSet(DataFactory factory, DataSet source)
+    {
+        super(factory);
+        this.source = source;
+    }
+
+    @Override
+    public synchronized boolean contains(String key)
+    {
+        return this.source != null ?
+                this.source.contains(key) :
+                this.copy.contains(key);
+    }
+
+    /**
+     * Copy the clone, if it has not already been copied.
+     * <p>
+     * Each nested data set or array is not copied but given a lazy clone of
+     * its own.
+     * @return the copy
+     */
+    private DataSet copy()
+    {
+        if (this.copy == null)
+        {
+            DataFactory factory = this.factory();
+            DataSet copy = factory.getDataSet(this.source.size());
+            for (DataItem item : this.source)
+            {
+                copy.put(factory.getDataItem(item.getKey(),
+                        LazyDataSet.share(factory, item.getValue())));
+            }
+            this.copy = copy;
+            this.source = null;
+        }
+        return this.copy;
+    }
+
+    /**
+     * Compare the clone to an object.
+     * <p>
+     * Until the clone is copied this compares the source, so the clone is not
+     * copied to be read.
+     * @param obj object to compare to
+     * @return {@code true} if the objects are equal, otherwise {@code false}
+     */
+    @Override
+    public synchronized boolean equals(Object obj)
+    {
+        if (this == obj)
+        {
+            return true;
+        }
+        if (this.source == null)
+        {
+            return super.equals(obj);
+        }
+        if (obj instanceof LazyDataSet &&
+                ((LazyDataSet)obj).shared() == this.source)
+        {
+            return true;
+        }
+        return this.source.equals(obj);
+    }
+
+    @Override
+    public synchronized DataItem get(String key)
+    {
+        if (this.source == null)
+        {
+            return this.copy.get(key);
+        }
+        DataItem item = this.source.get(key);
+        if (item == null)
+        {
+            return null;
+        }
+        if (LazyDataSet.nested(item.getValue()))
+        {
+            return this.copy().get(key);
+        }
+        return this.factory().convert(item);
+    }
+
+    @Override
+    public synchronized DataItem get(int index)
+    {
+        if (this.source == null)
+        {
+            return this.copy.get(index);
+        }
+        DataItem item = this.source.get(index);
+        if (item == null)
+        {
+            return null;
+        }
+        if (LazyDataSet.nested(item.getValue()))
+        {
+            return this.copy().get(index);
+        }
+        return this.factory().convert(item);
+    }
+
+    /**
+     * Get the hash code, which is the hash code of the source until the clone
+     * is copied.
+     * @return the hash code
+     */
+    @Override
+    public synchronized int hashCode()
+    {
+        return this.source != null ?
+                this.source.hashCode() :
+                super.hashCode();
+    }
+
+    /**
+     * Check if the clone still shares its source.
+     * @return {@code true} if the clone has not been copied, otherwise
+     *          {@code false}.
+     */
+    public synchronized boolean isShared()
+    {
+        return this.source != null;
+    }
+
+    @Override
+    public synchronized boolean isEmpty()
+    {
+        return this.source != null ?
+                this.source.isEmpty() :
+                this.copy.isEmpty();
+    }
+
+    @Override
+    public synchronized String[] keys()
+    {
+        return this.source != null ?
+                this.source.keys() :
+                this.copy.keys();
+    }
+
+    /**
+     * Check if a value is a data set or an array, that would need to be
+     * cloned before it is given out.
+     * @param value the value to check
+     * @return {@code true} if the value is nested, otherwise {@code false}.
+     */
+    static boolean nested(DataValue value)
+    {
+        DataType type = value.getType();
+        return DataType.DATA_SET.equals(type) || DataType.ARRAY.equals(type);
+    }
+
+    @Override
+    public synchronized DataSet put(DataItem item)
+    {
+        this.copy().put(item);
+        return this;
+    }
+
+    @Override
+    public synchronized DataSet put(DataSet data)
+    {
+        this.copy().put(data);
+        return this;
+    }
+
+    @Override
+    public synchronized DataSet putAll(DataSet data, MergeStrategy strategy)
+    {
+        this.copy().putAll(data, strategy);
+        return this;
+    }
+
+    @Override
+    public synchronized DataItem remove(String key)
+    {
+        return this.copy().remove(key);
+    }
+
+    @Override
+    public synchronized DataItem remove(int index)
+    {
+        return this.copy().remove(index);
+    }
+
+    /**
+     * Get the source shared by the clone.
+     * @return the source, or {@code null} if the clone has been copied.
+     */
+    DataSet shared()
+    {
+        return this.source;
+    }
+
+    /**
+     * Share a value with a clone.
+     * <p>
+     * A nested data set or array is given a lazy clone, any other value is
+     * converted for the factory.
+     * @param factory the factory for the clone
+     * @param value the value to share
+     * @return the value for the clone
+     */
+    static DataValue share(DataFactory factory, DataValue value)
+    {
+        switch (value.getType())
+        {
+            case DATA_SET :
+            {
+                return factory.getDataValue(factory.lazyClone(value.getDataSet()));
+            }
+            case ARRAY :
+            {
+                return factory.getDataValue(factory.lazyClone(value.getArray()));
+            }
+            default :
+            {
+                return factory.convert(value);
+            }
+        }
+    }
+
+    @Override
+    public synchronized int size()
+    {
+        return this.source != null ?
+                this.source.size() :
+                this.copy.size();
+    }
+}
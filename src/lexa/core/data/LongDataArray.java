@@ -0,0 +1,226 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * LongDataArray.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+import java.util.Arrays;
+
+/**
+ * A {@link DataArray} of longs held in a {@code long[]}.
+ * <p>
+ * Each value takes the space of a {@code long}; there is no {@link DataValue}
+ * or boxed object held for it.  {@link #getLong(int) getLong} and
+ * {@link #addLong(long) addLong} read and write the values directly, while
+ * {@link #get(int) get} returns a {@link LongDataValue} for the value so the
+ * array can be used as any other {@link DataArray}.
+ * <p>
+ * Only longs can be added, any other type of value throws an
+ * {@link IllegalArgumentException}.  {@link lexa.core.data.io.DataOutput}
+ * writes the values as a single packed block.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public class LongDataArray
+        extends BaseDataArray
+{
+    /** the storage for an array with no values */
+    private static final long[] NO_VALUES = new long[0];
+    /** the smallest storage allocated */
+    private static final int MIN_CAPACITY = 16;
+
+    /** the values, only the first {@link #size} are in use */
+    private long[] values;
+    /** the number of values */
+    private int size;
+
+    /**
+     * Create an empty array for the {@link ArrayFactory}.
+     */
+    public LongDataArray()
+    {
+        this(ArrayFactory.factory);
+    }
+
+    /**
+     * Create an array for the {@link ArrayFactory} holding a list of values.
+     * @param values the values for the array
+     */
+    public LongDataArray(long ... values)
+    {
+        this(ArrayFactory.factory, values);
+    }
+
+    /**
+     * Create an array for a factory holding a list of values.
+     * @param factory the factory the values belong to
+     * @param values the values for the array
+     */
+    public LongDataArray(DataFactory factory, long ... values)
+    {
+        super(factory);
+        this.values = values.length == 0 ?
+                LongDataArray.NO_VALUES :
+                values.clone();
+        this.size = values.length;
+    }
+
+    /**
+     * Add a value to the array at a given position.
+     * @param index the position for the value
+     * @param value the value to add, it must be a long
+     * @return this {@link DataArray}
+     * @throws IllegalArgumentException if the value is not a long
+     */
+    @Override
+    public DataArray add(int index, DataValue value)
+    {
+        if (!value.getType().equals(DataType.LONG))
+        {
+            throw new IllegalArgumentException(
+                    "Only longs can be added to a LongDataArray");
+        }
+        return this.addLong(index, value.getLong(0L));
+    }
+
+    /**
+     * Add a value to the end of the array.
+     * @param value the value to add
+     * @return this {@link DataArray}
+     */
+    public LongDataArray addLong(long value)
+    {
+        return this.addLong(this.size, value);
+    }
+
+    /**
+     * Add a value to the array at a given position.
+     * @param index the position for the value
+     * @param value the value to add
+     * @return this {@link DataArray}
+     */
+    public LongDataArray addLong(int index, long value)
+    {
+        if (index < 0 || index > this.size)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        if (this.size == this.values.length)
+        {
+            this.values = Arrays.copyOf(this.values,
+                    Math.max(LongDataArray.MIN_CAPACITY, this.size + (this.size >> 1)));
+        }
+        if (index < this.size)
+        {
+            System.arraycopy(this.values, index,
+                    this.values, index + 1, this.size - index);
+        }
+        this.values[index] = value;
+        this.size++;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (obj instanceof LongDataArray)
+        {
+            LongDataArray other = (LongDataArray)obj;
+            if (this.size != other.size)
+            {
+                return false;
+            }
+            for (int i = 0; i < this.size; i++)
+            {
+                if (this.values[i] != other.values[i])
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return super.equals(obj);
+    }
+
+    /**
+     * Get the value at a position.
+     * <p>The value is wrapped in a new {@link LongDataValue}.
+     * @param index position of required value
+     * @return the value corresponding to the position
+     */
+    @Override
+    public DataValue get(int index)
+    {
+        return this.factory().getDataValue(this.getLong(index));
+    }
+
+    /**
+     * Get the value at a position without wrapping it.
+     * @param index position of required value
+     * @return the value corresponding to the position
+     */
+    public long getLong(int index)
+    {
+        if (index < 0 || index >= this.size)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        return this.values[index];
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hash = 7;
+        for (int i = 0; i < this.size; i++)
+        {
+            hash = hash * 31 + DataHash.mix(Long.hashCode(this.values[i]));
+        }
+        return hash;
+    }
+
+    @Override
+    public DataValue remove(int index)
+    {
+        DataValue removed = this.get(index);
+        System.arraycopy(this.values, index + 1,
+                this.values, index, this.size - index - 1);
+        this.size--;
+        return removed;
+    }
+
+    /**
+     * Set the value at a position.
+     * @param index position of the value
+     * @param value the new value
+     * @return the previous value
+     */
+    public long set(int index, long value)
+    {
+        long previous = this.getLong(index);
+        this.values[index] = value;
+        return previous;
+    }
+
+    @Override
+    public int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Get a copy of the values.
+     * @return an array holding the values in order
+     */
+    public long[] toArray()
+    {
+        return Arrays.copyOf(this.values, this.size);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * LongDataValue.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+/**
+ * A {@link DataValue} holding a {@code long} without boxing it.
+ * <p>
+ * The value is read with {@link #getLong(long) getLong}; it is only boxed when
+ * it is asked for as an object.  Instances are created by
+ * {@link DataFactory#getDataValue(long)} and belong to that factory.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public final class LongDataValue
+        extends BaseDataValue
+{
+    /** the value being represented */
+    private final long value;
+
+    /**
+     * Create a value for a {@code long}.
+     * @param factory the factory for the value
+     * @param value the contained value
+     */
+    public LongDataValue(DataFactory factory, long value)
+    {
+        super(factory, DataType.LONG);
+        this.value = value;
+    }
+
+    @Override
+    public int compareTo(DataValue to)
+    {
+        if (to instanceof LongDataValue)
+        {
+            LongDataValue other = (LongDataValue)to;
+            return Long.compare(this.value, other.value);
+        }
+        return super.compareTo(to);
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (obj instanceof LongDataValue)
+        {
+            LongDataValue other = (LongDataValue)obj;
+            return this.value == other.value;
+        }
+        return super.equals(obj);
+    }
+
+    @Override
+    public Long getLong()
+    {
+        return this.value;
+    }
+
+    @Override
+    public long getLong(long defaultValue)
+    {
+        return this.value;
+    }
+
+    @Override
+    public Object getObject()
+    {
+        return this.value;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Long.hashCode(this.value);
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * MergeStrategy.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+/**
+ * How {@link DataSet#putAll(DataSet, MergeStrategy) putAll} handles a key that
+ * is already in the data set.
+ * <p>
+ * A key that is not in the data set is always added.  For a key that is, the
+ * strategy is given the existing value and the incoming value, and returns
+ * the value to keep.  The data set has already found the item, so a strategy
+ * never looks the key up again.  Nested data sets and arrays are changed in
+ * place, so they keep their identity and no new item is needed for them.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public enum MergeStrategy
+{
+    /** The incoming value replaces the existing value. */
+    OVERWRITE
+    {
+        @Override
+        public DataValue merge(DataValue existing, DataValue incoming)
+        {
+            return incoming;
+        }
+    },
+    /** The existing value is kept and the incoming value is ignored. */
+    KEEP_EXISTING
+    {
+        @Override
+        public DataValue merge(DataValue existing, DataValue incoming)
+        {
+            return existing;
+        }
+    },
+    /**
+     * Nested data sets are merged into the existing data set with the same
+     * strategy, any other value is replaced.
+     */
+    DEEP_MERGE
+    {
+        @Override
+        public DataValue merge(DataValue existing, DataValue incoming)
+        {
+            if (MergeStrategy.both(existing, incoming, DataType.DATA_SET))
+            {
+                existing.getDataSet().putAll(incoming.getDataSet(), this);
+                return existing;
+            }
+            return incoming;
+        }
+    },
+    /**
+     * Arrays are added to the end of the existing array and nested data sets
+     * are merged with the same strategy, any other value is replaced.
+     */
+    CONCATENATE
+    {
+        @Override
+        public DataValue merge(DataValue existing, DataValue incoming)
+        {
+            if (MergeStrategy.both(existing, incoming, DataType.ARRAY))
+            {
+                DataArray array = existing.getArray();
+                DataArray add = incoming.getArray();
+                if (add == array)
+                {
+                    // an array cannot be added to itself while it is read,
+                    // as when a data set is merged with itself
+                    add = array.factory().clone(add);
+                }
+                array.addAll(add);
+                return existing;
+            }
+            if (MergeStrategy.both(existing, incoming, DataType.DATA_SET))
+            {
+                existing.getDataSet().putAll(incoming.getDataSet(), this);
+                return existing;
+            }
+            return incoming;
+        }
+    };
+
+    /**
+     * Merge an incoming value with the value already held for its key.
+     * @param existing the value already held
+     * @param incoming the value being put
+     * @return the value to hold for the key; this is {@code existing} if the
+     *          existing value is kept, including when it has been changed in
+     *          place.
+     */
+    public abstract DataValue merge(DataValue existing, DataValue incoming);
+
+    /**
+     * Check if two values are both of a type.
+     * @param existing the value already held
+     * @param incoming the value being put
+     * @param type the type to check for
+     * @return {@code true} if both values are of the type, otherwise
+     *          {@code false}.
+     */
+    private static boolean both(DataValue existing, DataValue incoming, DataType type)
+    {
+        return type.equals(existing.getType()) && type.equals(incoming.getType());
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * PositionSpliterator.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * A {@link Spliterator} over a range of positions.
+ * <p>
+ * Each element is got by its position, so the range can be split in half
+ * without touching the elements.  This is used for a {@link DataSet} or
+ * {@link DataArray} that does not expose its storage.  The size is fixed when
+ * the spliterator is created, so like the iterators it should not be used
+ * while the data is being changed.
+ *
+ * @param <T> the type of the elements
+ * @author william
+ * @since 2026-10
+ */
+final class PositionSpliterator<T>
+        implements Spliterator<T>
+{
+    /** get the element at a position */
+    private final IntFunction<T> source;
+    /** the next position */
+    private int index;
+    /** one past the last position */
+    private final int fence;
+
+    /**
+     * Create a spliterator over a range of positions.
+     * @param source gets the element at a position
+     * @param origin the first position
+     * @param fence one past the last position
+     */
+    PositionSpliterator(IntFunction<T> source, int origin, int fence)
+    {
+        this.source = source;
+        this.index = origin;
+        this.fence = fence;
+    }
+
+    @Override
+    public int characteristics()
+    {
+        return Spliterator.ORDERED |
+                Spliterator.SIZED |
+                Spliterator.SUBSIZED |
+                Spliterator.NONNULL;
+    }
+
+    @Override
+    public long estimateSize()
+    {
+        return this.fence - this.index;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action)
+    {
+        int end = this.fence;
+        for (int i = this.index; i < end; i++)
+        {
+            action.accept(this.source.apply(i));
+        }
+        this.index = end;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action)
+    {
+        if (this.index >= this.fence)
+        {
+            return false;
+        }
+        action.accept(this.source.apply(this.index++));
+        return true;
+    }
+
+    @Override
+    public Spliterator<T> trySplit()
+    {
+        int mid = (this.index + this.fence) >>> 1;
+        if (mid <= this.index)
+        {
+            return null;
+        }
+        Spliterator<T> prefix = new PositionSpliterator<>(this.source, this.index, mid);
+        this.index = mid;
+        return prefix;
+    }
+}
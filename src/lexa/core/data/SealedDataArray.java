@@ -0,0 +1,127 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * SealedDataArray.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+import java.util.Arrays;
+import java.util.Spliterator;
+
+/**
+ * A read only {@link ArrayDataArray}.
+ * <p>
+ * The values are sealed when the array is constructed, any nested
+ * {@link DataSet} or {@link DataArray} is sealed as well.  Reads take no lock
+ * and return the same values every time.
+ *
+ * @author william
+ * @since 2026-10
+ * @see SealedDataSet
+ */
+public class SealedDataArray
+        extends ArrayDataArray
+{
+    /** the sealed values */
+    private final DataValue[] values;
+    /** the hash code, {@code 0} until it is first needed */
+    private int hash;
+
+    /**
+     * Create a sealed copy of an array.
+     * @param array the array to seal
+     */
+    public SealedDataArray(DataArray array)
+    {
+        super();
+        this.values = new DataValue[array == null ? 0 : array.size()];
+        for (int i = 0; i < this.values.length; i++)
+        {
+            DataValue value = array.get(i);
+            Object sealed = SealedDataSet.sealed(value.getObject());
+            this.values[i] = sealed != value.getObject() ?
+                    new ArrayDataValue(sealed) :
+                    ArrayFactory.factory.convert(value);
+        }
+    }
+
+    /**
+     * Get the hash code, which is worked out once as the array cannot change.
+     * @return the hash code
+     */
+    @Override
+    public int hashCode()
+    {
+        int hash = this.hash;
+        if (hash == 0)
+        {
+            hash = super.hashCode();
+            this.hash = hash;
+        }
+        return hash;
+    }
+
+    @Override
+    protected int cachedHash()
+    {
+        return this.hash;
+    }
+
+    @Override
+    protected boolean isImmutable()
+    {
+        return true;
+    }
+
+    /**
+     * Throws an {@link UnsupportedOperationException} if called.
+     * @param index the position for the object
+     * @param value the value to add
+     * @return no return is made, this method always throws an exception.
+     */
+    @Override
+    public DataArray add(int index, DataValue value)
+    {
+        throw new UnsupportedOperationException(
+                "Cannot change the content of a sealed array");
+    }
+
+    @Override
+    public DataValue get(int index)
+    {
+        if (index < 0 || index >= this.values.length)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        return this.values[index];
+    }
+
+    /**
+     * Throws an {@link UnsupportedOperationException} if called.
+     * @param index position of value to be removed
+     * @return no return is made, this method always throws an exception.
+     */
+    @Override
+    public DataValue remove(int index)
+    {
+        throw new UnsupportedOperationException(
+                "Cannot change the content of a sealed array");
+    }
+
+    @Override
+    public int size()
+    {
+        return this.values.length;
+    }
+
+    @Override
+    public Spliterator<DataValue> spliterator()
+    {
+        return Arrays.spliterator(this.values);
+    }
+}
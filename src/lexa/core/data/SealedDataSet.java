@@ -18,8 +18,18 @@
  */
 package lexa.core.data;
 
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Spliterator;
+
 /**
  * A read only {@link ArrayDataSet}.
+ * <p>
+ * The data is sealed once, when the {@link SealedDataSet} is constructed.
+ * Every nested {@link DataSet} is sealed and every nested {@link DataArray}
+ * is held as a {@link SealedDataArray}, so nothing in the tree can be changed.
+ * As the content never changes, reads take no lock, do not allocate and
+ * return the same items every time.
  *
  * @author  William
  * @since   2009-08
@@ -27,42 +37,130 @@ package lexa.core.data;
 public class SealedDataSet
 		extends ArrayDataSet
 {
+	/** the sealed items */
+	private final DataItem[] items;
+	/** the position of each key in {@link #items} */
+	private final KeyIndex index;
+	/** the hash code, {@code 0} until it is first needed */
+	private int hash;
 
 	/**
-	 * Constructor that wraps the data to be sealed.
+	 * Constructor that seals a copy of the data.
 	 *
 	 * <p>No modification can be made to a sealed data set, though it can be cloned.
 	 * <p>The cloned data set can be modified.
 	 *
 	 * @param   data
-	 *          a {@link ArrayDataSet} to be sealed.
+	 *          a {@link DataSet} to be sealed.
 	 */
 	public SealedDataSet(DataSet data)
 	{
-		super(data);
+		super(ArrayFactory.factory);
+		int size = data == null ? 0 : data.size();
+		this.items = new DataItem[size];
+		this.index = new KeyIndex(size);
+		for (int i = 0; i < size; i++)
+		{
+			DataItem item = SealedDataSet.sealed(data.get(i));
+			this.items[i] = item;
+			this.index.add(item.getKey(), i);
+		}
 	}
 
-	
 	/**
-	 * Get a ArrayDataItem from the list for the supplied key.
+	 * Get the hash code, which is worked out once as the data set cannot change.
+	 * @return the hash code
+	 */
+	@Override
+	public int hashCode()
+	{
+		int hash = this.hash;
+		if (hash == 0)
+		{
+			hash = super.hashCode();
+			this.hash = hash;
+		}
+		return hash;
+	}
+
+	@Override
+	protected int cachedHash()
+	{
+		return this.hash;
+	}
+
+	@Override
+	protected boolean isImmutable()
+	{
+		return true;
+	}
+
+	@Override
+	public boolean contains(String key)
+	{
+		return (this.index.find(key) != -1);
+	}
+
+	/**
+	 * Get a {@link DataItem} from the list for the supplied key.
 	 *
-	 * <p>If the value is a {@link ArrayDataSet} it is wrapped in a {@link SealedDataSet}.
+	 * <p>If the value is a {@link DataSet} it is a {@link SealedDataSet}.
 	 *
 	 * @param   key
-	 *          the key for the {@link ArrayDataItem}.
+	 *          the key for the {@link DataItem}.
 	 *
 	 * @return  the item represented by {@code key}.
 	 */
 	@Override
-	public synchronized DataItem get(String key)
+	public DataItem get(String key)
 	{
-		return sealed(super.get(key));
+		int position = this.index.find(key);
+		if (position == -1)
+		{
+			return null;
+		}
+		return this.items[position];
 	}
 
 	@Override
-	public synchronized DataItem get(int index)
+	public DataItem get(int index)
 	{
-		return sealed(super.get(index));
+		if (index < 0 || index >= this.items.length)
+		{
+			return null;
+		}
+		return this.items[index];
+	}
+
+	@Override
+	public boolean isEmpty()
+	{
+		return (this.items.length == 0);
+	}
+
+	@Override
+	public Iterator<DataItem> iterator()
+	{
+		return new DataSetIterator(this);
+	}
+
+	@Override
+	public Spliterator<DataItem> spliterator()
+	{
+		return Arrays.spliterator(this.items);
+	}
+
+	@Override
+	public String[] keys()
+	{
+		String[] keys = new String[this.items.length];
+		for (int item = 0;
+				item < this.items.length;
+				item++)
+		{
+			keys[item] = this.items[item].getKey();
+		}
+		return keys;
 	}
 
 	/**
@@ -75,7 +173,25 @@ public class SealedDataSet
 	 * @return  the {@link ArrayDataSet} the item was added to.
 	 */
 	@Override
-	public synchronized DataSet put(DataItem item)
+	public DataSet put(DataItem item)
+	{
+		throw new UnsupportedOperationException(
+				"Cannot change the content of a sealed data list");
+	}
+
+	/**
+	 * Put the contents of another {@link DataSet} into this one.
+	 *
+	 * <p>Throws an {@link UnsupportedOperationException} if called.
+	 *
+	 * @param   data
+	 *          the data to be added.
+	 * @param   strategy
+	 *          how to merge an item with a key that already exists.
+	 * @return  no return is made, this method always throws an exception.
+	 */
+	@Override
+	public DataSet putAll(DataSet data, MergeStrategy strategy)
 	{
 		throw new UnsupportedOperationException(
 				"Cannot change the content of a sealed data list");
@@ -92,24 +208,65 @@ public class SealedDataSet
 	 * @return  no return is made, this method always throws an exception.
 	 */
 	@Override
-	public synchronized DataItem remove(String key)
+	public DataItem remove(String key)
+	{
+		throw new UnsupportedOperationException(
+				"Cannot change the content of a sealed data list");
+	}
+
+	/**
+	 * Removes the specified element from this {@link ArrayDataSet}.
+	 *
+	 * <p>Throws an {@link UnsupportedOperationException} if called.
+	 *
+	 * @param   index
+	 *          the index to the item to remove
+	 *
+	 * @return  no return is made, this method always throws an exception.
+	 */
+	@Override
+	public DataItem remove(int index)
 	{
 		throw new UnsupportedOperationException(
 				"Cannot change the content of a sealed data list");
 	}
 
+	@Override
+	public int size()
+	{
+		return this.items.length;
+	}
+
 	/**
 	Ensure a {@link DataItem} is sealed
 	@param item the item to seal
 	@return the sealed item
 	*/
-	private DataItem sealed(DataItem item)
+	private static DataItem sealed(DataItem item)
+	{
+		Object value = SealedDataSet.sealed(item.getObject());
+		if (value != item.getObject())
+		{
+			return new ArrayDataItem(item.getKey(), value);
+		}
+		return ArrayFactory.factory.convert(item);
+	}
+
+	/**
+	Ensure an object is sealed
+	@param object the object to seal
+	@return the sealed object
+	*/
+	static Object sealed(Object object)
 	{
-		if (item != null && item.getType()
-				.equals(DataType.DATA_SET))
+		if (object instanceof DataSet && !(object instanceof SealedDataSet))
+		{
+			return new SealedDataSet((DataSet)object);
+		}
+		if (object instanceof DataArray && !(object instanceof SealedDataArray))
 		{
-			return new ArrayDataItem(item.getKey(), new SealedDataSet(item.getDataSet()));
+			return new SealedDataArray((DataArray)object);
 		}
-		return item;
+		return object;
 	}
 }
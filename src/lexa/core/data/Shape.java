@@ -0,0 +1,271 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * Shape.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The layout of the keys in a {@link ShapeDataSet}.
+ * <p>
+ * A shape is an ordered list of keys and a hashed index from each key to its
+ * slot in the list.  Data sets built with the same keys in the same order
+ * share a single shape, so each of them only needs to hold its values.
+ * <p>
+ * Adding a key moves a data set to a successor shape.  The successors are
+ * cached in the shape, so a second data set adding the same key gets the
+ * same successor and every record with the same layout ends up sharing the
+ * same shape.  Shared shapes are immutable and can be read from any thread.
+ * <p>
+ * Records with a very large number of keys, or keys that vary from record to
+ * record, would fill the cache with shapes that are never shared.  Once a
+ * shape has more than {@value #MAX_SHARED_KEYS} keys, or more than
+ * {@value #MAX_TRANSITIONS} successors, the data set is given a shape of its
+ * own that it changes in place.
+ * <p>
+ * Those limits bound the successors of one shape, but not the number of
+ * shapes, which are never evicted: many records with distinct keys can still
+ * build a deep tree of shared shapes.  So no more than {@value #MAX_SHAPES}
+ * shared shapes are ever created; after that every new layout is given a
+ * shape of its own, and only the shapes already built are shared.
+ *
+ * @author william
+ * @since 2026-10
+ * @see ShapeDataSet
+ */
+public final class Shape
+{
+    /** the most keys a shape can have and still be shared */
+    static final int MAX_SHARED_KEYS = 64;
+    /** the most successors that are cached for a shape */
+    static final int MAX_TRANSITIONS = 32;
+    /** the most shared shapes that are created */
+    static final int MAX_SHAPES = 1 << 16;
+
+    /** the number of shared shapes created */
+    private static final AtomicInteger SHAPES = new AtomicInteger();
+
+    /** the shape with no keys */
+    static final Shape ROOT = new Shape();
+
+    /** the keys in slot order, may be longer than {@link #size} */
+    private String[] keys;
+    /** the number of keys */
+    private int size;
+    /** the slot of each key */
+    private final KeyIndex index;
+    /** the cached successors, {@code null} if the shape is not shared */
+    private final ConcurrentHashMap<String, Shape> transitions;
+
+    /**
+     * Create the root shape.
+     */
+    private Shape()
+    {
+        this.keys = new String[0];
+        this.size = 0;
+        this.index = new KeyIndex(0);
+        this.transitions = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Create a shared successor to a shape.
+     * @param parent the shape being extended
+     * @param key the key added to the end of the parent's keys
+     */
+    private Shape(Shape parent, String key)
+    {
+        this.keys = Arrays.copyOf(parent.keys, parent.size + 1);
+        this.keys[parent.size] = key;
+        this.size = parent.size + 1;
+        this.index = parent.index.copy();
+        this.index.add(key, parent.size);
+        this.transitions = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Create an unshared copy of a shape.
+     * @param clone the shape to copy
+     * @param capacity the number of keys to make room for
+     */
+    private Shape(Shape clone, int capacity)
+    {
+        this.keys = Arrays.copyOf(clone.keys, Math.max(capacity, clone.size));
+        this.size = clone.size;
+        this.index = clone.index.copy();
+        this.transitions = null;
+    }
+
+    /**
+     * Get the key held in a slot.
+     * @param slot the slot
+     * @return the key
+     * @throws IndexOutOfBoundsException if the slot is not in the shape
+     */
+    public String key(int slot)
+    {
+        if (slot < 0 || slot >= this.size)
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        return this.keys[slot];
+    }
+
+    /**
+     * Get the keys in slot order.
+     * @return a copy of the keys
+     */
+    public String[] keys()
+    {
+        return Arrays.copyOf(this.keys, this.size);
+    }
+
+    /**
+     * Indicates if the shape can be shared by more than one data set.
+     * <p>An unshared shape belongs to a single data set and changes with it.
+     * @return {@code true} if the shape is shared and immutable
+     */
+    public boolean isShared()
+    {
+        return (this.transitions != null);
+    }
+
+    /**
+     * Get the number of keys in the shape.
+     * @return the number of keys
+     */
+    public int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Get the slot for a key.
+     * @param key the key to find
+     * @return the slot for the key, or {@code -1} if it is not in the shape.
+     */
+    public int slot(String key)
+    {
+        return this.index.find(key);
+    }
+
+    /**
+     * Get the shape with a key added to the end.
+     * <p>
+     * A shared shape returns its cached successor, an unshared shape adds
+     * the key to itself.  The key must not already be in the shape.
+     * @param key the key to add
+     * @return the shape with the key added
+     */
+    Shape with(String key)
+    {
+        if (!this.isShared())
+        {
+            this.append(key);
+            return this;
+        }
+        Shape next = this.transitions.get(key);
+        if (next != null)
+        {
+            return next;
+        }
+        if (this.size < Shape.MAX_SHARED_KEYS &&
+                this.transitions.size() < Shape.MAX_TRANSITIONS)
+        {
+            next = this.transitions.computeIfAbsent(key,
+                    (String k) -> Shape.reserve() ? new Shape(this, k) : null);
+            if (next != null)
+            {
+                return next;
+            }
+        }
+        Shape owned = new Shape(this, this.size * 2 + 1);
+        owned.append(key);
+        return owned;
+    }
+
+    /**
+     * Reserve one of the shared shapes.
+     * @return {@code true} if a shared shape can be created, or {@code false}
+     *          if they have all been used.
+     */
+    private static boolean reserve()
+    {
+        for (;;)
+        {
+            int shapes = Shape.SHAPES.get();
+            if (shapes >= Shape.MAX_SHAPES)
+            {
+                return false;
+            }
+            if (Shape.SHAPES.compareAndSet(shapes, shapes + 1))
+            {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Get the shape with the key in a slot removed.
+     * <p>
+     * A shared shape returns the shared shape for the remaining keys, an
+     * unshared shape removes the key from itself.  In both cases the keys
+     * after the slot move down by one.
+     * @param slot the slot to remove
+     * @return the shape without the key
+     */
+    Shape without(int slot)
+    {
+        if (!this.isShared())
+        {
+            this.index.remove(this.keys[slot]);
+            System.arraycopy(this.keys, slot + 1, this.keys, slot, this.size - slot - 1);
+            this.keys[--this.size] = null;
+            return this;
+        }
+        Shape shape = Shape.ROOT;
+        for (int s = 0; s < this.size; s++)
+        {
+            if (s != slot)
+            {
+                shape = shape.with(this.keys[s]);
+            }
+        }
+        return shape;
+    }
+
+    /**
+     * Get a shape that can be given to another data set.
+     * @return this shape if it is shared, otherwise an unshared copy
+     */
+    Shape share()
+    {
+        return this.isShared() ?
+                this :
+                new Shape(this, this.size);
+    }
+
+    /**
+     * Add a key to an unshared shape.
+     * @param key the key to add
+     */
+    private void append(String key)
+    {
+        if (this.size == this.keys.length)
+        {
+            this.keys = Arrays.copyOf(this.keys, this.size * 2 + 1);
+        }
+        this.keys[this.size] = key;
+        this.index.add(key, this.size);
+        this.size++;
+    }
+}
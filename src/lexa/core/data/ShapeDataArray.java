@@ -0,0 +1,48 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * ShapeDataArray.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+/**
+ * An array of values for a {@link ShapeDataSet}
+ *
+ * @author william
+ * @since 2026-10
+ */
+public class ShapeDataArray extends BaseDataArray
+{
+	/**
+	Create a new {@link ShapeDataArray}
+	The initial array has no values
+	*/
+	public ShapeDataArray()
+	{
+		super(ShapeFactory.factory);
+	}
+
+	/**
+	Create a new {@link DataArray} cloning the previous.
+	@param clone an array to clone.
+	*/
+	public ShapeDataArray(DataArray clone)
+	{
+		super(ShapeFactory.factory, clone);
+	}
+
+	/**
+	Create a new {@link DataArray} from an array of objects
+	The initial array has an entry for each object passed.
+	@param objects an array of objects to populate the array.
+	*/
+	public ShapeDataArray(Object ... objects)
+	{
+		super(ShapeFactory.factory, objects);
+	}
+}
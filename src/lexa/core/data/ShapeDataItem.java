@@ -0,0 +1,53 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * ShapeDataItem.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+/**
+ * A single item in a {@link ShapeDataSet}.
+ * The data set does not hold its items, an item is built as a view of a key
+ * and its value when one is asked for.
+ * @author William
+ * @since 2026-10
+ */
+public class ShapeDataItem
+		extends BaseDataItem
+{
+	/**
+	 * Create a new item
+	 * @param key The key for the item
+	 * @param value The value
+	 */
+	public ShapeDataItem(String key, Object value)
+	{
+		this(key, new ShapeDataValue(value));
+	}
+
+	/**
+	 * Create a new item
+	 * @param key The key for the item
+	 * @param value The value
+	 */
+	public ShapeDataItem(String key, DataValue value)
+	{
+		super(ShapeFactory.factory, key, value);
+	}
+
+	/**
+	 * Create a new item.
+	 * This clones an existing data item.
+	 *
+	 * @param clone An item to clone.
+	 */
+	public ShapeDataItem(DataItem clone)
+	{
+		this(clone.getKey(), clone.getValue());
+	}
+}
@@ -0,0 +1,238 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * ShapeDataSet.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+import java.util.Arrays;
+
+/**
+ * A data set for records that share the same keys.
+ * <p>
+ * The keys are held in a {@link Shape} that is shared by every data set with
+ * the same keys in the same order, and the data set itself holds only an
+ * array of values in slot order.  There is no {@link DataItem} or key held
+ * per entry, so a large number of records with the same layout take much
+ * less memory than the other data sets.
+ * <p>
+ * Getting a value by key is a lookup in the shape followed by an array read.
+ * The {@link #getValue(String) getValue} method and the typed getters return
+ * the stored value directly; {@link #get(String) get} and the iterator build
+ * a {@link DataItem} for the value each time they are called.
+ * <p>
+ * Adding a key moves the data set to a successor shape, removing a key moves
+ * it to the shape for the remaining keys.  Records should be built by adding
+ * their keys in the same order to get the most sharing.
+ *
+ * @author william
+ * @since 2026-10
+ * @see Shape
+ */
+public class ShapeDataSet
+        extends BaseDataSet
+{
+    /** the values for a data set with no keys */
+    private static final DataValue[] NO_VALUES = new DataValue[0];
+
+    /** the layout of the keys */
+    private Shape shape;
+    /** the values in slot order, may be longer than the shape */
+    private DataValue[] values;
+
+    /**
+     * Create a new {@link ShapeDataSet} with no entries.
+     */
+    public ShapeDataSet()
+    {
+        super(ShapeFactory.factory);
+        this.shape = Shape.ROOT;
+        this.values = ShapeDataSet.NO_VALUES;
+    }
+
+    /**
+     * Create a new {@link ShapeDataSet} containing a cloned list of entries.
+     * <p>
+     * Cloning another {@link ShapeDataSet} reuses its shape.
+     * @param clone The {@link DataSet} to clone.
+     */
+    public ShapeDataSet(DataSet clone)
+    {
+        this();
+        if (clone == null)
+        {
+            return; // nothing to copy
+        }
+        if (clone instanceof ShapeDataSet)
+        {
+            ShapeDataSet source = (ShapeDataSet)clone;
+            synchronized (source)
+            {
+                this.shape = source.shape.share();
+                this.values = new DataValue[source.shape.size()];
+                for (int slot = 0; slot < this.values.length; slot++)
+                {
+                    this.values[slot] = this.factory().clone(source.values[slot]);
+                }
+            }
+            return;
+        }
+        for (DataItem item : clone)
+        {
+            this.put(this.factory().clone(item));
+        }
+    }
+
+    @Override
+    public synchronized boolean contains(String key)
+    {
+        return (this.shape.slot(key) != -1);
+    }
+
+    @Override
+    public synchronized DataItem get(String key)
+    {
+        int slot = this.shape.slot(key);
+        if (slot == -1)
+        {
+            return null;
+        }
+        return new ShapeDataItem(this.shape.key(slot), this.values[slot]);
+    }
+
+    @Override
+    public synchronized DataItem get(int index)
+    {
+        if (index < 0 || index >= this.shape.size())
+        {
+            return null;
+        }
+        return new ShapeDataItem(this.shape.key(index), this.values[index]);
+    }
+
+    /**
+     * Get the value for a key without building a {@link DataItem}.
+     * @param key The key for the {@link DataValue}.
+     * @return If the item exists then the
+     * item's value, otherwise {@code null}.
+     */
+    @Override
+    public synchronized DataValue getValue(String key)
+    {
+        int slot = this.shape.slot(key);
+        if (slot == -1)
+        {
+            return null;
+        }
+        return this.values[slot];
+    }
+
+    @Override
+    public synchronized boolean isEmpty()
+    {
+        return (this.shape.size() == 0);
+    }
+
+    @Override
+    public synchronized String[] keys()
+    {
+        return this.shape.keys();
+    }
+
+    @Override
+    public synchronized DataSet put(DataItem item)
+    {
+        if (item != null)
+        {
+            this.set(item.getKey(),
+                    this.factory().convert(item.getValue()));
+        }
+        return this;
+    }
+
+    /**
+     * Put the supplied object into the {@link ShapeDataSet}
+     * using the supplied key.
+     * <p>
+     * The value is stored directly, no {@link DataItem} is built for it.
+     *
+     * @param key The key name for the item
+     * @param value The object value to add.
+     * @return  the {@link ShapeDataSet} the item was added to.
+     */
+    @Override
+    public synchronized DataSet put(String key, Object value)
+    {
+        this.set(SymbolTable.key(key),
+                (value instanceof DataValue) ?
+                        this.factory().convert((DataValue)value) :
+                        this.factory().getDataValue(value));
+        return this;
+    }
+
+    @Override
+    public synchronized DataItem remove(String key)
+    {
+        return this.remove(this.shape.slot(key));
+    }
+
+    @Override
+    public synchronized DataItem remove(int index)
+    {
+        if (index < 0 || index >= this.shape.size())
+        {
+            return null;
+        }
+        int size = this.shape.size();
+        DataItem removed = new ShapeDataItem(this.shape.key(index), this.values[index]);
+        this.shape = this.shape.without(index);
+        System.arraycopy(this.values, index + 1, this.values, index, size - index - 1);
+        this.values[size - 1] = null;
+        return removed;
+    }
+
+    /**
+     * Get the shape of the data set.
+     * <p>
+     * Two data sets with the same shared shape have the same keys in the same
+     * order.  An unshared shape belongs to this data set and changes with it.
+     * @return the shape of the data set
+     */
+    public synchronized Shape shape()
+    {
+        return this.shape;
+    }
+
+    @Override
+    public synchronized int size()
+    {
+        return this.shape.size();
+    }
+
+    /**
+     * Set the value for a key, adding the key to the shape if it is new.
+     * @param key the key
+     * @param value the value, already converted to this factory
+     */
+    private void set(String key, DataValue value)
+    {
+        int slot = this.shape.slot(key);
+        if (slot == -1)
+        {
+            slot = this.shape.size();
+            this.shape = this.shape.with(key);
+            if (slot == this.values.length)
+            {
+                // records with a shared shape are kept exactly sized
+                this.values = Arrays.copyOf(this.values,
+                        this.shape.isShared() ? slot + 1 : slot * 2 + 1);
+            }
+        }
+        this.values[slot] = value;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * =============================================================================
+ * Lexa - Property of William Norman-Walker
+ * -----------------------------------------------------------------------------
+ * ShapeFactory.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+/**
+ * Factory for records that share the same keys.
+ * <p>
+ * The {@link ShapeDataSet} shares the layout of its keys with every other
+ * data set that has the same keys, so large numbers of similar records can
+ * be held with little overhead.
+ * @author william
+ * @since 2026-10
+ */
+public class ShapeFactory
+        extends BaseFactory
+{
+    /** Handle to the  instance of the {@link ShapeFactory} */
+    public static ShapeFactory factory = new ShapeFactory();
+
+    private ShapeFactory() {} // keep in single, keep it simple
+
+    @Override
+    public DataArray getDataArray()
+    {
+        return new ShapeDataArray();
+    }
+
+    @Override
+    public DataItem getDataItem(String key, Object value)
+    {
+        return new ShapeDataItem(key, value);
+    }
+
+    @Override
+    public DataItem getDataItem(String key, DataValue value)
+    {
+        return new ShapeDataItem(key, value);
+    }
+
+    @Override
+    public DataSet getDataSet()
+    {
+        return new ShapeDataSet();
+    }
+
+    @Override
+    public DataValue getDataValue(Object object)
+    {
+        return new ShapeDataValue(object);
+    }
+}
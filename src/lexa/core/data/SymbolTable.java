@@ -0,0 +1,177 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * SymbolTable.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A bounded table of canonical strings.
+ * <p>
+ * When a large number of data sets share the same keys, or the same short
+ * string values, each of them normally holds its own copy of the string.
+ * Passing the strings through a {@link SymbolTable} replaces each copy with a
+ * single shared instance so the duplicates can be collected.
+ * <p>
+ * There are two optional global tables.  When a key table is set every
+ * {@link DataItem} built by any factory or decoder has its key canonicalised,
+ * so keys can also be compared by identity.  When a value table is set the
+ * decoders in {@link lexa.core.data.io} canonicalise the string values they
+ * read.  Both are unset by default.
+ * <p>
+ * A table stops adding new strings once it reaches its capacity, the strings
+ * already in it are still shared.  Lookups take no lock.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public final class SymbolTable
+{
+    /** the global table for keys, {@code null} if not used */
+    private static volatile SymbolTable keys;
+    /** the global table for string values, {@code null} if not used */
+    private static volatile SymbolTable values;
+
+    /**
+     * Set the global table used for the keys of every {@link DataItem}.
+     * @param table the table to use, or {@code null} to stop using one.
+     */
+    public static void setKeyTable(SymbolTable table)
+    {
+        SymbolTable.keys = table;
+    }
+
+    /**
+     * Get the global table used for the keys of every {@link DataItem}.
+     * @return the table or {@code null} if keys are not canonicalised.
+     */
+    public static SymbolTable getKeyTable()
+    {
+        return SymbolTable.keys;
+    }
+
+    /**
+     * Set the global table used for string values read by the decoders.
+     * @param table the table to use, or {@code null} to stop using one.
+     */
+    public static void setValueTable(SymbolTable table)
+    {
+        SymbolTable.values = table;
+    }
+
+    /**
+     * Get the global table used for string values read by the decoders.
+     * @return the table or {@code null} if values are not canonicalised.
+     */
+    public static SymbolTable getValueTable()
+    {
+        return SymbolTable.values;
+    }
+
+    /**
+     * Get the canonical instance of a key.
+     * @param key the key
+     * @return the canonical key, or {@code key} if there is no key table.
+     */
+    public static String key(String key)
+    {
+        SymbolTable table = SymbolTable.keys;
+        return table == null ? key : table.intern(key);
+    }
+
+    /**
+     * Get the canonical instance of a string value.
+     * @param value the value
+     * @return the canonical value, or {@code value} if there is no value table.
+     */
+    public static String value(String value)
+    {
+        SymbolTable table = SymbolTable.values;
+        return table == null ? value : table.intern(value);
+    }
+
+    /** the canonical strings */
+    private final ConcurrentHashMap<String, String> strings;
+    /** the most strings the table will hold */
+    private final int capacity;
+    /** the longest string the table will hold */
+    private final int maxLength;
+
+    /**
+     * Create a table for strings of any length.
+     * @param capacity the most strings the table will hold
+     */
+    public SymbolTable(int capacity)
+    {
+        this(capacity, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Create a table for strings up to a maximum length.
+     * @param capacity the most strings the table will hold
+     * @param maxLength the longest string the table will hold; longer strings
+     *          are returned unchanged.
+     */
+    public SymbolTable(int capacity, int maxLength)
+    {
+        if (capacity < 0 || maxLength < 0)
+        {
+            throw new IllegalArgumentException("Capacity and length cannot be negative");
+        }
+        this.strings = new ConcurrentHashMap<>();
+        this.capacity = capacity;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Remove all the strings from the table.
+     */
+    public void clear()
+    {
+        this.strings.clear();
+    }
+
+    /**
+     * Get the canonical instance of a string.
+     * <p>
+     * If the string is in the table the shared instance is returned.  If not,
+     * and the table is not full, the string is added and becomes the shared
+     * instance.  Otherwise the string itself is returned.
+     * @param string the string
+     * @return the canonical string.
+     */
+    public String intern(String string)
+    {
+        if (string == null || string.length() > this.maxLength)
+        {
+            return string;
+        }
+        String canonical = this.strings.get(string);
+        if (canonical != null)
+        {
+            return canonical;
+        }
+        if (this.strings.size() >= this.capacity)
+        {
+            return string;
+        }
+        canonical = this.strings.putIfAbsent(string, string);
+        return canonical == null ? string : canonical;
+    }
+
+    /**
+     * Get the number of strings in the table.
+     * @return the number of strings
+     */
+    public int size()
+    {
+        return this.strings.size();
+    }
+}
@@ -17,6 +17,7 @@ import lexa.core.data.DataSet;
 import lexa.core.data.ArrayDataItem;
 import lexa.core.data.ArrayDataSet;
 import lexa.core.data.DataType;
+import lexa.core.data.MergeStrategy;
 import lexa.core.data.exception.DataException;
 
 /**
@@ -103,6 +104,31 @@ public class ConfigDataSet
         return this;
 	}
 
+	/**
+	 * Put the contents of another {@link DataSet} into the {@link ConfigDataSet}.
+	 *
+	 * <p>Causes a reset of the reads for every item in {@code data}.
+	 *
+	 * @param   data
+	 *          the data to be added.
+	 * @param   strategy
+	 *          how to merge an item with a key that already exists.
+	 * @return  the {@link ConfigDataSet} the items were added to.
+	 */
+	@Override
+	public synchronized ConfigDataSet putAll(DataSet data, MergeStrategy strategy)
+	{
+		super.putAll(data, strategy);
+		if (data != null)
+		{
+			for (DataItem item : data)
+			{
+				((ConfigDataItem)super.get(item.getKey())).reset();
+			}
+		}
+		return this;
+	}
+
 	/**
 	 * Removes the specified element from this {@link ArrayDataSet}.
 	 *
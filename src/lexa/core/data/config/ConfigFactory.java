@@ -14,8 +14,10 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import lexa.core.data.BaseFactory;
+import lexa.core.data.DataArray;
 import lexa.core.data.DataFactory;
 import lexa.core.data.DataSet;
+import lexa.core.data.DataValue;
 import lexa.core.data.io.DataReader;
 
 /**
@@ -63,6 +65,28 @@ public class ConfigFactory
         // if so it's fine
         return ((ConfigFactory)factory).parent == this;
     }
+    /**
+     * Clone an array in full, as every node must track its reads.
+     * @param array the array to be cloned
+     * @return a copy of the array
+     */
+    @Override
+    public DataArray lazyClone(DataArray array)
+    {
+        return this.clone(array);
+    }
+
+    /**
+     * Clone a data set in full, as every node must track its reads.
+     * @param data the data set to be cloned
+     * @return a copy of the data set
+     */
+    @Override
+    public DataSet lazyClone(DataSet data)
+    {
+        return this.clone(data);
+    }
+
     @Override
     public ConfigDataArray getDataArray()
     {
@@ -75,6 +99,12 @@ public class ConfigFactory
         return new ConfigDataItem(this, key, this.getDataValue(value));
     }
 
+    @Override
+    public ConfigDataItem getDataItem(String key, DataValue value)
+    {
+        return new ConfigDataItem(this, key, value);
+    }
+
     @Override
     public ConfigDataSet getDataSet()
     {
@@ -88,6 +118,54 @@ public class ConfigFactory
         return new ConfigDataValue(this, object);
     }
 
+    /**
+     * Create a new {@link ConfigDataValue} for a {@code boolean}.
+     * <p>Config values are boxed so that reading them can be tracked.
+     * @param value the value
+     * @return a {@link ConfigDataValue} holding the {@code value}
+     */
+    @Override
+    public ConfigDataValue getDataValue(boolean value)
+    {
+        return new ConfigDataValue(this, (Object)value);
+    }
+
+    /**
+     * Create a new {@link ConfigDataValue} for a {@code double}.
+     * <p>Config values are boxed so that reading them can be tracked.
+     * @param value the value
+     * @return a {@link ConfigDataValue} holding the {@code value}
+     */
+    @Override
+    public ConfigDataValue getDataValue(double value)
+    {
+        return new ConfigDataValue(this, (Object)value);
+    }
+
+    /**
+     * Create a new {@link ConfigDataValue} for an {@code int}.
+     * <p>Config values are boxed so that reading them can be tracked.
+     * @param value the value
+     * @return a {@link ConfigDataValue} holding the {@code value}
+     */
+    @Override
+    public ConfigDataValue getDataValue(int value)
+    {
+        return new ConfigDataValue(this, (Object)value);
+    }
+
+    /**
+     * Create a new {@link ConfigDataValue} for a {@code long}.
+     * <p>Config values are boxed so that reading them can be tracked.
+     * @param value the value
+     * @return a {@link ConfigDataValue} holding the {@code value}
+     */
+    @Override
+    public ConfigDataValue getDataValue(long value)
+    {
+        return new ConfigDataValue(this, (Object)value);
+    }
+
     /**
      * get the path in the configuration to an object for this factory
      * @return the object's path
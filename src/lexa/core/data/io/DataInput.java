@@ -85,8 +85,12 @@ public class DataInput
     private DataArray readArray() throws IOException,
             DataException
     {
+        int count = this.stream.readInt();
+        if (count == DataOutput.PACKED_ARRAY)
+        {
+            return this.readPackedArray();
+        }
         DataArray va = new ArrayDataArray();
-        long count = this.stream.readInt();
         for (int i = 0; i < count; i++)
         {
             va.add(this.readValue());
@@ -94,55 +98,102 @@ public class DataInput
         return va;
     }
 
+    private DataArray readPackedArray() throws IOException,
+            DataException
+    {
+        DataType type = DataType.toType(this.stream.readChar());
+        int count = this.stream.readInt();
+        switch (type)
+        {
+            case INTEGER :
+            {
+                IntDataArray packed = new IntDataArray();
+                for (int i = 0; i < count; i++)
+                {
+                    packed.addInt(this.stream.readInt());
+                }
+                return packed;
+            }
+            case LONG :
+            {
+                LongDataArray packed = new LongDataArray();
+                for (int i = 0; i < count; i++)
+                {
+                    packed.addLong(this.stream.readLong());
+                }
+                return packed;
+            }
+            case DOUBLE :
+            {
+                DoubleDataArray packed = new DoubleDataArray();
+                for (int i = 0; i < count; i++)
+                {
+                    packed.addDouble(this.stream.readDouble());
+                }
+                return packed;
+            }
+        }
+        throw new DataException("Cannot read a packed array of " + type);
+    }
+
 	private DataItem readItem()
 			throws IOException, DataException
 	{
 		String key = this.stream.readUTF();
-		Object value = this.readValue();
+		DataValue value = this.readValue();
 
 		return new ArrayDataItem(key, value);
 	}
-	private Object readValue()
+	/**
+	Read a value from the stream.
+	Numbers and booleans are read into primitive values without being boxed.
+	@return the value read
+	@throws IOException  when an IO problem occurs
+	@throws DataException when the data cannot be decoded.
+	*/
+	private DataValue readValue()
 			throws IOException, DataException
 	{
+		DataFactory factory = ArrayFactory.factory;
 		DataType vt = DataType.toType(this.stream.readChar());
 		switch (vt)
 		{
 			case ARRAY :
 			{
-                return this.readArray();
+                return factory.getDataValue(this.readArray());
 			}
 			case BOOLEAN :
 			{
-				return this.stream.readBoolean();
+				return factory.getDataValue(this.stream.readBoolean());
 			}
 			case DATA_SET :
 			{
-				return this.read();
+				return factory.getDataValue(this.read());
 			}
 			case DATE :
 			{
-				return new Date(this.stream.readLong());
+				return factory.getDataValue(new Date(this.stream.readLong()));
 			}
 			case DOUBLE :
 			{
-				return this.stream.readDouble();
+				return factory.getDataValue(this.stream.readDouble());
 			}
 			case INTEGER :
 			{
-				return this.stream.readInt();
+				return factory.getDataValue(this.stream.readInt());
 			}
 			case LONG :
 			{
-				return this.stream.readLong();
+				return factory.getDataValue(this.stream.readLong());
 			}
             case NULL :
 			{
-				return null;
+				return factory.getDataValue((Object)null);
 			}
 			case STRING :
 			{
-				return this.stream.readUTF();
+				return factory.getDataValue(
+						SymbolTable.value(this.stream.readUTF()));
 			}
 		}
         throw new DataException ("Cannot decode object " + vt.getTypeChar());
@@ -18,7 +18,11 @@ import java.io.IOException;
 import lexa.core.data.DataArray;
 import lexa.core.data.DataItem;
 import lexa.core.data.DataSet;
+import lexa.core.data.DataType;
 import lexa.core.data.DataValue;
+import lexa.core.data.DoubleDataArray;
+import lexa.core.data.IntDataArray;
+import lexa.core.data.LongDataArray;
 import lexa.core.data.exception.DataException;
 
 /**
@@ -29,6 +33,14 @@ import lexa.core.data.exception.DataException;
 public class DataOutput
         implements WriteDataSet
 {
+    /**
+     * The size written in place of an array's size when its values follow as
+     * a packed block.
+     * <p>A packed array is written as this marker, the type of its values,
+     * the number of values and then each value with no type of its own.
+     */
+    static final int PACKED_ARRAY = -1;
+
 	private final DataOutputStream stream;
 
     /**
@@ -74,6 +86,36 @@ public class DataOutput
         throws IOException,
             DataException
     {
+        if (array instanceof IntDataArray)
+        {
+            IntDataArray packed = (IntDataArray)array;
+            this.writePackedHeader(DataType.INTEGER, packed.size());
+            for (int i = 0; i < packed.size(); i++)
+            {
+                this.stream.writeInt(packed.getInt(i));
+            }
+            return;
+        }
+        if (array instanceof LongDataArray)
+        {
+            LongDataArray packed = (LongDataArray)array;
+            this.writePackedHeader(DataType.LONG, packed.size());
+            for (int i = 0; i < packed.size(); i++)
+            {
+                this.stream.writeLong(packed.getLong(i));
+            }
+            return;
+        }
+        if (array instanceof DoubleDataArray)
+        {
+            DoubleDataArray packed = (DoubleDataArray)array;
+            this.writePackedHeader(DataType.DOUBLE, packed.size());
+            for (int i = 0; i < packed.size(); i++)
+            {
+                this.stream.writeDouble(packed.getDouble(i));
+            }
+            return;
+        }
         this.stream.writeInt(array.size());
         for (DataValue value : array)
         {
@@ -81,6 +123,14 @@ public class DataOutput
         }
     }
 
+    private void writePackedHeader(DataType type, int size)
+        throws IOException
+    {
+        this.stream.writeInt(DataOutput.PACKED_ARRAY);
+        this.stream.writeChar(type.getTypeChar());
+        this.stream.writeInt(size);
+    }
+
 	/**
      * Write a {@link DataSet} to the stream
      * This is the internal method that does not flash the stream
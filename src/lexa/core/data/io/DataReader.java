@@ -21,6 +21,7 @@ import lexa.core.data.ArrayFactory;
 import lexa.core.data.DataItem;
 import lexa.core.data.DataSet;
 import lexa.core.data.DataType;
+import lexa.core.data.SymbolTable;
 import lexa.core.data.formatting.CombinedFormat;
 import lexa.core.data.DataArray;
 import lexa.core.data.DataFactory;
@@ -321,12 +322,13 @@ public class DataReader
 				}
 				case STRING :
 				{
-					return this.formatter.stringFormat.fromString(value.substring(2));
+					return SymbolTable.value(
+							this.formatter.stringFormat.fromString(value.substring(2)));
 				}
 			}
 		}
 		// just treat unqualified as a string.
-		return value;
+		return SymbolTable.value(value);
 	}
 
 	private DataArray readArray() throws IOException
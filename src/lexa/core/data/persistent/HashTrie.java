@@ -0,0 +1,377 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * HashTrie.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data.persistent;
+
+/**
+ * A persistent hash array mapped trie from a {@link String} key to a value.
+ * <p>
+ * Each level of the trie consumes five bits of the key's hash and stores only
+ * the occupied slots, marked in a bitmap.  Adding or removing a key copies
+ * the nodes on the path to the key and shares everything else with the
+ * previous version, so an update costs O(log<sub>32</sub> n).
+ * <p>Instances are immutable.
+ *
+ * @param <V> the type of the values
+ * @author william
+ * @since 2026-10
+ */
+final class HashTrie<V>
+{
+    /** the number of hash bits used by each level */
+    private static final int BITS = 5;
+    /** the mask for the hash bits of one level */
+    private static final int MASK = (1 << BITS) - 1;
+
+    /** an empty trie */
+    @SuppressWarnings("rawtypes")
+    private static final HashTrie EMPTY = new HashTrie<>(null, 0);
+
+    /**
+     * Get an empty trie.
+     * @param <V> the type of the values
+     * @return an empty trie
+     */
+    @SuppressWarnings("unchecked")
+    static <V> HashTrie<V> empty()
+    {
+        return (HashTrie<V>)HashTrie.EMPTY;
+    }
+
+    /** the root of the trie, {@code null} when empty */
+    private final Node root;
+    /** the number of keys in the trie */
+    private final int size;
+
+    private HashTrie(Node root, int size)
+    {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Get the value for a key.
+     * @param key the key to find
+     * @return the value for the key, or {@code null} if not present.
+     */
+    @SuppressWarnings("unchecked")
+    V get(String key)
+    {
+        if (this.root == null)
+        {
+            return null;
+        }
+        return (V)this.root.find(0, HashTrie.hash(key), key);
+    }
+
+    /**
+     * Get the number of keys in the trie.
+     * @return the number of keys
+     */
+    int size()
+    {
+        return this.size;
+    }
+
+    /**
+     * Get a version of the trie with a key set to a value.
+     * @param key the key to set
+     * @param value the value for the key
+     * @return a trie sharing all the unchanged nodes with this trie.
+     */
+    HashTrie<V> with(String key, V value)
+    {
+        int hash = HashTrie.hash(key);
+        boolean[] added = new boolean[1];
+        Node node = this.root == null ?
+                BitmapNode.EMPTY.with(0, hash, key, value, added) :
+                this.root.with(0, hash, key, value, added);
+        return new HashTrie<>(node, added[0] ? this.size + 1 : this.size);
+    }
+
+    /**
+     * Get a version of the trie without a key.
+     * @param key the key to remove
+     * @return a trie sharing all the unchanged nodes with this trie, or this
+     *          trie if the key was not present.
+     */
+    HashTrie<V> without(String key)
+    {
+        if (this.root == null)
+        {
+            return this;
+        }
+        Node node = this.root.without(0, HashTrie.hash(key), key);
+        if (node == this.root)
+        {
+            return this;
+        }
+        return new HashTrie<>(node, this.size - 1);
+    }
+
+    private static int hash(String key)
+    {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * A node in the trie.
+     */
+    private interface Node
+    {
+        /**
+         * Find the value for a key.
+         * @param shift the bits of the hash already used
+         * @param hash the hash of the key
+         * @param key the key
+         * @return the value or {@code null} if not present
+         */
+        Object find(int shift, int hash, String key);
+
+        /**
+         * Set the value for a key.
+         * @param shift the bits of the hash already used
+         * @param hash the hash of the key
+         * @param key the key
+         * @param value the value
+         * @param added set to {@code true} when the key is new
+         * @return the new node
+         */
+        Node with(int shift, int hash, String key, Object value, boolean[] added);
+
+        /**
+         * Remove a key.
+         * @param shift the bits of the hash already used
+         * @param hash the hash of the key
+         * @param key the key
+         * @return the new node, {@code null} if it is now empty, or this node
+         *          if the key was not present
+         */
+        Node without(int shift, int hash, String key);
+    }
+
+    /**
+     * A node holding the occupied slots of one level.
+     * Each slot is a pair in {@link #array}, either a key and its value or
+     * {@code null} and a child node.
+     */
+    private static final class BitmapNode
+            implements Node
+    {
+        private static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] array;
+
+        private BitmapNode(int bitmap, Object[] array)
+        {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        private int index(int bit)
+        {
+            return Integer.bitCount(this.bitmap & (bit - 1));
+        }
+
+        @Override
+        public Object find(int shift, int hash, String key)
+        {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((this.bitmap & bit) == 0)
+            {
+                return null;
+            }
+            int idx = this.index(bit) * 2;
+            Object k = this.array[idx];
+            if (k == null)
+            {
+                return ((Node)this.array[idx + 1]).find(shift + BITS, hash, key);
+            }
+            return key.equals(k) ? this.array[idx + 1] : null;
+        }
+
+        @Override
+        public Node with(int shift, int hash, String key, Object value, boolean[] added)
+        {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            int idx = this.index(bit) * 2;
+            if ((this.bitmap & bit) == 0)
+            {
+                Object[] grown = new Object[this.array.length + 2];
+                System.arraycopy(this.array, 0, grown, 0, idx);
+                grown[idx] = key;
+                grown[idx + 1] = value;
+                System.arraycopy(this.array, idx, grown, idx + 2, this.array.length - idx);
+                added[0] = true;
+                return new BitmapNode(this.bitmap | bit, grown);
+            }
+            Object k = this.array[idx];
+            Object v = this.array[idx + 1];
+            Object[] copy = this.array.clone();
+            if (k == null)
+            {
+                copy[idx + 1] = ((Node)v).with(shift + BITS, hash, key, value, added);
+            }
+            else if (key.equals(k))
+            {
+                copy[idx + 1] = value;
+            }
+            else
+            {
+                copy[idx] = null;
+                copy[idx + 1] = BitmapNode.split(shift + BITS,
+                        HashTrie.hash((String)k), (String)k, v,
+                        hash, key, value);
+                added[0] = true;
+            }
+            return new BitmapNode(this.bitmap, copy);
+        }
+
+        @Override
+        public Node without(int shift, int hash, String key)
+        {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((this.bitmap & bit) == 0)
+            {
+                return this;
+            }
+            int idx = this.index(bit) * 2;
+            Object k = this.array[idx];
+            if (k == null)
+            {
+                Node child = (Node)this.array[idx + 1];
+                Node removed = child.without(shift + BITS, hash, key);
+                if (removed == child)
+                {
+                    return this;
+                }
+                if (removed != null)
+                {
+                    Object[] copy = this.array.clone();
+                    copy[idx + 1] = removed;
+                    return new BitmapNode(this.bitmap, copy);
+                }
+            }
+            else if (!key.equals(k))
+            {
+                return this;
+            }
+            if (this.bitmap == bit)
+            {
+                return null;
+            }
+            Object[] shrunk = new Object[this.array.length - 2];
+            System.arraycopy(this.array, 0, shrunk, 0, idx);
+            System.arraycopy(this.array, idx + 2, shrunk, idx, shrunk.length - idx);
+            return new BitmapNode(this.bitmap & ~bit, shrunk);
+        }
+
+        /**
+         * Create a node holding two keys that shared a slot.
+         */
+        private static Node split(int shift,
+                int hash1, String key1, Object value1,
+                int hash2, String key2, Object value2)
+        {
+            if (hash1 == hash2)
+            {
+                return new CollisionNode(hash1,
+                        new Object[] {key1, value1, key2, value2});
+            }
+            boolean[] added = new boolean[1];
+            return BitmapNode.EMPTY
+                    .with(shift, hash1, key1, value1, added)
+                    .with(shift, hash2, key2, value2, added);
+        }
+    }
+
+    /**
+     * A node holding keys whose hashes are identical.
+     */
+    private static final class CollisionNode
+            implements Node
+    {
+        private final int hash;
+        private final Object[] array;
+
+        private CollisionNode(int hash, Object[] array)
+        {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        private int indexOf(String key)
+        {
+            for (int i = 0; i < this.array.length; i += 2)
+            {
+                if (key.equals(this.array[i]))
+                {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public Object find(int shift, int hash, String key)
+        {
+            int idx = this.indexOf(key);
+            return idx == -1 ? null : this.array[idx + 1];
+        }
+
+        @Override
+        public Node with(int shift, int hash, String key, Object value, boolean[] added)
+        {
+            if (hash != this.hash)
+            {
+                // nest this node under a bitmap node and add the key to that
+                return new BitmapNode(1 << ((this.hash >>> shift) & MASK),
+                        new Object[] {null, this})
+                        .with(shift, hash, key, value, added);
+            }
+            int idx = this.indexOf(key);
+            Object[] copy;
+            if (idx == -1)
+            {
+                copy = new Object[this.array.length + 2];
+                System.arraycopy(this.array, 0, copy, 0, this.array.length);
+                copy[this.array.length] = key;
+                copy[this.array.length + 1] = value;
+                added[0] = true;
+            }
+            else
+            {
+                copy = this.array.clone();
+                copy[idx + 1] = value;
+            }
+            return new CollisionNode(this.hash, copy);
+        }
+
+        @Override
+        public Node without(int shift, int hash, String key)
+        {
+            int idx = this.indexOf(key);
+            if (idx == -1)
+            {
+                return this;
+            }
+            if (this.array.length == 2)
+            {
+                return null;
+            }
+            Object[] shrunk = new Object[this.array.length - 2];
+            System.arraycopy(this.array, 0, shrunk, 0, idx);
+            System.arraycopy(this.array, idx + 2, shrunk, idx, shrunk.length - idx);
+            return new CollisionNode(this.hash, shrunk);
+        }
+    }
+}
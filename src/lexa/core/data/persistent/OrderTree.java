@@ -0,0 +1,300 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * OrderTree.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data.persistent;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A persistent weight balanced tree of values in positional order.
+ * <p>
+ * Each node knows the size of its subtree so values can be got, inserted,
+ * replaced and removed by position in O(log n).  Every node also carries a
+ * sequence number; when values are only ever appended with increasing
+ * sequence numbers, as {@link PersistentDataSet} does, the tree is also
+ * ordered by sequence and a value can be found by its sequence.
+ * <p>
+ * Changes copy the nodes on the path to the change and share everything else
+ * with the previous version.  A {@code null} tree is empty.
+ *
+ * @author william
+ * @since 2026-10
+ */
+final class OrderTree
+{
+    /** the weight ratio above which a tree is rebalanced */
+    private static final int DELTA = 3;
+    /** the ratio used to choose between a single and double rotation */
+    private static final int GAMMA = 2;
+
+    /** the value held in the node */
+    final Object value;
+    /** the sequence number of the value */
+    final long seq;
+    /** the values before this one */
+    private final OrderTree left;
+    /** the values after this one */
+    private final OrderTree right;
+    /** the number of values in this tree */
+    private final int size;
+
+    private OrderTree(Object value, long seq, OrderTree left, OrderTree right)
+    {
+        this.value = value;
+        this.seq = seq;
+        this.left = left;
+        this.right = right;
+        this.size = OrderTree.size(left) + OrderTree.size(right) + 1;
+    }
+
+    /**
+     * Get the number of values in a tree.
+     * @param tree the tree
+     * @return the number of values
+     */
+    static int size(OrderTree tree)
+    {
+        return tree == null ? 0 : tree.size;
+    }
+
+    /**
+     * Get the node at a position.
+     * @param tree the tree
+     * @param index the position
+     * @return the node at the position
+     */
+    static OrderTree node(OrderTree tree, int index)
+    {
+        if (index < 0 || index >= OrderTree.size(tree))
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        OrderTree node = tree;
+        while (true)
+        {
+            int sl = OrderTree.size(node.left);
+            if (index < sl)
+            {
+                node = node.left;
+            }
+            else if (index > sl)
+            {
+                index -= sl + 1;
+                node = node.right;
+            }
+            else
+            {
+                return node;
+            }
+        }
+    }
+
+    /**
+     * Find the position of a sequence number.
+     * The tree must be ordered by sequence.
+     * @param tree the tree
+     * @param seq the sequence number
+     * @return the position or {@code -1} if not found
+     */
+    static int indexOf(OrderTree tree, long seq)
+    {
+        int index = 0;
+        OrderTree node = tree;
+        while (node != null)
+        {
+            if (seq < node.seq)
+            {
+                node = node.left;
+            }
+            else if (seq > node.seq)
+            {
+                index += OrderTree.size(node.left) + 1;
+                node = node.right;
+            }
+            else
+            {
+                return index + OrderTree.size(node.left);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Insert a value at a position.
+     * @param tree the tree
+     * @param index the position, from zero to the size of the tree
+     * @param value the value to insert
+     * @param seq the sequence number of the value
+     * @return the new tree
+     */
+    static OrderTree insert(OrderTree tree, int index, Object value, long seq)
+    {
+        if (tree == null)
+        {
+            return new OrderTree(value, seq, null, null);
+        }
+        int sl = OrderTree.size(tree.left);
+        if (index <= sl)
+        {
+            return OrderTree.balance(tree.value, tree.seq,
+                    OrderTree.insert(tree.left, index, value, seq), tree.right);
+        }
+        return OrderTree.balance(tree.value, tree.seq,
+                tree.left, OrderTree.insert(tree.right, index - sl - 1, value, seq));
+    }
+
+    /**
+     * Replace the value at a position.
+     * @param tree the tree
+     * @param index the position
+     * @param value the new value
+     * @return the new tree
+     */
+    static OrderTree replace(OrderTree tree, int index, Object value)
+    {
+        int sl = OrderTree.size(tree.left);
+        if (index < sl)
+        {
+            return new OrderTree(tree.value, tree.seq,
+                    OrderTree.replace(tree.left, index, value), tree.right);
+        }
+        if (index > sl)
+        {
+            return new OrderTree(tree.value, tree.seq,
+                    tree.left, OrderTree.replace(tree.right, index - sl - 1, value));
+        }
+        return new OrderTree(value, tree.seq, tree.left, tree.right);
+    }
+
+    /**
+     * Remove the value at a position.
+     * @param tree the tree
+     * @param index the position
+     * @return the new tree
+     */
+    static OrderTree remove(OrderTree tree, int index)
+    {
+        int sl = OrderTree.size(tree.left);
+        if (index < sl)
+        {
+            return OrderTree.balance(tree.value, tree.seq,
+                    OrderTree.remove(tree.left, index), tree.right);
+        }
+        if (index > sl)
+        {
+            return OrderTree.balance(tree.value, tree.seq,
+                    tree.left, OrderTree.remove(tree.right, index - sl - 1));
+        }
+        if (tree.left == null)
+        {
+            return tree.right;
+        }
+        if (tree.right == null)
+        {
+            return tree.left;
+        }
+        // replace with the nearest value from the larger side
+        if (tree.left.size > tree.right.size)
+        {
+            OrderTree last = OrderTree.node(tree.left, tree.left.size - 1);
+            return OrderTree.balance(last.value, last.seq,
+                    OrderTree.remove(tree.left, tree.left.size - 1), tree.right);
+        }
+        OrderTree first = OrderTree.node(tree.right, 0);
+        return OrderTree.balance(first.value, first.seq,
+                tree.left, OrderTree.remove(tree.right, 0));
+    }
+
+    /**
+     * Iterate over the values of a tree in order.
+     * @param <T> the type of the values
+     * @param tree the tree
+     * @return an iterator over the values
+     */
+    static <T> Iterator<T> iterator(OrderTree tree)
+    {
+        return new Iterator<T>()
+        {
+            private final Deque<OrderTree> stack = this.pushLeft(new ArrayDeque<>(), tree);
+
+            private Deque<OrderTree> pushLeft(Deque<OrderTree> deque, OrderTree node)
+            {
+                for (OrderTree n = node; n != null; n = n.left)
+                {
+                    deque.push(n);
+                }
+                return deque;
+            }
+
+            @Override
+            public boolean hasNext()
+            {
+                return !this.stack.isEmpty();
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next()
+            {
+                if (this.stack.isEmpty())
+                {
+                    throw new NoSuchElementException();
+                }
+                OrderTree node = this.stack.pop();
+                this.pushLeft(this.stack, node.right);
+                return (T)node.value;
+            }
+        };
+    }
+
+    private static int weight(OrderTree tree)
+    {
+        return OrderTree.size(tree) + 1;
+    }
+
+    /**
+     * Build a node, rotating if one side has become too heavy.
+     */
+    private static OrderTree balance(Object value, long seq, OrderTree left, OrderTree right)
+    {
+        int wl = OrderTree.weight(left);
+        int wr = OrderTree.weight(right);
+        if (wr > DELTA * wl)
+        {
+            if (OrderTree.weight(right.left) < GAMMA * OrderTree.weight(right.right))
+            {
+                return new OrderTree(right.value, right.seq,
+                        new OrderTree(value, seq, left, right.left),
+                        right.right);
+            }
+            OrderTree rl = right.left;
+            return new OrderTree(rl.value, rl.seq,
+                    new OrderTree(value, seq, left, rl.left),
+                    new OrderTree(right.value, right.seq, rl.right, right.right));
+        }
+        if (wl > DELTA * wr)
+        {
+            if (OrderTree.weight(left.right) < GAMMA * OrderTree.weight(left.left))
+            {
+                return new OrderTree(left.value, left.seq,
+                        left.left,
+                        new OrderTree(value, seq, left.right, right));
+            }
+            OrderTree lr = left.right;
+            return new OrderTree(lr.value, lr.seq,
+                    new OrderTree(left.value, left.seq, left.left, lr.left),
+                    new OrderTree(value, seq, lr.right, right));
+        }
+        return new OrderTree(value, seq, left, right);
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * PersistentDataArray.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data.persistent;
+
+import java.util.Iterator;
+import lexa.core.data.BaseDataArray;
+import lexa.core.data.DataArray;
+import lexa.core.data.DataType;
+import lexa.core.data.DataValue;
+
+/**
+ * An immutable {@link DataArray} that shares structure between versions.
+ * <p>
+ * The values are held in a balanced tree, so getting, inserting, replacing
+ * and removing by position are O(log n).  The {@code with}, {@code replace}
+ * and {@code without} methods return a new version of the array that shares
+ * all the unchanged structure with this one.
+ * <p>
+ * The mutating methods {@link #add(int, DataValue) add} and
+ * {@link #remove(int) remove} throw an {@link UnsupportedOperationException}.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public class PersistentDataArray
+        extends BaseDataArray
+{
+    /** an array with no content */
+    static final PersistentDataArray EMPTY = new PersistentDataArray(null);
+
+    /** the values in order */
+    private final OrderTree values;
+    /** the hash code, {@code 0} until it is first needed */
+    private int hash;
+
+    private PersistentDataArray(OrderTree values)
+    {
+        super(PersistentFactory.factory);
+        this.values = values;
+    }
+
+    /**
+     * Create a persistent copy of a {@link DataArray}.
+     * <p>Any nested data sets or arrays are converted to persistent versions.
+     * @param array the array to copy
+     * @return a persistent array with the same content.
+     */
+    public static PersistentDataArray of(DataArray array)
+    {
+        if (array instanceof PersistentDataArray)
+        {
+            return (PersistentDataArray)array;
+        }
+        PersistentDataArray copy = PersistentDataArray.EMPTY;
+        if (array != null)
+        {
+            for (DataValue value : array)
+            {
+                copy = copy.with(value);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Get the hash code, which is worked out once as the array cannot change.
+     * @return the hash code
+     */
+    @Override
+    public int hashCode()
+    {
+        int hash = this.hash;
+        if (hash == 0)
+        {
+            hash = super.hashCode();
+            this.hash = hash;
+        }
+        return hash;
+    }
+
+    @Override
+    protected int cachedHash()
+    {
+        return this.hash;
+    }
+
+    @Override
+    protected boolean isImmutable()
+    {
+        return true;
+    }
+
+    /**
+     * Throws an {@link UnsupportedOperationException}.
+     * Use {@link #with(int, Object) with(index, value)} to get an updated version.
+     * @param index the position for the object
+     * @param value the value to add
+     * @return no return is made, this method always throws an exception.
+     */
+    @Override
+    public DataArray add(int index, DataValue value)
+    {
+        throw new UnsupportedOperationException(
+                "Cannot change the content of a persistent array");
+    }
+
+    @Override
+    public DataValue get(int index)
+    {
+        return (DataValue)OrderTree.node(this.values, index).value;
+    }
+
+    @Override
+    public Iterator<DataValue> iterator()
+    {
+        return OrderTree.iterator(this.values);
+    }
+
+    /**
+     * Throws an {@link UnsupportedOperationException}.
+     * Use {@link #without(int) without(index)} to get an updated version.
+     * @param index position of value to be removed
+     * @return no return is made, this method always throws an exception.
+     */
+    @Override
+    public DataValue remove(int index)
+    {
+        throw new UnsupportedOperationException(
+                "Cannot change the content of a persistent array");
+    }
+
+    @Override
+    public int size()
+    {
+        return OrderTree.size(this.values);
+    }
+
+    /**
+     * Get a version of the array with a value added to the end.
+     * @param value the value to add
+     * @return a new version of the array.
+     */
+    public PersistentDataArray with(Object value)
+    {
+        return this.with(this.size(), value);
+    }
+
+    /**
+     * Get a version of the array with a value inserted at a position.
+     * @param index the position for the value, from zero to the size of the array
+     * @param value the value to add
+     * @return a new version of the array.
+     */
+    public PersistentDataArray with(int index, Object value)
+    {
+        if (index < 0 || index > this.size())
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        return new PersistentDataArray(
+                OrderTree.insert(this.values, index, this.value(value), 0));
+    }
+
+    /**
+     * Get a version of the array with the value at a position replaced.
+     * @param index the position of the value
+     * @param value the new value
+     * @return a new version of the array.
+     */
+    public PersistentDataArray replace(int index, Object value)
+    {
+        if (index < 0 || index >= this.size())
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        return new PersistentDataArray(
+                OrderTree.replace(this.values, index, this.value(value)));
+    }
+
+    /**
+     * Get a version of the array without the value at a position.
+     * @param index the position of the value
+     * @return a new version of the array.
+     */
+    public PersistentDataArray without(int index)
+    {
+        if (index < 0 || index >= this.size())
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        return new PersistentDataArray(
+                OrderTree.remove(this.values, index));
+    }
+
+    /**
+     * Convert an object to a value for the array.
+     * @param object the object to convert
+     * @return the value to store.
+     */
+    private DataValue value(Object object)
+    {
+        DataValue value = (object instanceof DataValue) ?
+                this.factory().convert((DataValue)object) :
+                this.factory().getDataValue(object);
+        if (value.getType().equals(DataType.NULL))
+        {
+            throw new IllegalArgumentException("[null] cannot be added to an array");
+        }
+        return value;
+    }
+}
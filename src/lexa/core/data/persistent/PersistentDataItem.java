@@ -0,0 +1,55 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * PersistentDataItem.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data.persistent;
+
+import lexa.core.data.BaseDataItem;
+import lexa.core.data.DataItem;
+import lexa.core.data.DataValue;
+
+/**
+ * A single item in a {@link PersistentDataSet}.
+ * @author William
+ * @since 2026-10
+ */
+public class PersistentDataItem
+		extends BaseDataItem
+{
+	/**
+	 * Create a new item
+	 * @param key The key for the item
+	 * @param value The value
+	 */
+	public PersistentDataItem(String key, Object value)
+	{
+		this(key, new PersistentDataValue(value));
+	}
+
+	/**
+	 * Create a new item
+	 * @param key The key for the item
+	 * @param value The value
+	 */
+	public PersistentDataItem(String key, DataValue value)
+	{
+		super(PersistentFactory.factory, key, value);
+	}
+
+	/**
+	 * Create a new item.
+	 * This clones an existing data item.
+	 *
+	 * @param clone An item to clone.
+	 */
+	public PersistentDataItem(DataItem clone)
+	{
+		this(clone.getKey(), clone.getValue());
+	}
+}
@@ -0,0 +1,278 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * PersistentDataSet.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data.persistent;
+
+import java.util.Iterator;
+import lexa.core.data.BaseDataSet;
+import lexa.core.data.DataItem;
+import lexa.core.data.DataSet;
+
+/**
+ * An immutable {@link DataSet} that shares structure between versions.
+ * <p>
+ * The content cannot be changed; {@link #with(String, Object) with} and
+ * {@link #without(String) without} return a new version of the data set and
+ * leave this one untouched.  The new version shares all the unchanged
+ * structure with this one, so an update costs O(log n) rather than a copy of
+ * the whole set.  As the data never changes it can be read from any number
+ * of threads without locking.
+ * <p>
+ * Items are held in a hash trie by key and in a balanced tree in the order
+ * they were first added, so keyed and positional access are both O(log n).
+ * <p>
+ * The mutating methods {@link #put(DataItem) put} and {@link #remove(String) remove}
+ * throw an {@link UnsupportedOperationException}.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public class PersistentDataSet
+        extends BaseDataSet
+{
+    /** a data set with no content */
+    static final PersistentDataSet EMPTY = new PersistentDataSet(
+            HashTrie.<Entry>empty(), null, 0);
+
+    /** the items by key */
+    private final HashTrie<Entry> keys;
+    /** the items in the order they were added */
+    private final OrderTree order;
+    /** the sequence for the next item added */
+    private final long nextSeq;
+    /** the hash code, {@code 0} until it is first needed */
+    private int hash;
+
+    private PersistentDataSet(HashTrie<Entry> keys, OrderTree order, long nextSeq)
+    {
+        super(PersistentFactory.factory);
+        this.keys = keys;
+        this.order = order;
+        this.nextSeq = nextSeq;
+    }
+
+    /**
+     * Create a persistent copy of a {@link DataSet}.
+     * <p>Any nested data sets or arrays are converted to persistent versions.
+     * @param data the data to copy
+     * @return a persistent data set with the same content.
+     */
+    public static PersistentDataSet of(DataSet data)
+    {
+        if (data instanceof PersistentDataSet)
+        {
+            return (PersistentDataSet)data;
+        }
+        PersistentDataSet set = PersistentDataSet.EMPTY;
+        if (data != null)
+        {
+            for (DataItem item : data)
+            {
+                set = set.with(item);
+            }
+        }
+        return set;
+    }
+
+    /**
+     * Get the hash code, which is worked out once as the data set cannot change.
+     * @return the hash code
+     */
+    @Override
+    public int hashCode()
+    {
+        int hash = this.hash;
+        if (hash == 0)
+        {
+            hash = super.hashCode();
+            this.hash = hash;
+        }
+        return hash;
+    }
+
+    @Override
+    protected int cachedHash()
+    {
+        return this.hash;
+    }
+
+    @Override
+    protected boolean isImmutable()
+    {
+        return true;
+    }
+
+    @Override
+    public boolean contains(String key)
+    {
+        return (this.keys.get(key) != null);
+    }
+
+    @Override
+    public DataItem get(String key)
+    {
+        Entry entry = this.keys.get(key);
+        return entry == null ? null : entry.item;
+    }
+
+    @Override
+    public DataItem get(int index)
+    {
+        if (index < 0 || index >= this.size())
+        {
+            return null;
+        }
+        return (DataItem)OrderTree.node(this.order, index).value;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return (this.order == null);
+    }
+
+    @Override
+    public Iterator<DataItem> iterator()
+    {
+        return OrderTree.iterator(this.order);
+    }
+
+    @Override
+    public String[] keys()
+    {
+        String[] names = new String[this.size()];
+        int i = 0;
+        for (DataItem item : this)
+        {
+            names[i++] = item.getKey();
+        }
+        return names;
+    }
+
+    /**
+     * Throws an {@link UnsupportedOperationException}.
+     * Use {@link #with(DataItem) with(item)} to get an updated version.
+     * @param item the item to add
+     * @return no return is made, this method always throws an exception.
+     */
+    @Override
+    public DataSet put(DataItem item)
+    {
+        throw new UnsupportedOperationException(
+                "Cannot change the content of a persistent data set");
+    }
+
+    /**
+     * Throws an {@link UnsupportedOperationException}.
+     * Use {@link #without(String) without(key)} to get an updated version.
+     * @param key the key to the item to remove
+     * @return no return is made, this method always throws an exception.
+     */
+    @Override
+    public DataItem remove(String key)
+    {
+        throw new UnsupportedOperationException(
+                "Cannot change the content of a persistent data set");
+    }
+
+    /**
+     * Throws an {@link UnsupportedOperationException}.
+     * Use {@link #without(String) without(key)} to get an updated version.
+     * @param index the index to the item to remove
+     * @return no return is made, this method always throws an exception.
+     */
+    @Override
+    public DataItem remove(int index)
+    {
+        throw new UnsupportedOperationException(
+                "Cannot change the content of a persistent data set");
+    }
+
+    @Override
+    public int size()
+    {
+        return OrderTree.size(this.order);
+    }
+
+    /**
+     * Get a version of the data set with an item added or replaced.
+     * <p>
+     * If the key already exists it keeps its position, otherwise the item is
+     * added to the end.
+     * @param key the key for the item
+     * @param value the value for the item
+     * @return a new version of the data set.
+     */
+    public PersistentDataSet with(String key, Object value)
+    {
+        return this.with(this.factory().getDataItem(key, value));
+    }
+
+    /**
+     * Get a version of the data set with an item added or replaced.
+     * <p>
+     * If the key already exists it keeps its position, otherwise the item is
+     * added to the end.
+     * @param item the item to add
+     * @return a new version of the data set.
+     */
+    public PersistentDataSet with(DataItem item)
+    {
+        DataItem converted = this.factory().convert(item);
+        Entry entry = this.keys.get(converted.getKey());
+        if (entry == null)
+        {
+            return new PersistentDataSet(
+                    this.keys.with(converted.getKey(), new Entry(converted, this.nextSeq)),
+                    OrderTree.insert(this.order, this.size(), converted, this.nextSeq),
+                    this.nextSeq + 1);
+        }
+        return new PersistentDataSet(
+                this.keys.with(converted.getKey(), new Entry(converted, entry.seq)),
+                OrderTree.replace(this.order,
+                        OrderTree.indexOf(this.order, entry.seq), converted),
+                this.nextSeq);
+    }
+
+    /**
+     * Get a version of the data set without an item.
+     * @param key the key to the item to remove
+     * @return a new version of the data set, or this data set if the key is
+     *          not present.
+     */
+    public PersistentDataSet without(String key)
+    {
+        Entry entry = this.keys.get(key);
+        if (entry == null)
+        {
+            return this;
+        }
+        return new PersistentDataSet(
+                this.keys.without(key),
+                OrderTree.remove(this.order,
+                        OrderTree.indexOf(this.order, entry.seq)),
+                this.nextSeq);
+    }
+
+    /**
+     * An item and the sequence it was added in.
+     */
+    private static final class Entry
+    {
+        private final DataItem item;
+        private final long seq;
+
+        private Entry(DataItem item, long seq)
+        {
+            this.item = item;
+            this.seq = seq;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * PersistentDataValue.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data.persistent;
+
+import lexa.core.data.BaseDataValue;
+import lexa.core.data.DataValue;
+
+/**
+ Implementation of {@link DataValue} for use in a {@link PersistentDataSet}
+ <p>
+ Any {@link lexa.core.data.DataSet} or {@link lexa.core.data.DataArray} held by
+ the value is converted to its persistent version.
+ @author william
+ @since 2026-10
+ */
+public class PersistentDataValue
+        extends BaseDataValue
+{
+	/**
+	Create a value to represent an object
+	@param object the contained value
+	*/
+	public PersistentDataValue(Object object)
+	{
+        super(PersistentFactory.factory, object);
+	}
+
+	/**
+	Create a value as a clone of another value
+	@param clone a DataValue to clone
+	*/
+	public PersistentDataValue(DataValue clone)
+	{
+        super(PersistentFactory.factory, clone);
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * =============================================================================
+ * Lexa - Property of William Norman-Walker
+ * -----------------------------------------------------------------------------
+ * PersistentFactory.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data.persistent;
+
+import lexa.core.data.BaseFactory;
+import lexa.core.data.DataArray;
+import lexa.core.data.DataItem;
+import lexa.core.data.DataSet;
+import lexa.core.data.DataValue;
+
+/**
+ * Factory for immutable data that shares structure between versions.
+ * <p>
+ * The {@link PersistentDataSet} and {@link PersistentDataArray} cannot be
+ * changed in place, so {@link #getDataSet()} and {@link #getDataArray()}
+ * return empty versions to build on with their {@code with} methods.  Data
+ * from any other factory is converted by copying it once; persistent data is
+ * never copied as it can be shared freely.
+ * @author william
+ * @since 2026-10
+ */
+public class PersistentFactory
+        extends BaseFactory
+{
+    /** Handle to the  instance of the {@link PersistentFactory} */
+    public static PersistentFactory factory = new PersistentFactory();
+
+    private PersistentFactory() {} // keep in single, keep it simple
+
+    @Override
+    public DataArray clone(DataArray array)
+    {
+        return PersistentDataArray.of(array);
+    }
+
+    @Override
+    public DataSet clone(DataSet data)
+    {
+        return PersistentDataSet.of(data);
+    }
+
+    /**
+     * Clone an array, which is shared if it is already persistent.
+     * @param array the array to be cloned
+     * @return a {@link PersistentDataArray} with the same content
+     */
+    @Override
+    public DataArray lazyClone(DataArray array)
+    {
+        return this.clone(array);
+    }
+
+    /**
+     * Clone a data set, which is shared if it is already persistent.
+     * @param data the data set to be cloned
+     * @return a {@link PersistentDataSet} with the same content
+     */
+    @Override
+    public DataSet lazyClone(DataSet data)
+    {
+        return this.clone(data);
+    }
+
+    @Override
+    public PersistentDataArray getDataArray()
+    {
+        return PersistentDataArray.EMPTY;
+    }
+
+    @Override
+    public DataItem getDataItem(String key, Object value)
+    {
+        return new PersistentDataItem(key, value);
+    }
+
+    @Override
+    public DataItem getDataItem(String key, DataValue value)
+    {
+        return new PersistentDataItem(key, value);
+    }
+
+    @Override
+    public PersistentDataSet getDataSet()
+    {
+        return PersistentDataSet.EMPTY;
+    }
+
+    @Override
+    public DataValue getDataValue(Object object)
+    {
+        return new PersistentDataValue(object);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * DataChange.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data.watch;
+
+import lexa.core.data.DataValue;
+
+/**
+ * A change made to a watched data set or array.
+ * <p>
+ * The path uses the syntax of {@link lexa.core.data.DataPath}, so the change
+ * to the item {@code c} in the data set at position 2 of the array {@code b}
+ * has the path {@code "b:2.c"}.  The value is the value that was put or
+ * added, or the value that was removed; it is the value held by the data,
+ * so later changes to a nested data set or array can be seen through it.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public final class DataChange
+{
+    /**
+     * The types of change.
+     */
+    public enum Type
+    {
+        /** a value was added to an array */
+        ADD,
+        /** an item was put in a data set, either new or replacing a value */
+        PUT,
+        /** an item was removed from a data set or a value from an array */
+        REMOVE
+    }
+
+    /** the position of the change in the sequence of changes */
+    private final long sequence;
+    /** the type of change */
+    private final Type type;
+    /** the path to the item or value that changed */
+    private final String path;
+    /** the value put, added or removed */
+    private final DataValue value;
+
+    DataChange(long sequence, Type type, String path, DataValue value)
+    {
+        this.sequence = sequence;
+        this.type = type;
+        this.path = path;
+        this.value = value;
+    }
+
+    /**
+     * Get the path to the item or value that changed.
+     * @return the path
+     */
+    public String getPath()
+    {
+        return this.path;
+    }
+
+    /**
+     * Get the position of the change in the sequence of changes.
+     * <p>The first change made to a watched data set is {@code 1}.
+     * @return the sequence number
+     */
+    public long getSequence()
+    {
+        return this.sequence;
+    }
+
+    /**
+     * Get the type of change.
+     * @return the type
+     */
+    public Type getType()
+    {
+        return this.type;
+    }
+
+    /**
+     * Get the value put, added or removed.
+     * @return the value
+     */
+    public DataValue getValue()
+    {
+        return this.value;
+    }
+
+    @Override
+    public String toString()
+    {
+        return this.sequence + " " + this.type + " " + this.path + " " + this.value;
+    }
+}
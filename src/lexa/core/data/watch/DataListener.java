@@ -0,0 +1,34 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * DataListener.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data.watch;
+
+import java.util.List;
+
+/**
+ * Receives the changes made to a watched data set.
+ *
+ * @author william
+ * @since 2026-10
+ * @see DataWatch#addListener(DataListener)
+ */
+@FunctionalInterface
+public interface DataListener
+{
+    /**
+     * Called after changes are made.
+     * <p>
+     * Outside of a {@link DataWatch#batch(Runnable) batch} each change is
+     * delivered on its own as it is made; inside a batch all the changes are
+     * delivered together when the batch ends.
+     * @param changes the changes, in the order they were made
+     */
+    void changed(List<DataChange> changes);
+}
@@ -0,0 +1,286 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * DataWatch.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data.watch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+import lexa.core.data.DataItem;
+import lexa.core.data.DataSet;
+import lexa.core.data.DataValue;
+
+/**
+ * Watch a data set for changes.
+ * <p>
+ * A watch holds a copy of a data set made of {@link WatchedDataSet} and
+ * {@link WatchedDataArray} nodes.  Every change made to the copy, at any
+ * depth, is given the next sequence number and passed to the listeners as a
+ * {@link DataChange} with its full path.  Changes made inside a
+ * {@link #batch(Runnable) batch} are delivered together when it ends.
+ * <p>
+ * A watch can also keep a log of the most recent changes.  A consumer that
+ * remembers the last sequence number it saw can get the changes since then
+ * with {@link #changes(long) changes}, as long as they are still in the log.
+ * <p>
+ * Listeners are called on the thread that made the change, or that ended the
+ * batch, after the change has been made.  They are called once the change is
+ * complete and no lock on the watch or its data is held, so a listener can
+ * read or change the data.
+ * <p>
+ * Every change to the watched tree is made holding the watch's lock, which is
+ * taken before the lock of any node.  The path of a change and whether its
+ * node is in the tree are worked out under the same lock, so a change to a
+ * child and a change to its parent cannot wait for each other.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public final class DataWatch
+{
+    /** the changes in a batch that has not been delivered */
+    private List<DataChange> batch;
+    /** the number of batches that are running */
+    private int batches;
+    /** how deeply changes are nested on the thread holding the lock */
+    private int changing;
+    /** the watched data */
+    private final WatchedDataSet data;
+    /** the listeners for changes */
+    private final List<DataListener> listeners;
+    /** the most recent changes, used as a ring */
+    private final DataChange[] log;
+    /** the changes outside a batch waiting for the outermost change to end */
+    private List<DataChange> pending;
+    /** the sequence number of the last change */
+    private long sequence;
+
+    /**
+     * Watch a copy of a data set without a log.
+     * @param data the data to copy
+     */
+    public DataWatch(DataSet data)
+    {
+        this(data, 0);
+    }
+
+    /**
+     * Watch a copy of a data set.
+     * @param data the data to copy
+     * @param logSize the number of changes to keep in the log, {@code 0} for
+     *          no log.
+     */
+    public DataWatch(DataSet data, int logSize)
+    {
+        if (logSize < 0)
+        {
+            throw new IllegalArgumentException("The log size cannot be negative");
+        }
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.log = new DataChange[logSize];
+        WatchedFactory factory = new WatchedFactory(this);
+        WatchedDataSet root = (WatchedDataSet)factory.getDataSet();
+        if (data != null)
+        {
+            for (DataItem item : data)
+            {
+                root.put(item);
+            }
+        }
+        // nothing is reported until the root is set
+        this.data = root;
+    }
+
+    /**
+     * Add a listener for changes.
+     * @param listener the listener
+     */
+    public void addListener(DataListener listener)
+    {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Make a batch of changes.
+     * <p>
+     * The changes made while the batch runs, by any thread, are delivered to
+     * the listeners together when it ends.  Batches can be nested, the
+     * changes are delivered when the outermost batch ends.
+     * @param changes the code that makes the changes
+     */
+    public void batch(Runnable changes)
+    {
+        synchronized (this)
+        {
+            if (this.batches++ == 0)
+            {
+                this.batch = new ArrayList<>();
+            }
+        }
+        try
+        {
+            changes.run();
+        }
+        finally
+        {
+            List<DataChange> delivery = null;
+            synchronized (this)
+            {
+                if (--this.batches == 0)
+                {
+                    delivery = this.batch;
+                    this.batch = null;
+                }
+            }
+            if (delivery != null && !delivery.isEmpty())
+            {
+                this.deliver(Collections.unmodifiableList(delivery));
+            }
+        }
+    }
+
+    /**
+     * Make a change to the watched tree.
+     * <p>
+     * The change is made holding the watch's lock.  Changes can be nested;
+     * the changes recorded outside a batch are delivered once the outermost
+     * change has ended and the lock has been released.
+     * @param <T> the type of the result
+     * @param change the code that makes the change
+     * @return the result of the change
+     */
+    <T> T change(Supplier<T> change)
+    {
+        List<DataChange> delivery = null;
+        try
+        {
+            synchronized (this)
+            {
+                this.changing++;
+                try
+                {
+                    return change.get();
+                }
+                finally
+                {
+                    if (--this.changing == 0)
+                    {
+                        delivery = this.pending;
+                        this.pending = null;
+                    }
+                }
+            }
+        }
+        finally
+        {
+            if (delivery != null)
+            {
+                for (DataChange made : delivery)
+                {
+                    this.deliver(Collections.singletonList(made));
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the changes made after a sequence number.
+     * @param after the sequence number of the last change already seen,
+     *          or {@code 0} for all the changes still in the log.
+     * @return the changes, in order
+     * @throws IllegalStateException if some of the changes are no longer in
+     *          the log, the consumer should read the data again.
+     */
+    public synchronized List<DataChange> changes(long after)
+    {
+        long oldest = Math.max(1L, this.sequence - this.log.length + 1);
+        if (after > 0 && after + 1 < oldest)
+        {
+            throw new IllegalStateException(
+                    "The log no longer holds the changes after " + after);
+        }
+        List<DataChange> changes = new ArrayList<>();
+        for (long s = Math.max(after + 1, oldest); s <= this.sequence; s++)
+        {
+            changes.add(this.log[(int)(s % this.log.length)]);
+        }
+        return changes;
+    }
+
+    /**
+     * Get the watched data.
+     * <p>Changes must be made to this data set to be reported.
+     * @return the watched data
+     */
+    public WatchedDataSet data()
+    {
+        return this.data;
+    }
+
+    /**
+     * Remove a listener.
+     * @param listener the listener
+     */
+    public void removeListener(DataListener listener)
+    {
+        this.listeners.remove(listener);
+    }
+
+    /**
+     * Get the sequence number of the last change.
+     * @return the sequence number, {@code 0} if no change has been made
+     */
+    public synchronized long sequence()
+    {
+        return this.sequence;
+    }
+
+    /**
+     * Pass changes to the listeners.
+     * @param changes the changes
+     */
+    private void deliver(List<DataChange> changes)
+    {
+        for (DataListener listener : this.listeners)
+        {
+            listener.changed(changes);
+        }
+    }
+
+    /**
+     * Record a change.
+     * <p>
+     * This is called inside a {@link #change(Supplier) change}, which
+     * delivers it once the lock has been released.
+     * @param type the type of change
+     * @param path the path to the change
+     * @param value the value put, added or removed
+     */
+    synchronized void record(DataChange.Type type, String path, DataValue value)
+    {
+        DataChange change = new DataChange(++this.sequence, type, path, value);
+        if (this.log.length > 0)
+        {
+            this.log[(int)(this.sequence % this.log.length)] = change;
+        }
+        if (this.batch != null)
+        {
+            this.batch.add(change);
+            return;
+        }
+        if (this.pending == null)
+        {
+            this.pending = new ArrayList<>();
+        }
+        this.pending.add(change);
+    }
+}
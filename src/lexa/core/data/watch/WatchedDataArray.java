@@ -0,0 +1,177 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * WatchedDataArray.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data.watch;
+
+import lexa.core.data.BaseDataArray;
+import lexa.core.data.DataArray;
+import lexa.core.data.DataValue;
+
+/**
+ * An array that reports its changes to a {@link DataWatch}.
+ * <p>
+ * Every value added or removed is reported with its full path from the root
+ * of the watch, using its position in the array at the time of the change.
+ * As with {@link WatchedDataSet}, every change takes the lock of the
+ * {@link DataWatch} before the lock of the array.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public class WatchedDataArray
+        extends BaseDataArray
+        implements WatchedNode
+{
+    /** the node holding this array, guarded by the watch */
+    private WatchedNode parent;
+    /** the key this array is held by, if held by a data set, guarded by the watch */
+    private String key;
+
+    WatchedDataArray(WatchedFactory factory)
+    {
+        super(factory);
+    }
+
+    @Override
+    public DataArray add(int index, DataValue value)
+    {
+        return this.watch().change(() -> this._add(index, value));
+    }
+
+    /**
+     * Implementation for {@link #add(int, DataValue)}, called holding the
+     * watch's lock.
+     * @param index the position for the value
+     * @param value the value to add
+     * @return this array
+     */
+    private synchronized DataArray _add(int index, DataValue value)
+    {
+        DataValue adopted = this.watchedFactory().adopt(
+                this, null, this.factory().convert(value));
+        super.add(index, adopted);
+        this.record(DataChange.Type.ADD, index, adopted);
+        return this;
+    }
+
+    @Override
+    public String childPath(WatchedNode child)
+    {
+        synchronized (this.watch())
+        {
+            for (int index = 0; index < this.size(); index++)
+            {
+                if (this.get(index).getObject() == child)
+                {
+                    return this.path() + ':' + index;
+                }
+            }
+            return this.path();
+        }
+    }
+
+    @Override
+    public WatchedNode getParent()
+    {
+        synchronized (this.watch())
+        {
+            return this.parent;
+        }
+    }
+
+    @Override
+    public boolean isAttached()
+    {
+        synchronized (this.watch())
+        {
+            return this.parent != null && this.parent.isAttached();
+        }
+    }
+
+    @Override
+    public String path()
+    {
+        synchronized (this.watch())
+        {
+            if (this.parent == null)
+            {
+                return "";
+            }
+            if (this.key == null)
+            {
+                return this.parent.childPath(this);
+            }
+            String path = this.parent.path();
+            return path.isEmpty() ?
+                    this.key :
+                    path + '.' + this.key;
+        }
+    }
+
+    @Override
+    public DataValue remove(int index)
+    {
+        return this.watch().change(() -> this._remove(index));
+    }
+
+    /**
+     * Implementation for {@link #remove(int)}, called holding the watch's
+     * lock.
+     * @param index the position of the value to remove
+     * @return the value removed
+     */
+    private synchronized DataValue _remove(int index)
+    {
+        DataValue removed = super.remove(index);
+        this.watchedFactory().release(removed);
+        this.record(DataChange.Type.REMOVE, index, removed);
+        return removed;
+    }
+
+    @Override
+    public void setParent(WatchedNode parent, String key)
+    {
+        synchronized (this.watch())
+        {
+            this.parent = parent;
+            this.key = key;
+        }
+    }
+
+    /**
+     * Report a change to the watch, if the array is in the watched tree.
+     * @param type the type of change
+     * @param index the position of the value that changed
+     * @param value the value added or removed
+     */
+    private void record(DataChange.Type type, int index, DataValue value)
+    {
+        if (this.isAttached())
+        {
+            this.watch().record(type,
+                    this.path() + ':' + index,
+                    value);
+        }
+    }
+
+    /**
+     * Get the watch the array belongs to, whose lock guards every change.
+     * @return the watch
+     */
+    private DataWatch watch()
+    {
+        return this.watchedFactory().watch();
+    }
+
+    private WatchedFactory watchedFactory()
+    {
+        return (WatchedFactory)this.factory();
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * WatchedDataItem.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data.watch;
+
+import lexa.core.data.BaseDataItem;
+import lexa.core.data.DataValue;
+
+/**
+ * Implementation of {@link lexa.core.data.DataItem} for use in a
+ * {@link WatchedDataSet}.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public class WatchedDataItem
+        extends BaseDataItem
+{
+    WatchedDataItem(WatchedFactory factory, String key, DataValue value)
+    {
+        super(factory, key, value);
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * WatchedDataSet.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data.watch;
+
+import lexa.core.data.ArrayDataSet;
+import lexa.core.data.DataItem;
+import lexa.core.data.DataSet;
+import lexa.core.data.DataValue;
+import lexa.core.data.MergeStrategy;
+
+/**
+ * A data set that reports its changes to a {@link DataWatch}.
+ * <p>
+ * Every item put or removed is reported with its full path from the root of
+ * the watch.  A nested data set or array put into the data set becomes part
+ * of the watched tree, so changes made to it are reported as well; once it
+ * is removed its changes are no longer reported.
+ * <p>
+ * Every change takes the lock of the {@link DataWatch} before the lock of the
+ * data set, and the parent and key of the data set are guarded by the
+ * watch's lock, so the path of a change is worked out without taking the
+ * lock of a parent while holding the lock of a child.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public class WatchedDataSet
+        extends ArrayDataSet
+        implements WatchedNode
+{
+    /** the node holding this data set, guarded by the watch */
+    private WatchedNode parent;
+    /** the key this data set is held by, if held by a data set, guarded by the watch */
+    private String key;
+
+    WatchedDataSet(WatchedFactory factory)
+    {
+        super(factory);
+    }
+
+    @Override
+    public String childPath(WatchedNode child)
+    {
+        synchronized (this.watch())
+        {
+            String path = this.path();
+            for (DataItem item : this)
+            {
+                if (item.getValue().getObject() == child)
+                {
+                    return path.isEmpty() ?
+                            item.getKey() :
+                            path + '.' + item.getKey();
+                }
+            }
+            return path;
+        }
+    }
+
+    @Override
+    public WatchedNode getParent()
+    {
+        synchronized (this.watch())
+        {
+            return this.parent;
+        }
+    }
+
+    @Override
+    public boolean isAttached()
+    {
+        synchronized (this.watch())
+        {
+            return this.parent == null ?
+                    this == this.watch().data() :
+                    this.parent.isAttached();
+        }
+    }
+
+    @Override
+    public String path()
+    {
+        synchronized (this.watch())
+        {
+            if (this.parent == null)
+            {
+                return "";
+            }
+            if (this.key == null)
+            {
+                return this.parent.childPath(this);
+            }
+            String path = this.parent.path();
+            return path.isEmpty() ?
+                    this.key :
+                    path + '.' + this.key;
+        }
+    }
+
+    @Override
+    public DataSet put(DataItem item)
+    {
+        if (item == null)
+        {
+            return this;
+        }
+        return this.watch().change(() -> this._put(item));
+    }
+
+    @Override
+    public DataSet put(String key, Object value)
+    {
+        return this.watch().change(() -> super.put(key, value));
+    }
+
+    @Override
+    public DataSet put(DataSet data)
+    {
+        return this.watch().change(() -> super.put(data));
+    }
+
+    /**
+     * Implementation for {@link #put(DataItem)}, called holding the watch's
+     * lock.
+     * @param item the item to put
+     * @return this data set
+     */
+    private synchronized DataSet _put(DataItem item)
+    {
+        DataItem converted = this.factory().convert(item);
+        DataItem previous = super.get(converted.getKey());
+        DataValue value = this.watchedFactory().adopt(
+                this, converted.getKey(), converted.getValue());
+        if (value != converted.getValue())
+        {
+            converted = this.factory().getDataItem(converted.getKey(), value);
+        }
+        super.put(converted);
+        if (previous != null && previous.getValue() != value)
+        {
+            this.watchedFactory().release(previous.getValue());
+        }
+        this.record(DataChange.Type.PUT, converted.getKey(), value);
+        return this;
+    }
+
+    /**
+     * Merge the items one at a time so each change is recorded.
+     * @param data the data to be added
+     * @param strategy how to merge an item with a key that already exists
+     * @return this data set
+     */
+    @Override
+    public DataSet putAll(DataSet data, MergeStrategy strategy)
+    {
+        return this.watch().change(() -> this.mergeEach(data, strategy));
+    }
+
+    @Override
+    public DataItem remove(String key)
+    {
+        return this.watch().change(() -> super.remove(key));
+    }
+
+    @Override
+    public DataItem remove(int index)
+    {
+        return this.watch().change(() -> this._remove(index));
+    }
+
+    /**
+     * Implementation for {@link #remove(int)}, called holding the watch's
+     * lock.
+     * @param index the position of the item to remove
+     * @return the item removed, or {@code null} if there is none
+     */
+    private synchronized DataItem _remove(int index)
+    {
+        DataItem removed = super.remove(index);
+        if (removed != null)
+        {
+            this.watchedFactory().release(removed.getValue());
+            this.record(DataChange.Type.REMOVE, removed.getKey(), removed.getValue());
+        }
+        return removed;
+    }
+
+    @Override
+    public void setParent(WatchedNode parent, String key)
+    {
+        synchronized (this.watch())
+        {
+            this.parent = parent;
+            this.key = key;
+        }
+    }
+
+    /**
+     * Report a change to the watch, if the data set is in the watched tree.
+     * @param type the type of change
+     * @param key the key for the item that changed
+     * @param value the value put or removed
+     */
+    private void record(DataChange.Type type, String key, DataValue value)
+    {
+        if (this.isAttached())
+        {
+            String path = this.path();
+            this.watch().record(type,
+                    path.isEmpty() ? key : path + '.' + key,
+                    value);
+        }
+    }
+
+    /**
+     * Get the watch the data set belongs to, whose lock guards every change.
+     * @return the watch
+     */
+    private DataWatch watch()
+    {
+        return this.watchedFactory().watch();
+    }
+
+    private WatchedFactory watchedFactory()
+    {
+        return (WatchedFactory)this.factory();
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * WatchedDataValue.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data.watch;
+
+import lexa.core.data.BaseDataValue;
+
+/**
+ * Implementation of {@link lexa.core.data.DataValue} for use in a
+ * {@link WatchedDataSet}.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public class WatchedDataValue
+        extends BaseDataValue
+{
+    WatchedDataValue(WatchedFactory factory, Object value)
+    {
+        super(factory, value);
+    }
+}
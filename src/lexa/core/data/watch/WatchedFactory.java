@@ -0,0 +1,140 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * WatchedFactory.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data.watch;
+
+import lexa.core.data.BaseFactory;
+import lexa.core.data.DataArray;
+import lexa.core.data.DataItem;
+import lexa.core.data.DataSet;
+import lexa.core.data.DataValue;
+
+/**
+ * Factory for the data sets, arrays and values of one {@link DataWatch}.
+ * <p>
+ * Each watch has its own factory, so data from two watches is copied when it
+ * is moved from one to the other.
+ *
+ * @author william
+ * @since 2026-10
+ */
+public class WatchedFactory
+        extends BaseFactory
+{
+    /** the watch the data belongs to */
+    private final DataWatch watch;
+
+    WatchedFactory(DataWatch watch)
+    {
+        this.watch = watch;
+    }
+
+    /**
+     * Take ownership of a value that is being put into a node.
+     * <p>
+     * If the value is a data set or array that is already held by another
+     * node it is copied.
+     * @param parent the node the value is being put into
+     * @param key the key for the value in a data set, or {@code null} for an
+     *          array
+     * @param value the value, already converted to this factory
+     * @return the value to hold
+     */
+    DataValue adopt(WatchedNode parent, String key, DataValue value)
+    {
+        Object object = value.getObject();
+        if (!(object instanceof WatchedNode))
+        {
+            return value;
+        }
+        WatchedNode node = (WatchedNode)object;
+        if (node.getParent() != null || node == this.watch.data())
+        {
+            value = this.clone(value);
+            node = (WatchedNode)value.getObject();
+        }
+        node.setParent(parent, key);
+        return value;
+    }
+
+    /**
+     * Release a value that has been removed from a node.
+     * @param value the value that was removed
+     */
+    void release(DataValue value)
+    {
+        Object object = value.getObject();
+        if (object instanceof WatchedNode)
+        {
+            ((WatchedNode)object).setParent(null, null);
+        }
+    }
+
+    /**
+     * Clone an array in full, as every node must record its changes.
+     * @param array the array to be cloned
+     * @return a copy of the array
+     */
+    @Override
+    public DataArray lazyClone(DataArray array)
+    {
+        return this.clone(array);
+    }
+
+    /**
+     * Clone a data set in full, as every node must record its changes.
+     * @param data the data set to be cloned
+     * @return a copy of the data set
+     */
+    @Override
+    public DataSet lazyClone(DataSet data)
+    {
+        return this.clone(data);
+    }
+
+    @Override
+    public DataArray getDataArray()
+    {
+        return new WatchedDataArray(this);
+    }
+
+    @Override
+    public DataItem getDataItem(String key, Object value)
+    {
+        return new WatchedDataItem(this, key, this.getDataValue(value));
+    }
+
+    @Override
+    public DataItem getDataItem(String key, DataValue value)
+    {
+        return new WatchedDataItem(this, key, value);
+    }
+
+    @Override
+    public DataSet getDataSet()
+    {
+        return new WatchedDataSet(this);
+    }
+
+    @Override
+    public DataValue getDataValue(Object object)
+    {
+        return new WatchedDataValue(this, object);
+    }
+
+    /**
+     * Get the watch for the data.
+     * @return the watch
+     */
+    DataWatch watch()
+    {
+        return this.watch;
+    }
+}
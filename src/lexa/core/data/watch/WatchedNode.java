@@ -0,0 +1,59 @@
+/*
+ *==============================================================================
+ * Lexa - Property of William Norman-Walker
+ *------------------------------------------------------------------------------
+ * WatchedNode.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lexa.core.data.watch;
+
+/**
+ * A data set or array that is part of a watched tree.
+ * <p>
+ * Each node knows the node that holds it, so a change can be reported with
+ * its full path.  A node can only be held by one parent; putting a node that
+ * already has a parent into another puts a copy of it.
+ *
+ * @author william
+ * @since 2026-10
+ */
+interface WatchedNode
+{
+    /**
+     * Get the path to a node held by this node.
+     * @param child the node
+     * @return the path to the child
+     */
+    String childPath(WatchedNode child);
+
+    /**
+     * Get the node that holds this node.
+     * @return the parent, or {@code null} if the node is not held
+     */
+    WatchedNode getParent();
+
+    /**
+     * Indicates if the node is in the watched tree, so its changes are
+     * reported.
+     * @return {@code true} if the node is the root or is held by a node in
+     *          the tree.
+     */
+    boolean isAttached();
+
+    /**
+     * Get the path to the node.
+     * @return the path, which is empty for the root
+     */
+    String path();
+
+    /**
+     * Set the node that holds this node.
+     * @param parent the parent, or {@code null} when the node is removed
+     * @param key the key the node is held by in a data set, or {@code null}
+     *          for an array
+     */
+    void setParent(WatchedNode parent, String key);
+}
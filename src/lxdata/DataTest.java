@@ -33,6 +33,8 @@ public class DataTest
             new TestDataIO(),
             new TestConfig(),
             new TestDataObject(),
+            new TestPersistent(),
+            new TestWatch(),
             new TestCompare()
         };
         System.out.println(
@@ -11,10 +11,18 @@
 package lxdata;
 
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
 import lexa.core.data.ArrayDataSet;
 import lexa.core.data.DataSet;
+import lexa.core.data.DoubleDataArray;
+import lexa.core.data.IntDataArray;
+import lexa.core.data.LongDataArray;
+import lexa.core.data.SymbolTable;
 import lexa.core.data.exception.DataException;
 import lexa.core.data.io.DataInput;
 import lexa.core.data.io.DataOutput;
@@ -186,4 +194,87 @@ public class TestDataIO
                   );
         return TestResult.result(dataSet, DataReader.parseString(string));
     }
+
+    /**
+     * Check that keys and values read are shared through the symbol tables
+     * @return  a {@link TestResult} with the results
+     * @throws  IOException
+     *          when an IO exception occurs
+     */
+    @TestAnnotation(order = 80)
+    public TestResult symbolTable()
+            throws IOException
+    {
+        String[] string = {
+            "name - a short value",
+            "sub {",
+                "name - a value longer than the limit",
+            "}"
+        };
+        SymbolTable.setKeyTable(new SymbolTable(100));
+        SymbolTable.setValueTable(new SymbolTable(100, 16));
+        try
+        {
+            DataSet first = DataReader.parseString(string);
+            DataSet second = DataReader.parseString(string);
+            return TestResult.all(
+                    TestResult.result(first, second),
+                    TestResult.result(true,
+                            first.get(0).getKey() == second.getDataSet("sub").get(0).getKey()),
+                    TestResult.result(true,
+                            first.getString("name") == second.getString("name")),
+                    TestResult.result(false,
+                            first.item("sub.name").getString() == second.item("sub.name").getString()),
+                    TestResult.result(2, SymbolTable.getKeyTable().size())
+            );
+        }
+        finally
+        {
+            SymbolTable.setKeyTable(null);
+            SymbolTable.setValueTable(null);
+        }
+    }
+
+    /**
+     * Check that primitive arrays are written as packed blocks and read back
+     * @return  a {@link TestResult} with the results
+     * @throws  IOException
+     *          when an IO exception occurs
+     * @throws  DataException
+     *          when a data exception occurs
+     */
+    @TestAnnotation(order = 90)
+    public TestResult packedArrays()
+            throws IOException, DataException
+    {
+        IntDataArray ints = new IntDataArray();
+        for (int i = 0; i < 1000; i++)
+        {
+            ints.addInt(i * 7);
+        }
+        DataSet dataSet = new ArrayDataSet()
+                .put("ints", ints)
+                .put("longs", new LongDataArray(Long.MIN_VALUE, 0L, Long.MAX_VALUE))
+                .put("doubles", new DoubleDataArray(0.25, -1.5))
+                .put("after", "end");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutput out = new DataOutput(new DataOutputStream(bytes)))
+        {
+            out.write(dataSet);
+        }
+        DataSet read;
+        try (DataInput in = new DataInput(new DataInputStream(
+                new ByteArrayInputStream(bytes.toByteArray()))))
+        {
+            read = in.read();
+        }
+        return TestResult.all(
+                TestResult.result(dataSet, read),
+                TestResult.result(true, read.getArray("ints") instanceof IntDataArray),
+                TestResult.result(true, read.getArray("longs") instanceof LongDataArray),
+                TestResult.result(true, read.getArray("doubles") instanceof DoubleDataArray),
+                // each int takes 4 bytes, not 6 with its own type
+                TestResult.result(true, bytes.size() < 5000)
+        );
+    }
 }
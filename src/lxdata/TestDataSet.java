@@ -14,7 +14,14 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Spliterator;
 import lexa.core.data.*;
 import lexa.test.TestAnnotation;
 import lexa.test.TestResult;
@@ -87,7 +94,7 @@ public class TestDataSet
      */
     public Object[] dataSetTypes()
     {
-        return new Object[]{"array","hash"};
+        return new Object[]{"array","hash","concurrent","shape","adaptive"};
     }
 
     /**
@@ -110,6 +117,21 @@ public class TestDataSet
             this.data = new HashDataSet();
             break;
         }
+        case "concurrent" :
+        {
+            this.data = new ConcurrentDataSet();
+            break;
+        }
+        case "shape" :
+        {
+            this.data = new ShapeDataSet();
+            break;
+        }
+        case "adaptive" :
+        {
+            this.data = new AdaptiveDataSet();
+            break;
+        }
         default :
         {
             return TestResult.result(true, false, "Invalid type");
@@ -303,4 +325,1416 @@ public class TestDataSet
         return new TestResult (!clone.equals(this.data),
                 "Clone is the same as data after add");
     }
+
+    /**
+     * Check keyed access on a large data set as items are added and removed
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 90)
+    public TestResult largeDataSet(Object arg)
+    {
+        DataSet large = this.data.factory().getDataSet();
+        for (int i = 0; i < 1000; i++)
+        {
+            large.put("key" + i, i);
+        }
+        for (int i = 0; i < 1000; i += 3)
+        {
+            large.remove("key" + i);
+        }
+        large.put("key1", -1);
+        boolean found = true;
+        for (int i = 0; i < 1000; i++)
+        {
+            Integer value = large.getInteger("key" + i);
+            found &= (i % 3 == 0) ?
+                    value == null :
+                    value != null && value == (i == 1 ? -1 : i);
+        }
+        return TestResult.all(
+                TestResult.result(666, large.size()),
+                TestResult.result(true, found),
+                TestResult.result("key1", large.get(0).getKey()),
+                TestResult.result("key998", large.get(665).getKey())
+        );
+    }
+
+    /**
+     * Seal the data set and check it cannot be changed
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 100)
+    public TestResult sealed(Object arg)
+    {
+        SealedDataSet sealed = new SealedDataSet(this.data);
+        int failures = 0;
+        try
+        {
+            sealed.put("new", 1);
+        }
+        catch (UnsupportedOperationException ex)
+        {
+            failures++;
+        }
+        try
+        {
+            sealed.getDataSet("dataset").remove("farewell");
+        }
+        catch (UnsupportedOperationException ex)
+        {
+            failures++;
+        }
+        try
+        {
+            sealed.getArray("array").add(1);
+        }
+        catch (UnsupportedOperationException ex)
+        {
+            failures++;
+        }
+        try
+        {
+            sealed.item("array:6").getDataSet().put("key", "changed");
+        }
+        catch (UnsupportedOperationException ex)
+        {
+            failures++;
+        }
+        return TestResult.all(
+                TestResult.result(this.data, sealed),
+                TestResult.result(4, failures),
+                TestResult.result(true,
+                        sealed.get("dataset") == sealed.get("dataset")),
+                TestResult.result(true,
+                        sealed.getArray("array") == sealed.getArray("array"))
+        );
+    }
+
+    /**
+     * Check that records with the same keys share a shape
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 110)
+    public TestResult shapes(Object arg)
+    {
+        ShapeDataSet first = new ShapeDataSet(this.data);
+        ShapeDataSet second = new ShapeDataSet(this.data);
+        ShapeDataSet copy = new ShapeDataSet(first);
+        boolean shared = first.shape().isShared() &&
+                first.shape() == second.shape() &&
+                first.shape() == copy.shape();
+        second.remove("string");
+        ShapeDataSet third = new ShapeDataSet();
+        for (DataItem item : this.data)
+        {
+            if (!"string".equals(item.getKey()))
+            {
+                third.put(item);
+            }
+        }
+        return TestResult.all(
+                TestResult.result(true, shared),
+                TestResult.result(this.data, copy),
+                TestResult.result(11, second.size()),
+                TestResult.isNull(second.getString("string")),
+                TestResult.result(true, first.shape() != second.shape()),
+                TestResult.result(true, third.shape() == second.shape()),
+                TestResult.result(third, second)
+        );
+    }
+
+    /**
+     * Check primitive values are stored and read without boxing
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 120)
+    public TestResult primitives(Object arg)
+    {
+        DataSet prices = this.data.factory().getDataSet()
+                .put("int", 42)
+                .put("long", 1234567890123L)
+                .put("double", 99.5)
+                .put("boolean", true);
+        DataSet clone = this.data.factory().clone(prices);
+        return TestResult.all(
+                TestResult.result(true, prices.getValue("int") instanceof IntDataValue),
+                TestResult.result(true, prices.getValue("long") instanceof LongDataValue),
+                TestResult.result(true, prices.getValue("double") instanceof DoubleDataValue),
+                TestResult.result(true, prices.getValue("boolean") instanceof BooleanDataValue),
+                TestResult.result(42, prices.getInt("int", -1)),
+                TestResult.result(1234567890123L, prices.getLong("long", -1L)),
+                TestResult.result(99.5, prices.getDouble("double", -1.0)),
+                TestResult.result(true, prices.getBoolean("boolean", false)),
+                TestResult.result(-1, prices.getInt("missing", -1)),
+                TestResult.result(-1, prices.getInt("double", -1)),
+                TestResult.result(1, this.data.getInt("integer", -1)),
+                TestResult.result(3.14, this.data.getDouble("double", -1.0)),
+                TestResult.result(42, prices.getInteger("int")),
+                TestResult.result(42, prices.get("int").getInt(-1)),
+                TestResult.result(this.data.factory().getDataValue((Object)42),
+                        prices.getValue("int")),
+                TestResult.result(prices, clone),
+                TestResult.result(true, clone.getValue("double") instanceof DoubleDataValue)
+        );
+    }
+
+    /**
+     * Check the narrow primitives are boxed and stored as objects, as they
+     * were before the unboxed puts were added
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 121)
+    public TestResult narrowPrimitives(Object arg)
+    {
+        DataSet narrow = this.data.factory().getDataSet()
+                .put("byte", (byte)1)
+                .put("char", 'c')
+                .put("float", 1.5f)
+                .put("short", (short)2);
+        return TestResult.all(
+                TestResult.result(Byte.valueOf((byte)1), narrow.getObject("byte")),
+                TestResult.result(Character.valueOf('c'), narrow.getObject("char")),
+                TestResult.result(Float.valueOf(1.5f), narrow.getObject("float")),
+                TestResult.result(Short.valueOf((short)2), narrow.getObject("short")),
+                TestResult.result(this.data.factory().getDataValue((Object)'c'),
+                        narrow.getValue("char")),
+                TestResult.result(-1, narrow.getInt("char", -1))
+        );
+    }
+
+    /**
+     * Check the path cache keeps a path in regular use while many others
+     * pass through it, and that keyed lookups still resolve
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 131)
+    public TestResult pathCache(Object arg)
+    {
+        DataPath hot = DataPath.compile("hot.path");
+        boolean kept = true;
+        for (int i = 0; i < 20000; i++)
+        {
+            DataPath.compile("cold" + i + ".path");
+            if (i % 1000 == 0)
+            {
+                kept &= (hot == DataPath.compile("hot.path"));
+            }
+        }
+        return TestResult.all(
+                TestResult.result(true, kept),
+                TestResult.result(hot, DataPath.parse("hot.path")),
+                TestResult.result(false, hot == DataPath.parse("hot.path")),
+                TestResult.result(this.data.item("array:6.key"),
+                        this.data.item(DataPath.compile("array:6.key"))),
+                TestResult.result(this.data.getValue("integer"), this.data.item("integer"))
+        );
+    }
+
+    /**
+     * Check compiled paths give the same values as the path strings
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 130)
+    public TestResult paths(Object arg)
+    {
+        DataPath key = DataPath.compile("array:6.key");
+        boolean badIndex = false;
+        try
+        {
+            DataPath.compile("array:one");
+        }
+        catch (NumberFormatException ex)
+        {
+            badIndex = true;
+        }
+        return TestResult.all(
+                TestResult.result(true, key == DataPath.compile("array:6.key")),
+                TestResult.result("value", this.data.getString(key)),
+                TestResult.result(this.data.item("array:6.key"), this.data.item(key)),
+                TestResult.result(2, this.data.getInt(DataPath.compile("array:5:1"), -1)),
+                TestResult.result(9876543210L, this.data.getLong(DataPath.compile("array:2"), -1L)),
+                TestResult.result(-1, this.data.getInt(DataPath.compile("array:5:2"), -1)),
+                TestResult.result(-1, this.data.getInt(DataPath.compile("array:0:1"), -1)),
+                TestResult.result(-1, this.data.getInt(DataPath.compile("missing.key"), -1)),
+                TestResult.isNull(this.data.getString(DataPath.compile("dataset.null"))),
+                TestResult.result("So-long, farewell Adure!",
+                        this.data.getString(DataPath.compile("dataset.farewell"))),
+                TestResult.result(true, badIndex)
+        );
+    }
+
+    /**
+     * Check a projection gets the same values as getting each path
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 140)
+    public TestResult projection(Object arg)
+    {
+        String[] paths = new String[] {
+            "array:6.key", "array:5:1", "string", "dataset.farewell",
+            "array:5:1", "missing.key", "array:9", "dataset", "string.length"
+        };
+        DataProjection projection = new DataProjection(paths);
+        DataValue[] values = projection.values(this.data);
+        boolean same = true;
+        for (int p = 0; p < paths.length; p++)
+        {
+            DataValue expected = this.data.item(paths[p]);
+            same &= (expected == null) ?
+                    values[p] == null :
+                    expected.equals(values[p]);
+        }
+        ShapeDataSet first = projection.dataSet(this.data);
+        ShapeDataSet second = projection.dataSet(new ArrayDataSet(this.data));
+        return TestResult.all(
+                TestResult.result(paths.length, projection.size()),
+                TestResult.result(true, same),
+                TestResult.result("So-long, farewell Adure!",
+                        first.getString("dataset.farewell")),
+                TestResult.result(DataType.NULL, first.getType("missing.key")),
+                TestResult.result(8, first.size()),
+                TestResult.result(true, first.shape() == second.shape()),
+                TestResult.result(first, second)
+        );
+    }
+
+    /**
+     * Check the items and values can be streamed in order and in parallel
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 150)
+    public TestResult streams(Object arg)
+    {
+        DataArray numbers = this.data.factory().getDataArray();
+        long expected = 0;
+        for (int i = 0; i < 10000; i++)
+        {
+            numbers.add(i);
+            expected += i;
+        }
+        String[] keys = this.data.stream()
+                .map(DataItem::getKey)
+                .toArray(String[]::new);
+        Spliterator<DataValue> split = numbers.spliterator();
+        return TestResult.all(
+                TestResult.result(this.data.size(), (int)this.data.parallelStream().count()),
+                TestResult.result(true, Arrays.equals(this.data.keys(), keys)),
+                TestResult.result(expected, numbers.parallelStream()
+                        .mapToLong((DataValue v) -> v.getInt(0))
+                        .sum()),
+                TestResult.result(9999, numbers.parallelStream()
+                        .filter((DataValue v) -> v.getInt(0) % 2 == 1)
+                        .reduce((DataValue a, DataValue b) -> b)
+                        .get().getInteger()),
+                TestResult.result(true, split.hasCharacteristics(
+                        Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED)),
+                TestResult.notNull(split.trySplit())
+        );
+    }
+
+    /**
+     * Check positional access on a large array as values are inserted and
+     * removed in the middle
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 160)
+    public TestResult largeArray(Object arg)
+    {
+        DataArray large = this.data.factory().getDataArray();
+        for (int i = 0; i < 100000; i++)
+        {
+            large.add(i);
+        }
+        large.add(50000, -1);
+        large.add(0, -2);
+        DataValue removed = large.remove(1000);
+        boolean found = true;
+        for (int i = 0; i < large.size(); i += 997)
+        {
+            int expected = i == 0 ? -2 :
+                    i <= 999 ? i - 1 :
+                    i < 50000 ? i :
+                    i == 50000 ? -1 :
+                    i - 1;
+            found &= large.get(i).getInt(0) == expected;
+        }
+        return TestResult.all(
+                TestResult.result(100001, large.size()),
+                TestResult.result(999, removed.getInt(0)),
+                TestResult.result(-1, large.get(50000).getInt(0)),
+                TestResult.result(99999, large.get(100000).getInt(0)),
+                TestResult.result(true, found)
+        );
+    }
+
+    /**
+     * Check the primitive arrays read and write their values directly and
+     * still work as any other array
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 170)
+    public TestResult primitiveArrays(Object arg)
+    {
+        IntDataArray ints = new IntDataArray(this.data.factory(), 1, 2, 4);
+        ints.addInt(2, 3);
+        LongDataArray longs = new LongDataArray(this.data.factory());
+        longs.add(Long.MAX_VALUE);
+        DoubleDataArray doubles = new DoubleDataArray(this.data.factory(), 0.5, 1.5);
+        DataArray boxed = this.data.factory().getDataArray()
+                .add(1).add(2).add(3).add(4);
+        boolean rejected = false;
+        try
+        {
+            ints.add("five");
+        }
+        catch (IllegalArgumentException ex)
+        {
+            rejected = true;
+        }
+        return TestResult.all(
+                TestResult.result(4, ints.size()),
+                TestResult.result(3, ints.getInt(2)),
+                TestResult.result(DataType.INTEGER, ints.get(2).getType()),
+                TestResult.result(10, ints.stream().mapToInt((DataValue v) -> v.getInt(0)).sum()),
+                TestResult.result(true, ints.equals(boxed)),
+                TestResult.result(boxed.hashCode(), ints.hashCode()),
+                TestResult.result(4, ints.remove(3).getInt(0)),
+                TestResult.result(true, rejected),
+                TestResult.result(Long.MAX_VALUE, longs.getLong(0)),
+                TestResult.result(1.5, doubles.set(1, 2.5)),
+                TestResult.result(3.0, doubles.getDouble(0) + doubles.getDouble(1))
+        );
+    }
+
+    /**
+     * Check a data table stores rows as columns and still works as an array
+     * of data sets
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 180)
+    public TestResult dataTable(Object arg)
+    {
+        DataFactory factory = this.data.factory();
+        DataArray rows = factory.getDataArray();
+        DataTable table = new DataTable(factory);
+        for (int i = 0; i < 1000; i++)
+        {
+            DataSet row = factory.getDataSet()
+                    .put("id", i)
+                    .put("name", "name" + (i % 10))
+                    .put("score", i * 0.5);
+            if (i % 2 == 0)
+            {
+                row.put("even", true);
+            }
+            rows.add(row);
+            table.add(row);
+        }
+        DataTable.Column score = table.column("score");
+        DataTable.Column name = table.column("name");
+        int matched = 0;
+        for (int r = 0; r < table.size(); r++)
+        {
+            if (score.getDouble(r, 0.0) >= 250.0 && "name3".equals(name.getString(r)))
+            {
+                matched++;
+            }
+        }
+        DataSet view = table.row(10);
+        view.put("name", 10);
+        DataValue removed = table.remove(0);
+        return TestResult.all(
+                TestResult.result(rows.size() - 1, table.size()),
+                TestResult.result(DataType.DOUBLE, score.type()),
+                TestResult.result(499500.0, table.column("id").sum()),
+                TestResult.result(499, table.column("even").count()),
+                TestResult.result(50, matched),
+                TestResult.result(true, name.getString(4) == name.getString(14)),
+                TestResult.isNull(table.column("name").type()),
+                TestResult.result(10, table.row(9).getInt("name", 0)),
+                TestResult.result(rows.get(0).getDataSet(), removed.getDataSet()),
+                TestResult.result(rows.get(1).getDataSet(), table.get(0).getDataSet()),
+                TestResult.result(false, table.row(0).contains("even")),
+                TestResult.result(3, table.row(0).size())
+        );
+    }
+
+    /**
+     * Check rows are grouped and aggregated across several ranges
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 190)
+    public TestResult aggregation(Object arg)
+    {
+        DataFactory factory = this.data.factory();
+        DataArray rows = factory.getDataArray();
+        for (int i = 0; i < 10000; i++)
+        {
+            DataSet row = factory.getDataSet()
+                    .put("region", i % 2 == 0 ? "east" : "west")
+                    .put("product", factory.getDataSet().put("code", i % 3))
+                    .put("amount", i);
+            if (i % 10 == 0)
+            {
+                row.put("price", 1.5);
+            }
+            rows.add(row);
+        }
+        DataSet result = new DataAggregation("region", "product.code")
+                .count()
+                .count("price")
+                .sum("amount")
+                .min("amount")
+                .max("amount")
+                .average("price")
+                .distinct("region")
+                .aggregate(rows);
+        DataSet eastZero = result.getDataSet("east").getDataSet("0");
+        DataSet total = new DataAggregation()
+                .sum("amount")
+                .sum("price")
+                .aggregate(rows);
+        return TestResult.all(
+                TestResult.result(2, result.size()),
+                TestResult.result(3, result.getDataSet("west").size()),
+                TestResult.result(1667, eastZero.getInt("count", 0)),
+                TestResult.result(334, eastZero.getInt("count(price)", 0)),
+                TestResult.result(0, eastZero.getInt("min(amount)", -1)),
+                TestResult.result(9996, eastZero.getInt("max(amount)", -1)),
+                TestResult.result(1.5, eastZero.getDouble("average(price)", 0.0)),
+                TestResult.result(1, eastZero.getArray("distinct(region)").size()),
+                TestResult.result(49995000L, total.getLong("sum(amount)", 0L)),
+                TestResult.result(1500.0, total.getDouble("sum(price)", 0.0))
+        );
+    }
+
+    /**
+     * Check group values that differ but have the same string are rejected
+     * rather than one group overwriting the other
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 191)
+    public TestResult aggregationCollision(Object arg)
+    {
+        DataFactory factory = this.data.factory();
+        DataArray mixed = factory.getDataArray()
+                .add(factory.getDataSet().put("code", 1))
+                .add(factory.getDataSet().put("code", "1"));
+        DataArray missing = factory.getDataArray()
+                .add(factory.getDataSet().put("code", "null"))
+                .add(factory.getDataSet().put("other", 2));
+        DataArray same = factory.getDataArray()
+                .add(factory.getDataSet().put("code", 1))
+                .add(factory.getDataSet().put("code", 1));
+        DataAggregation byCode = new DataAggregation("code").count();
+        int rejected = 0;
+        try
+        {
+            byCode.aggregate(mixed);
+        }
+        catch (IllegalArgumentException ex)
+        {
+            rejected++;
+        }
+        try
+        {
+            byCode.aggregate(missing);
+        }
+        catch (IllegalArgumentException ex)
+        {
+            rejected++;
+        }
+        return TestResult.all(
+                TestResult.result(2, rejected),
+                TestResult.result(2, byCode.aggregate(same).getDataSet("1").getInt("count", 0))
+        );
+    }
+
+    /**
+     * Check arrays can be read by many threads, and an append array can be
+     * added to by many threads
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     * @throws InterruptedException if the test is interrupted
+     */
+    @TestAnnotation(order = 200)
+    public TestResult concurrentArrays(Object arg)
+            throws InterruptedException
+    {
+        DataArray array = this.data.factory().getDataArray();
+        for (int i = 0; i < 100000; i++)
+        {
+            array.add(i);
+        }
+        long read = java.util.stream.IntStream.range(0, array.size())
+                .parallel()
+                .mapToLong((int i) -> array.get(i).getInt(0))
+                .sum();
+        AppendDataArray append = new AppendDataArray(this.data.factory());
+        Thread[] producers = new Thread[4];
+        for (int p = 0; p < producers.length; p++)
+        {
+            producers[p] = new Thread(() ->
+            {
+                for (int i = 0; i < 10000; i++)
+                {
+                    append.add(i);
+                }
+            });
+            producers[p].start();
+        }
+        int[] unwritten = new int[1];
+        Thread reader = new Thread(() ->
+        {
+            for (int size = 0; size < 40000; size = append.size())
+            {
+                for (int i = 0; i < size; i++)
+                {
+                    if (append.get(i) == null)
+                    {
+                        unwritten[0]++;
+                    }
+                }
+            }
+        });
+        reader.start();
+        for (Thread producer : producers)
+        {
+            producer.join();
+        }
+        reader.join();
+        long appended = append.parallelStream()
+                .mapToLong((DataValue v) -> v.getInt(0))
+                .sum();
+        boolean rejected = false;
+        try
+        {
+            append.remove(0);
+        }
+        catch (UnsupportedOperationException ex)
+        {
+            rejected = true;
+        }
+        boolean nullRejected = false;
+        try
+        {
+            append.add((Object)null);
+        }
+        catch (IllegalArgumentException ex)
+        {
+            nullRejected = true;
+        }
+        append.add(-1);
+        return TestResult.all(
+                TestResult.result(4999950000L, read),
+                TestResult.result(40001, append.size()),
+                TestResult.result(4L * 49995000L, appended),
+                TestResult.result(true, rejected),
+                TestResult.result(true, nullRejected),
+                TestResult.result(0, unwritten[0]),
+                TestResult.result(-1, append.get(40000).getInt(0))
+        );
+    }
+
+    /**
+     * Check hash codes match across types and orders, are well spread and
+     * are kept by sealed data sets
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 210)
+    public TestResult hashing(Object arg)
+    {
+        DataFactory factory = this.data.factory();
+        DataSet forward = factory.getDataSet()
+                .put("a", 1)
+                .put("b", "two")
+                .put("c", factory.getDataArray().add(1).add(2));
+        DataSet backward = new ArrayDataSet()
+                .put("c", new ArrayDataArray(1, 2))
+                .put("b", "two")
+                .put("a", 1);
+        java.util.Set<Integer> hashes = new java.util.HashSet<>();
+        for (int i = 0; i < 1000; i++)
+        {
+            hashes.add(factory.getDataSet().put("x", i).put("y", i + 1).hashCode());
+        }
+        SealedDataSet sealed = new SealedDataSet(forward);
+        SealedDataSet other = new SealedDataSet(
+                factory.getDataSet().put("a", 2).put("b", "two").put("c", 0));
+        int hash = sealed.hashCode();
+        other.hashCode();
+        return TestResult.all(
+                TestResult.result(forward, backward),
+                TestResult.result(forward.hashCode(), backward.hashCode()),
+                TestResult.result(forward.hashCode(), hash),
+                TestResult.result(hash, sealed.hashCode()),
+                TestResult.result(true, sealed.equals(forward)),
+                TestResult.result(false, sealed.equals(other)),
+                TestResult.result(1000, hashes.size())
+        );
+    }
+
+    /**
+     * Check a delta turns one data set into another, including through the
+     * binary format
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     * @throws IOException when an IO exception occurs
+     * @throws lexa.core.data.exception.DataException when a data exception occurs
+     */
+    @TestAnnotation(order = 220)
+    public TestResult diff(Object arg)
+            throws IOException, lexa.core.data.exception.DataException
+    {
+        DataFactory factory = this.data.factory();
+        DataSet shared = factory.getDataSet().put("big", "unchanged");
+        DataSet from = factory.getDataSet()
+                .put("same", 1)
+                .put("changed", "old")
+                .put("gone", true)
+                .put("shared", shared)
+                .put("nested", factory.getDataSet().put("x", 1).put("y", 2))
+                .put("list", factory.getDataArray().add(1).add(2).add(3).add(4))
+                .put("grow", factory.getDataArray().add("a").add("b"))
+                .put("type", 5);
+        DataSet to = factory.getDataSet()
+                .put("same", 1)
+                .put("changed", "new")
+                .put("shared", shared)
+                .put("nested", factory.getDataSet().put("x", 1).put("y", 3))
+                .put("list", factory.getDataArray().add(1).add(9).add(3).add(4))
+                .put("grow", factory.getDataArray().add("a").add("c").add("d").add("b"))
+                .put("type", "five")
+                .put("added", 2.5);
+        DataSet delta = DataDiff.diff(from, to);
+        java.io.ByteArrayOutputStream bytes = new java.io.ByteArrayOutputStream();
+        try (lexa.core.data.io.DataOutput out = new lexa.core.data.io.DataOutput(
+                new java.io.DataOutputStream(bytes)))
+        {
+            out.write(delta);
+        }
+        DataSet sent;
+        try (lexa.core.data.io.DataInput in = new lexa.core.data.io.DataInput(
+                new java.io.DataInputStream(
+                        new java.io.ByteArrayInputStream(bytes.toByteArray()))))
+        {
+            sent = in.read();
+        }
+        DataSet patched = DataDiff.patch(from, sent);
+        return TestResult.all(
+                TestResult.result(true, DataDiff.diff(to, to).isEmpty()),
+                TestResult.result(false, delta.contains("same")),
+                TestResult.isNull(delta.item("set.shared")),
+                TestResult.result(1, delta.getArray("remove").size()),
+                TestResult.result(to, patched),
+                TestResult.result(false, from.equals(to)),
+                TestResult.result(to, DataDiff.apply(from, delta))
+        );
+    }
+
+    /**
+     * Check a pre-sized data set and each way of merging another data set
+     * into it
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 230)
+    public TestResult merge(Object arg)
+    {
+        DataFactory factory = this.data.factory();
+        DataSet big = factory.getDataSet(100);
+        DataSet keys = factory.getDataSet();
+        for (int k = 0; k < 100; k++)
+        {
+            keys.put("key" + k, k);
+        }
+        big.putAll(keys, MergeStrategy.OVERWRITE);
+        DataSet base = factory.getDataSet()
+                .put("value", 1)
+                .put("nested", factory.getDataSet().put("x", 1).put("y", 2))
+                .put("list", factory.getDataArray().add(1).add(2));
+        DataSet incoming = factory.getDataSet()
+                .put("value", 2)
+                .put("nested", factory.getDataSet().put("y", 3).put("z", 4))
+                .put("list", factory.getDataArray().add(3))
+                .put("added", true);
+        DataSet overwrite = factory.clone(base)
+                .putAll(incoming, MergeStrategy.OVERWRITE);
+        DataSet keep = factory.clone(base)
+                .putAll(incoming, MergeStrategy.KEEP_EXISTING);
+        DataSet deep = factory.clone(base);
+        DataSet nested = deep.getDataSet("nested");
+        deep.putAll(incoming, MergeStrategy.DEEP_MERGE);
+        DataSet concatenate = factory.clone(base)
+                .putAll(incoming, MergeStrategy.CONCATENATE);
+        return TestResult.all(
+                TestResult.result(100, big.size()),
+                TestResult.result(keys, big),
+                TestResult.result(57, big.getInteger("key57")),
+                TestResult.result(incoming, overwrite),
+                TestResult.result(1, keep.getInteger("value")),
+                TestResult.result(true, keep.getBoolean("added")),
+                TestResult.result(base.getDataSet("nested"), keep.getDataSet("nested")),
+                TestResult.result(2, deep.getInteger("value")),
+                TestResult.result(true, nested == deep.getDataSet("nested")),
+                TestResult.result(factory.getDataSet().put("x", 1).put("y", 3).put("z", 4),
+                        deep.getDataSet("nested")),
+                TestResult.result(1, deep.getArray("list").size()),
+                TestResult.result(3, concatenate.getArray("list").size()),
+                TestResult.result(3, concatenate.item("list:2").getInteger()),
+                TestResult.result(4, concatenate.item("nested.z").getInteger())
+        );
+    }
+
+    /**
+     * Check a lazy clone shares its source until it is changed and never
+     * changes the source
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 240)
+    public TestResult lazyClone(Object arg)
+    {
+        DataFactory factory = this.data.factory();
+        DataSet source = new SealedDataSet(factory.getDataSet()
+                .put("name", "source")
+                .put("spare", factory.getDataSet().put("w", 1))
+                .put("nested", factory.getDataSet()
+                        .put("x", 1)
+                        .put("deep", factory.getDataSet().put("y", 2)))
+                .put("list", factory.getDataArray().add(1)
+                        .add(factory.getDataSet().put("z", 3))));
+        DataSet expected = factory.clone(source);
+        LazyDataSet clone = (LazyDataSet)ArrayFactory.factory.lazyClone(source);
+        String name = clone.getString("name");
+        boolean sharedAfterRead = clone.isShared();
+        boolean equalBefore = clone.equals(source);
+        DataSet other = ArrayFactory.factory.lazyClone(clone);
+        clone.getDataSet("nested").getDataSet("deep").put("y", 20);
+        clone.getArray("list").get(1).getDataSet().put("z", 30);
+        clone.getArray("list").add(4);
+        clone.put("name", "clone");
+        LazyDataSet untouched = (LazyDataSet)clone.getDataSet("spare");
+        return TestResult.all(
+                TestResult.result("source", name),
+                TestResult.result(true, sharedAfterRead),
+                TestResult.result(true, equalBefore),
+                TestResult.result(false, clone.isShared()),
+                TestResult.result(true, untouched.isShared()),
+                TestResult.result(expected, source),
+                TestResult.result(expected, other),
+                TestResult.result(20, clone.getInt(DataPath.compile("nested.deep.y"), 0)),
+                TestResult.result(30, clone.getInt(DataPath.compile("list:1.z"), 0)),
+                TestResult.result(3, clone.getArray("list").size()),
+                TestResult.result("clone", clone.getString("name")),
+                TestResult.result(false, clone.equals(source))
+        );
+    }
+
+    /**
+     * Check a lazy clone of a data set that can change does not see the
+     * changes made to it afterwards
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 241)
+    public TestResult lazyCloneChangedSource(Object arg)
+    {
+        DataFactory factory = this.data.factory();
+        DataSet source = factory.getDataSet()
+                .put("name", "source")
+                .put("nested", factory.getDataSet().put("x", 1))
+                .put("list", factory.getDataArray().add(1));
+        DataSet expected = factory.clone(source);
+        DataSet clone = ArrayFactory.factory.lazyClone(source);
+        DataArray array = ArrayFactory.factory.lazyClone(source.getArray("list"));
+        source.put("name", "changed");
+        source.put("added", true);
+        source.getDataSet("nested").put("x", 10);
+        source.getArray("list").add(2);
+        return TestResult.all(
+                TestResult.result(expected, clone),
+                TestResult.result("source", clone.getString("name")),
+                TestResult.result(1, clone.getInt(DataPath.compile("nested.x"), 0)),
+                TestResult.result(1, clone.getArray("list").size()),
+                TestResult.result(1, array.size())
+        );
+    }
+
+    /**
+     * Check a parallel clone and convert give the same result as the serial
+     * ones
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 250)
+    public TestResult parallelClone(Object arg)
+    {
+        DataFactory factory = this.data.factory();
+        DataArray rows = factory.getDataArray();
+        for (int r = 0; r < 3000; r++)
+        {
+            rows.add(factory.getDataSet()
+                    .put("id", r)
+                    .put("name", "row" + r)
+                    .put("tags", factory.getDataArray().add(r % 7).add("t" + r)));
+        }
+        DataArray wide = factory.getDataArray();
+        for (int w = 0; w < 5000; w++)
+        {
+            wide.add(w * 0.5);
+        }
+        DataSet tree = factory.getDataSet()
+                .put("rows", rows)
+                .put("wide", wide)
+                .put("small", factory.getDataSet().put("x", 1));
+        java.util.concurrent.ForkJoinPool pool = new java.util.concurrent.ForkJoinPool(4);
+        try
+        {
+            DataSet serial = factory.clone(tree);
+            DataSet parallel = new DataCloner(factory, pool).clone(tree);
+            DataSet converted = new DataCloner(HashFactory.factory, pool).convert(tree);
+            DataSet same = new DataCloner(factory, pool).convert(tree);
+            return TestResult.all(
+                    TestResult.result(serial, parallel),
+                    TestResult.result(Arrays.asList(serial.keys()), Arrays.asList(parallel.keys())),
+                    TestResult.result(false, parallel.getArray("rows") == rows),
+                    TestResult.result(factory.clone(rows.get(2999)), parallel.getArray("rows").get(2999)),
+                    TestResult.result(tree, converted),
+                    TestResult.result(factory == HashFactory.factory,
+                            converted == tree),
+                    TestResult.result(true, HashFactory.factory.checkFactory(
+                            converted.getArray("rows").get(10).getDataSet().factory())),
+                    TestResult.result(true, same == tree)
+            );
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Check a walk visits every part of a tree with its path, and can skip
+     * and stop, including on a pool
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 260)
+    public TestResult walk(Object arg)
+    {
+        DataFactory factory = this.data.factory();
+        DataSet tree = factory.getDataSet()
+                .put("name", "tree")
+                .put("skip", factory.getDataSet().put("hidden", 1))
+                .put("list", factory.getDataArray()
+                        .add(1)
+                        .add(factory.getDataSet().put("flag", true).put("big", 5L)))
+                .put("ints", new IntDataArray(factory, 7, 8))
+                .put("last", 2.5);
+        final StringBuilder visited = new StringBuilder();
+        DataVisitor visitor = new BaseDataVisitor()
+        {
+            @Override
+            public Visit enterSet(DataCursor path, DataSet data)
+            {
+                visited.append('{').append(path);
+                return "skip".equals(path.key()) ? Visit.SKIP : Visit.CONTINUE;
+            }
+
+            @Override
+            public Visit leaveArray(DataCursor path, DataArray array)
+            {
+                visited.append(" ]").append(path.depth());
+                return Visit.CONTINUE;
+            }
+
+            @Override
+            public Visit visitBoolean(DataCursor path, boolean value)
+            {
+                visited.append(' ').append(path).append('=').append(value);
+                return Visit.CONTINUE;
+            }
+
+            @Override
+            public Visit visitDouble(DataCursor path, double value)
+            {
+                visited.append(' ').append(path).append('=').append(value);
+                return Visit.CONTINUE;
+            }
+
+            @Override
+            public Visit visitInt(DataCursor path, int value)
+            {
+                visited.append(' ').append(path).append('=').append(value);
+                return value == 7 ? Visit.SKIP : Visit.CONTINUE;
+            }
+
+            @Override
+            public Visit visitLong(DataCursor path, long value)
+            {
+                visited.append(' ').append(path.toPath()).append('=').append(value);
+                return Visit.CONTINUE;
+            }
+
+            @Override
+            public Visit visitString(DataCursor path, String value)
+            {
+                visited.append(' ').append(path).append('=').append(value);
+                return Visit.CONTINUE;
+            }
+        };
+        boolean finished = new DataWalker(visitor).walk(tree);
+
+        DataArray rows = factory.getDataArray();
+        for (int r = 0; r < 5000; r++)
+        {
+            rows.add(factory.getDataSet().put("n", r));
+        }
+        final java.util.concurrent.atomic.AtomicLong total =
+                new java.util.concurrent.atomic.AtomicLong();
+        final java.util.concurrent.atomic.AtomicInteger deepest =
+                new java.util.concurrent.atomic.AtomicInteger();
+        DataVisitor summing = new BaseDataVisitor()
+        {
+            @Override
+            public Visit visitInt(DataCursor path, int value)
+            {
+                total.addAndGet(value);
+                deepest.accumulateAndGet(path.position(0), Math::max);
+                return value == 4000 ? Visit.STOP : Visit.CONTINUE;
+            }
+        };
+        java.util.concurrent.ForkJoinPool pool = new java.util.concurrent.ForkJoinPool(4);
+        try
+        {
+            boolean stopped = new DataWalker(summing, pool).walk(rows);
+            total.set(0);
+            boolean parallel = new DataWalker(summing, pool).walk(
+                    factory.getDataArray().add(factory.getDataSet().put("rows", rows)));
+            long parallelTotal = total.get();
+            return TestResult.all(
+                    TestResult.result(true, finished),
+                    TestResult.result("{ name=tree{skip list:0=1{list:1 list:1.flag=true" +
+                            " list:1.big=5 ]1 ints:0=7 ]1 last=2.5", visited.toString()),
+                    TestResult.result(false, stopped),
+                    TestResult.result(false, parallel),
+                    TestResult.result(true, parallelTotal >= 4000),
+                    TestResult.result(true, deepest.get() >= 4000)
+            );
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Check the paths from a cursor find the values they were made for, and
+     * that a cursor from a walk of an array cannot be made into a path
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 261)
+    public TestResult cursorPath(Object arg)
+    {
+        DataFactory factory = this.data.factory();
+        DataSet tree = factory.getDataSet()
+                .put("a", 1)
+                .put("list", factory.getDataArray()
+                        .add(2)
+                        .add(factory.getDataSet().put("b", 3)));
+        List<String> paths = new ArrayList<>();
+        int[] misses = new int[1];
+        new DataWalker(new BaseDataVisitor()
+        {
+            @Override
+            public Visit visitInt(DataCursor path, int value)
+            {
+                DataPath compiled = path.toPath();
+                paths.add(compiled.toString());
+                if (compiled.evaluate(tree).getInt(-1) != value)
+                {
+                    misses[0]++;
+                }
+                return Visit.CONTINUE;
+            }
+        }).walk(tree);
+        int[] rejected = new int[1];
+        new DataWalker(new BaseDataVisitor()
+        {
+            @Override
+            public Visit visitInt(DataCursor path, int value)
+            {
+                try
+                {
+                    path.toPath();
+                }
+                catch (IllegalStateException ex)
+                {
+                    rejected[0]++;
+                }
+                return Visit.CONTINUE;
+            }
+        }).walk(factory.getDataArray().add(5).add(6));
+        return TestResult.all(
+                TestResult.result(Arrays.asList("a", "list:0", "list:1.b"), paths),
+                TestResult.result(0, misses[0]),
+                TestResult.result(2, rejected[0]),
+                TestResult.result(DataPath.compile("list:1.b"), DataPath.parse(paths.get(2)))
+        );
+    }
+
+    /**
+     * Check an adaptive data set switches to hashing as it grows and back as
+     * it shrinks, keeping the order of its items
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 270)
+    public TestResult adaptive(Object arg)
+    {
+        AdaptiveDataSet adaptive = new AdaptiveDataSet();
+        DataSet expected = new ArrayDataSet();
+        for (int k = 0; k < 8; k++)
+        {
+            adaptive.put("key" + k, k);
+            expected.put("key" + k, k);
+        }
+        boolean scannedAtThreshold = !adaptive.isHashed();
+        for (int k = 8; k < 50; k++)
+        {
+            adaptive.put("key" + k, k);
+            expected.put("key" + k, k);
+        }
+        boolean hashedWhenLarge = adaptive.isHashed();
+        adaptive.put("key10", -10);
+        expected.put("key10", -10);
+        boolean sameOrder = Arrays.equals(expected.keys(), adaptive.keys());
+        for (int k = 49; k >= 6; k--)
+        {
+            adaptive.remove("key" + k);
+            expected.remove("key" + k);
+        }
+        boolean hashedAboveFloor = adaptive.isHashed();
+        adaptive.remove("key5");
+        expected.remove("key5");
+        adaptive.remove(0);
+        expected.remove(0);
+        AdaptiveDataSet bulk = new AdaptiveDataSet();
+        bulk.putAll(this.data, MergeStrategy.OVERWRITE);
+        return TestResult.all(
+                TestResult.result(true, scannedAtThreshold),
+                TestResult.result(true, hashedWhenLarge),
+                TestResult.result(true, sameOrder),
+                TestResult.result(true, hashedAboveFloor),
+                TestResult.result(false, adaptive.isHashed()),
+                TestResult.result(expected, adaptive),
+                TestResult.result(Arrays.asList(expected.keys()), Arrays.asList(adaptive.keys())),
+                TestResult.result(4, adaptive.getInteger("key4")),
+                TestResult.result(this.data, bulk),
+                TestResult.result(Arrays.asList(this.data.keys()), Arrays.asList(bulk.keys()))
+        );
+    }
+
+    /**
+     * Check keys and positions stay right as a large data set is drained in
+     * a scattered order with adds in between
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 280)
+    public TestResult drain(Object arg)
+    {
+        DataSet large = this.data.factory().getDataSet();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 2000; i++)
+        {
+            large.put("key" + i, i);
+            expected.add("key" + i);
+        }
+        int mismatches = 0;
+        int seed = 17;
+        for (int step = 0; !expected.isEmpty(); step++)
+        {
+            seed = seed * 1103515245 + 12345;
+            int at = (seed >>> 8) % expected.size();
+            if (step % 2 == 0)
+            {
+                large.remove(expected.remove(at));
+            }
+            else
+            {
+                expected.remove(at);
+                large.remove(at);
+            }
+            if (step % 5 == 0)
+            {
+                String key = "new" + step;
+                large.put(key, step);
+                expected.add(key);
+            }
+            if (step % 97 == 0)
+            {
+                for (int i = 0; i < expected.size(); i++)
+                {
+                    String key = expected.get(i);
+                    if (!key.equals(large.get(i).getKey()) ||
+                            !key.equals(large.get(key).getKey()))
+                    {
+                        mismatches++;
+                    }
+                }
+            }
+        }
+        return TestResult.all(
+                TestResult.result(0, mismatches),
+                TestResult.result(0, large.size()),
+                TestResult.result(true, large.isEmpty()),
+                TestResult.result(0, large.keys().length),
+                TestResult.isNull(large.get("key1"))
+        );
+    }
+
+    /**
+     * Check a data set reads the same through its keys, positions, iterator
+     * and stream after items have been removed from the middle
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 290)
+    public TestResult removeMiddle(Object arg)
+    {
+        DataSet large = this.data.factory().getDataSet();
+        for (int i = 0; i < 100; i++)
+        {
+            large.put("key" + i, i);
+        }
+        for (int i = 10; i < 20; i++)
+        {
+            large.remove("key" + i);
+        }
+        large.remove(0);
+        large.put("key0", 0);
+        List<String> iterated = new ArrayList<>();
+        for (DataItem item : large)
+        {
+            iterated.add(item.getKey());
+        }
+        List<String> positioned = new ArrayList<>();
+        for (int i = 0; i < large.size(); i++)
+        {
+            positioned.add(large.get(i).getKey());
+        }
+        List<String> keys = Arrays.asList(large.keys());
+        return TestResult.all(
+                TestResult.result(90, large.size()),
+                TestResult.result("key1", keys.get(0)),
+                TestResult.result("key20", keys.get(9)),
+                TestResult.result("key0", keys.get(89)),
+                TestResult.result(keys, iterated),
+                TestResult.result(keys, positioned),
+                TestResult.result(90L, large.stream().count()),
+                TestResult.result(4950L - 145L,
+                        large.parallelStream()
+                                .mapToLong(item -> item.getValue().getInt(0))
+                                .sum())
+        );
+    }
+
+    /**
+     * Check a large data set and array built in bulk hold the same as one
+     * built an item at a time
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 300)
+    public TestResult bulkBuild(Object arg)
+    {
+        DataFactory factory = this.data.factory();
+        DataSet single = factory.getDataSet();
+        DataArray values = factory.getDataArray();
+        Object[] objects = new Object[500];
+        for (int i = 0; i < 500; i++)
+        {
+            single.put("key" + i, i);
+            values.add(i);
+            objects[i] = "value" + i;
+        }
+        DataSet bulk = factory.getDataSet()
+                .put("key7", -7);
+        bulk.put(single);
+        bulk.putAll(single, MergeStrategy.KEEP_EXISTING);
+        DataArray added = factory.getDataArray()
+                .addAll(values)
+                .addAll(objects);
+        boolean rejected = false;
+        try
+        {
+            factory.getDataArray().addAll(new Object[] {1, null});
+        }
+        catch (IllegalArgumentException ex)
+        {
+            rejected = true;
+        }
+        return TestResult.all(
+                TestResult.result(single, bulk),
+                TestResult.result("key7", bulk.get(0).getKey()),
+                TestResult.result(7, bulk.getInteger("key7")),
+                TestResult.result(single, factory.clone(single)),
+                TestResult.result(1000, added.size()),
+                TestResult.result(499, added.get(499).getInt(0)),
+                TestResult.result("value0", added.get(500).getString()),
+                TestResult.result(true, rejected)
+        );
+    }
+
+    /**
+     * Check a data set still finds its items when many are added after one
+     * has been removed from the start
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 310)
+    public TestResult removeThenGrow(Object arg)
+    {
+        DataSet grown = this.data.factory().getDataSet();
+        for (int i = 0; i < 3; i++)
+        {
+            grown.put("k" + i, i);
+        }
+        grown.remove("k0");
+        for (int i = 3; i < 40; i++)
+        {
+            grown.put("k" + i, i);
+        }
+        int iterated = 0;
+        boolean gaps = false;
+        for (DataItem item : grown)
+        {
+            gaps |= item == null;
+            iterated++;
+        }
+        return TestResult.all(
+                TestResult.result(39, grown.size()),
+                TestResult.result(1, grown.getInteger("k1")),
+                TestResult.result(39, grown.getInteger("k39")),
+                TestResult.result("k1", grown.get(0).getKey()),
+                TestResult.result("k39", grown.get(38).getKey()),
+                TestResult.result(false, gaps),
+                TestResult.result(39, iterated)
+        );
+    }
+
+    /**
+     * Check a data set against a model after a random run of puts, removals
+     * and bulk puts
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 320)
+    public TestResult modelFuzz(Object arg)
+    {
+        DataFactory factory = this.data.factory();
+        DataSet fuzzed = factory.getDataSet();
+        Map<String, Integer> model = new LinkedHashMap<>();
+        Random random = new Random(20261018L);
+        for (int step = 0; step < 5000; step++)
+        {
+            int choice = random.nextInt(10);
+            String key = "k" + random.nextInt(200);
+            if (choice < 5)
+            {
+                fuzzed.put(key, step);
+                model.put(key, step);
+            }
+            else if (choice < 9)
+            {
+                fuzzed.remove(key);
+                model.remove(key);
+            }
+            else
+            {
+                DataSet bulk = factory.getDataSet();
+                for (int i = random.nextInt(20); i > 0; i--)
+                {
+                    String added = "k" + random.nextInt(200);
+                    bulk.put(added, step);
+                    model.put(added, step);
+                }
+                fuzzed.putAll(bulk, MergeStrategy.OVERWRITE);
+            }
+        }
+        List<String> iterated = new ArrayList<>();
+        List<Integer> values = new ArrayList<>();
+        for (DataItem item : fuzzed)
+        {
+            iterated.add(item.getKey());
+            values.add(item.getValue().getInt(-1));
+        }
+        boolean found = true;
+        for (Map.Entry<String, Integer> entry : model.entrySet())
+        {
+            found &= entry.getValue().equals(fuzzed.getInteger(entry.getKey()));
+        }
+        List<String> positioned = new ArrayList<>();
+        for (int i = 0; i < fuzzed.size(); i++)
+        {
+            positioned.add(fuzzed.get(i).getKey());
+        }
+        return TestResult.all(
+                TestResult.result(model.size(), fuzzed.size()),
+                TestResult.result(new ArrayList<>(model.keySet()), iterated),
+                TestResult.result(new ArrayList<>(model.values()), values),
+                TestResult.result(new ArrayList<>(model.keySet()), positioned),
+                TestResult.result(true, found)
+        );
+    }
+
+    /**
+     * Check a data set merged with itself doubles its arrays when they are
+     * concatenated, and is unchanged otherwise
+     * @param arg the type of data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 330)
+    public TestResult selfMerge(Object arg)
+    {
+        DataFactory factory = this.data.factory();
+        DataSet merged = factory.getDataSet()
+                .put("name", "self")
+                .put("list", factory.getDataArray().add(1).add(2))
+                .put("nested", factory.getDataSet()
+                        .put("inner", factory.getDataArray().add("a")));
+        DataSet expected = factory.clone(merged);
+        merged.putAll(merged, MergeStrategy.OVERWRITE);
+        merged.putAll(merged, MergeStrategy.DEEP_MERGE);
+        boolean unchanged = expected.equals(merged);
+        merged.putAll(merged, MergeStrategy.CONCATENATE);
+        DataArray list = merged.getArray("list");
+        return TestResult.all(
+                TestResult.result(true, unchanged),
+                TestResult.result(3, merged.size()),
+                TestResult.result("self", merged.getString("name")),
+                TestResult.result(4, list.size()),
+                TestResult.result(1, list.get(2).getInteger()),
+                TestResult.result(2, list.get(3).getInteger()),
+                TestResult.result(2, merged.getDataSet("nested").getArray("inner").size())
+        );
+    }
 }
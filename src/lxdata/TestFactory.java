@@ -10,14 +10,18 @@
  */
 package lxdata;
 
+import lexa.core.data.AdaptiveFactory;
 import lexa.core.data.ArrayFactory;
+import lexa.core.data.ConcurrentFactory;
 import lexa.core.data.DataArray;
 import lexa.core.data.DataFactory;
 import lexa.core.data.DataFactoryItem;
 import lexa.core.data.DataItem;
 import lexa.core.data.DataSet;
+import lexa.core.data.DataType;
 import lexa.core.data.DataValue;
 import lexa.core.data.HashFactory;
+import lexa.core.data.ShapeFactory;
 import lexa.core.data.config.ConfigFactory;
 import lexa.test.TestAnnotation;
 import lexa.test.TestResult;
@@ -52,6 +56,18 @@ public class TestFactory
             {
                 return HashFactory.factory;
             }
+            case "concurrent" :
+            {
+                return ConcurrentFactory.factory;
+            }
+            case "shape" :
+            {
+                return ShapeFactory.factory;
+            }
+            case "adaptive" :
+            {
+                return AdaptiveFactory.factory;
+            }
             case "config" :
             {
                 return ConfigFactory.factory;
@@ -72,6 +88,9 @@ public class TestFactory
         return new Object[]{
             "array",
             "hash",
+            "concurrent",
+            "shape",
+            "adaptive",
             "config"
         };
     }
@@ -288,6 +307,30 @@ public class TestFactory
         );
     }
 
+    /**
+     * Check that the types of the factory's values are recognised
+     * @param arg the type of factory being tested
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation()
+    public TestResult dataTypes(Object arg)
+    {
+        return TestResult.all(
+                TestResult.result(DataType.DATA_SET,
+                        DataType.getType(this.factory.getDataSet())),
+                TestResult.result(DataType.ARRAY,
+                        DataType.getType(this.factory.getDataArray())),
+                TestResult.result(DataType.INTEGER,
+                        this.factory.getDataValue(1).getType()),
+                TestResult.result(DataType.STRING,
+                        this.factory.getDataValue(arg).getType()),
+                TestResult.result(DataType.NULL,
+                        this.factory.getDataValue((Object)null).getType()),
+                TestResult.result(DataType.OBJECT,
+                        DataType.getType(new StringBuilder()))
+        );
+    }
+
     private TestResult checkCreated(DataFactoryItem test)
     {
         return TestResult.all(
@@ -0,0 +1,227 @@
+/*
+ * =============================================================================
+ * Lexa - Property of William Norman-Walker
+ * -----------------------------------------------------------------------------
+ * TestPersistent.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lxdata;
+
+import java.util.Random;
+import lexa.core.data.ArrayDataSet;
+import lexa.core.data.DataAggregation;
+import lexa.core.data.DataDiff;
+import lexa.core.data.DataSet;
+import lexa.core.data.persistent.PersistentDataArray;
+import lexa.core.data.persistent.PersistentDataSet;
+import lexa.core.data.persistent.PersistentFactory;
+import lexa.test.TestAnnotation;
+import lexa.test.TestResult;
+
+/**
+ * Test handler for the {@link lexa.core.data.persistent} stack
+ * @author william
+ * @since 2026-10
+ */
+public class TestPersistent
+        extends lexa.test.TestClass
+{
+    private DataSet data;
+    private PersistentDataSet persistent;
+
+    /**
+     * Convert the test data to a persistent data set
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 0)
+    public TestResult convert()
+    {
+        this.data = new ArrayDataSet();
+        TestResult populate = TestDataSet.populate(this.data);
+        if (!populate.passed())
+        {
+            return populate;
+        }
+        this.persistent = (PersistentDataSet)PersistentFactory.factory.convert(this.data);
+        return TestResult.all(
+                TestResult.result(this.data, this.persistent),
+                TestResult.result(PersistentFactory.factory,
+                        this.persistent.getDataSet("dataset").factory()),
+                TestResult.result(PersistentFactory.factory,
+                        this.persistent.getArray("array").factory())
+        );
+    }
+
+    /**
+     * Check that a new version leaves the old one unchanged
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 10)
+    public TestResult withAndWithout()
+    {
+        PersistentDataSet changed = this.persistent
+                .with("integer", 99)
+                .with("extra", "value")
+                .without("string");
+        return TestResult.all(
+                TestResult.result(this.data, this.persistent),
+                TestResult.result(99, changed.getInteger("integer")),
+                TestResult.result("integer", changed.get(1).getKey()),
+                TestResult.result("extra", changed.get(changed.size() - 1).getKey()),
+                TestResult.result(false, changed.contains("string")),
+                TestResult.result(this.persistent.size(), changed.size()),
+                TestResult.result(true,
+                        this.persistent.getDataSet("dataset") == changed.getDataSet("dataset"))
+        );
+    }
+
+    /**
+     * Check that a persistent data set cannot be changed in place
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 20)
+    public TestResult putFails()
+    {
+        try
+        {
+            this.persistent.put("new", 1);
+        }
+        catch (UnsupportedOperationException ex)
+        {
+            return TestResult.result(true);
+        }
+        return TestResult.result(false);
+    }
+
+    /**
+     * Apply random changes to a persistent data set and a normal one and
+     * check they stay the same
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 30)
+    public TestResult randomChanges()
+    {
+        Random random = new Random(1234);
+        DataSet expected = new ArrayDataSet();
+        PersistentDataSet actual = PersistentFactory.factory.getDataSet();
+        for (int i = 0; i < 5000; i++)
+        {
+            String key = "k" + random.nextInt(700);
+            if (random.nextInt(3) == 0)
+            {
+                expected.remove(key);
+                actual = actual.without(key);
+            }
+            else
+            {
+                expected.put(key, i);
+                actual = actual.with(key, i);
+            }
+        }
+        boolean ordered = true;
+        for (int i = 0; i < expected.size(); i++)
+        {
+            ordered &= expected.get(i).equals(actual.get(i));
+        }
+        return TestResult.all(
+                TestResult.result(expected.size(), actual.size()),
+                TestResult.result(expected, actual),
+                TestResult.result(true, ordered)
+        );
+    }
+
+    /**
+     * Check arrays insert and remove by position
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 40)
+    public TestResult arrayVersions()
+    {
+        PersistentDataArray array = PersistentFactory.factory.getDataArray();
+        for (int i = 0; i < 100; i++)
+        {
+            array = array.with(i);
+        }
+        PersistentDataArray changed = array
+                .with(0, "first")
+                .without(50)
+                .replace(10, 3.5);
+        return TestResult.all(
+                TestResult.result(100, array.size()),
+                TestResult.result(0, array.get(0).getInteger()),
+                TestResult.result(100, changed.size()),
+                TestResult.result("first", changed.get(0).getString()),
+                TestResult.result(3.5, changed.get(10).getDouble()),
+                TestResult.result(50, changed.get(50).getInteger()),
+                TestResult.result(51, changed.get(51).getInteger())
+        );
+    }
+
+    /**
+     * Check persistent data sets can be compared and patched
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 50)
+    public TestResult diffAndPatch()
+    {
+        PersistentDataSet from = PersistentFactory.factory.getDataSet()
+                .with("name", "first")
+                .with("gone", 1)
+                .with("child", new ArrayDataSet().put("a", 1).put("b", 2))
+                .with("list", PersistentFactory.factory.getDataArray().with(1).with(2));
+        PersistentDataSet to = from
+                .with("name", "second")
+                .without("gone")
+                .with("child", new ArrayDataSet().put("a", 1).put("b", 3))
+                .with("list", PersistentFactory.factory.getDataArray().with(1).with(3).with(4))
+                .with("added", true);
+        DataSet delta = DataDiff.diff(from, to);
+        DataSet patched = DataDiff.patch(from, delta);
+        boolean rejected = false;
+        try
+        {
+            DataDiff.apply(from, delta);
+        }
+        catch (IllegalArgumentException ex)
+        {
+            rejected = true;
+        }
+        return TestResult.all(
+                TestResult.result(false, delta.isEmpty()),
+                TestResult.result(to, patched),
+                TestResult.result(true, patched instanceof PersistentDataSet),
+                TestResult.result("first", from.getString("name")),
+                TestResult.result(true, rejected),
+                TestResult.result(true, DataDiff.diff(to, to).isEmpty())
+        );
+    }
+
+    /**
+     * Check a persistent array of rows can be aggregated
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 60)
+    public TestResult aggregate()
+    {
+        PersistentDataArray rows = PersistentFactory.factory.getDataArray();
+        for (int i = 0; i < 10; i++)
+        {
+            rows = rows.with(PersistentFactory.factory.getDataSet()
+                    .with("parity", i % 2 == 0 ? "even" : "odd")
+                    .with("amount", i));
+        }
+        DataSet totals = new DataAggregation("parity")
+                .count()
+                .sum("amount")
+                .aggregate(rows);
+        return TestResult.all(
+                TestResult.result(2, totals.size()),
+                TestResult.result(5, totals.getDataSet("even").getInt("count", 0)),
+                TestResult.result(20L, totals.getDataSet("even").getLong("sum(amount)", 0L)),
+                TestResult.result(25L, totals.getDataSet("odd").getLong("sum(amount)", 0L))
+        );
+    }
+}
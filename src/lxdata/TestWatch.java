@@ -0,0 +1,182 @@
+/*
+ * =============================================================================
+ * Lexa - Property of William Norman-Walker
+ * -----------------------------------------------------------------------------
+ * TestWatch.java
+ *------------------------------------------------------------------------------
+ * Author:  William Norman-Walker
+ * Created: October 2026
+ *==============================================================================
+ */
+package lxdata;
+
+import java.util.ArrayList;
+import java.util.List;
+import lexa.core.data.ArrayDataSet;
+import lexa.core.data.DataSet;
+import lexa.core.data.watch.DataChange;
+import lexa.core.data.watch.DataWatch;
+import lexa.test.TestAnnotation;
+import lexa.test.TestResult;
+
+/**
+ * Test handler for the {@link lexa.core.data.watch} stack
+ * @author william
+ * @since 2026-10
+ */
+public class TestWatch
+        extends lexa.test.TestClass
+{
+    private DataWatch watch;
+    private List<List<DataChange>> delivered;
+
+    /**
+     * Watch a copy of the test data
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 0)
+    public TestResult watch()
+    {
+        DataSet data = new ArrayDataSet();
+        TestResult populate = TestDataSet.populate(data);
+        if (!populate.passed())
+        {
+            return populate;
+        }
+        this.watch = new DataWatch(data, 4);
+        this.delivered = new ArrayList<>();
+        this.watch.addListener(this.delivered::add);
+        return TestResult.all(
+                TestResult.result(data, this.watch.data()),
+                TestResult.result(0L, this.watch.sequence())
+        );
+    }
+
+    /**
+     * Check changes at any depth are delivered with their path
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 10)
+    public TestResult changes()
+    {
+        DataSet data = this.watch.data();
+        data.put("new", 1);
+        data.getDataSet("dataset").put("inner", "value");
+        data.getArray("array").add(0, "first");
+        data.put("nested", new ArrayDataSet().put("a", 1));
+        data.getDataSet("nested").remove("a");
+        return TestResult.all(
+                TestResult.result(5, this.delivered.size()),
+                TestResult.result("new", this.path(0)),
+                TestResult.result("dataset.inner", this.path(1)),
+                TestResult.result("array:0", this.path(2)),
+                TestResult.result(DataChange.Type.ADD, this.delivered.get(2).get(0).getType()),
+                TestResult.result("nested", this.path(3)),
+                TestResult.result("nested.a", this.path(4)),
+                TestResult.result(5L, this.watch.sequence())
+        );
+    }
+
+    /**
+     * Check a batch is delivered together and removed data is not reported
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 20)
+    public TestResult batch()
+    {
+        DataSet data = this.watch.data();
+        DataSet removed = data.getDataSet("nested");
+        this.delivered.clear();
+        this.watch.batch(() ->
+        {
+            data.put("one", 1);
+            data.put("two", 2);
+            data.remove("nested");
+        });
+        removed.put("ignored", true);
+        return TestResult.all(
+                TestResult.result(1, this.delivered.size()),
+                TestResult.result(3, this.delivered.get(0).size()),
+                TestResult.result(DataChange.Type.REMOVE,
+                        this.delivered.get(0).get(2).getType()),
+                TestResult.result(8L, this.watch.sequence())
+        );
+    }
+
+    /**
+     * Check the log returns the changes after a sequence number while it
+     * still holds them
+     * @return a {@link TestResult} with the results
+     */
+    @TestAnnotation(order = 30)
+    public TestResult log()
+    {
+        List<DataChange> recent = this.watch.changes(6);
+        boolean lost = false;
+        try
+        {
+            this.watch.changes(2);
+        }
+        catch (IllegalStateException ex)
+        {
+            lost = true;
+        }
+        return TestResult.all(
+                TestResult.result(2, recent.size()),
+                TestResult.result(7L, recent.get(0).getSequence()),
+                TestResult.result("two", recent.get(0).getPath()),
+                TestResult.result(4, this.watch.changes(0).size()),
+                TestResult.result(true, lost)
+        );
+    }
+
+    /**
+     * Check a child and its parent can be changed at the same time without
+     * waiting on each other, and that listeners hold no locks
+     * @return a {@link TestResult} with the results
+     * @throws InterruptedException if the test is interrupted
+     */
+    @TestAnnotation(order = 40)
+    public TestResult lockOrder()
+            throws InterruptedException
+    {
+        DataWatch contended = new DataWatch(new ArrayDataSet());
+        DataSet root = contended.data();
+        boolean[] locked = new boolean[1];
+        contended.addListener((List<DataChange> changes) ->
+                locked[0] |= Thread.holdsLock(contended) || Thread.holdsLock(root));
+        root.put("child", new ArrayDataSet());
+        DataSet child = root.getDataSet("child");
+        Thread writer = new Thread(() ->
+        {
+            for (int i = 0; i < 20000; i++)
+            {
+                child.put("value", i);
+            }
+        });
+        Thread mover = new Thread(() ->
+        {
+            for (int i = 0; i < 20000; i++)
+            {
+                root.remove("child");
+                root.put("child", child);
+            }
+        });
+        writer.setDaemon(true);
+        mover.setDaemon(true);
+        writer.start();
+        mover.start();
+        writer.join(60000);
+        mover.join(60000);
+        return TestResult.all(
+                TestResult.result(false, writer.isAlive() || mover.isAlive()),
+                TestResult.result(false, locked[0]),
+                TestResult.notNull(root.getDataSet("child"))
+        );
+    }
+
+    private String path(int change)
+    {
+        return this.delivered.get(change).get(0).getPath();
+    }
+}